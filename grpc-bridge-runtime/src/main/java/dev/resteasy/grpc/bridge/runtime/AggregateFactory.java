@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.IntFunction;
+
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Creates the target {@link Collection}s, {@link Map}s and {@link MultivaluedMap}s used by the generated
+ * javabuf translators. The well-known JDK and Jakarta REST classes are created directly, sized for the
+ * number of elements about to be added. Any other class is created through its no-arg constructor, which
+ * is looked up once per class and then cached.
+ * <p>
+ * The class name comes from the {@code classname} field of the message, that is, from the peer. It is
+ * loaded without being initialized, and rejected unless it is a {@code Collection}, {@code Map} or
+ * {@code MultivaluedMap}, as requested, before anything is instantiated.
+ */
+public final class AggregateFactory {
+
+    // Classes of the boot layer are the same for every class loader, so they can be looked up by name
+    private static final Map<String, Class<?>> JDK_CLASSES = new HashMap<String, Class<?>>();
+    private static final Map<Class<?>, IntFunction<Object>> WELL_KNOWN = new HashMap<Class<?>, IntFunction<Object>>();
+
+    private static final ClassValue<IntFunction<Object>> FACTORIES = new ClassValue<IntFunction<Object>>() {
+        @Override
+        protected IntFunction<Object> computeValue(Class<?> clazz) {
+            IntFunction<Object> factory = WELL_KNOWN.get(clazz);
+            return factory != null ? factory : createFactory(clazz);
+        }
+    };
+
+    static {
+        WELL_KNOWN.put(ArrayList.class, ArrayList::new);
+        WELL_KNOWN.put(LinkedList.class, size -> new LinkedList<Object>());
+        WELL_KNOWN.put(Vector.class, size -> new Vector<Object>(Math.max(size, 1)));
+        WELL_KNOWN.put(ArrayDeque.class, ArrayDeque::new);
+        WELL_KNOWN.put(CopyOnWriteArrayList.class, size -> new CopyOnWriteArrayList<Object>());
+        WELL_KNOWN.put(HashSet.class, size -> new HashSet<Object>(capacity(size)));
+        WELL_KNOWN.put(LinkedHashSet.class, size -> new LinkedHashSet<Object>(capacity(size)));
+        WELL_KNOWN.put(TreeSet.class, size -> new TreeSet<Object>());
+        WELL_KNOWN.put(CopyOnWriteArraySet.class, size -> new CopyOnWriteArraySet<Object>());
+        WELL_KNOWN.put(HashMap.class, size -> new HashMap<Object, Object>(capacity(size)));
+        WELL_KNOWN.put(LinkedHashMap.class, size -> new LinkedHashMap<Object, Object>(capacity(size)));
+        WELL_KNOWN.put(TreeMap.class, size -> new TreeMap<Object, Object>());
+        WELL_KNOWN.put(Hashtable.class, size -> new Hashtable<Object, Object>(capacity(size)));
+        WELL_KNOWN.put(ConcurrentHashMap.class, ConcurrentHashMap::new);
+        WELL_KNOWN.put(MultivaluedHashMap.class, size -> new MultivaluedHashMap<Object, Object>(capacity(size)));
+        for (Class<?> clazz : WELL_KNOWN.keySet()) {
+            if (clazz.getClassLoader() == null) {
+                JDK_CLASSES.put(clazz.getName(), clazz);
+            }
+        }
+    }
+
+    private AggregateFactory() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param classname {@code classname} name of a {@link Collection} class
+     * @param size {@code size} number of elements that will be added
+     * @return an empty instance of {@code classname}
+     * @throws IllegalArgumentException if {@code classname} is not a {@code Collection}
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Collection<?>> C newCollection(String classname, int size) {
+        return (C) newInstance(Collection.class, classname, size);
+    }
+
+    /**
+     * @param classname {@code classname} name of a {@link Map} class
+     * @param size {@code size} number of entries that will be added
+     * @return an empty instance of {@code classname}
+     * @throws IllegalArgumentException if {@code classname} is not a {@code Map}
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends Map<?, ?>> M newMap(String classname, int size) {
+        return (M) newInstance(Map.class, classname, size);
+    }
+
+    /**
+     * @param classname {@code classname} name of a {@link MultivaluedMap} class
+     * @param size {@code size} number of key/value pairs that will be added
+     * @return an empty instance of {@code classname}
+     * @throws IllegalArgumentException if {@code classname} is not a {@code MultivaluedMap}
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends MultivaluedMap<?, ?>> M newMultivaluedMap(String classname, int size) {
+        return (M) newInstance(MultivaluedMap.class, classname, size);
+    }
+
+    /**
+     * @param size {@code size} number of entries that will be added
+     * @return an initial capacity for a hashed collection that holds {@code size} entries without rehashing
+     */
+    public static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    private static Object newInstance(Class<?> type, String classname, int size) {
+        Class<?> clazz = JDK_CLASSES.get(classname);
+        if (clazz == null) {
+            clazz = loadClass(classname);
+        }
+        if (!type.isAssignableFrom(clazz)) {
+            throw Messages.MESSAGES.notAnAggregate(classname, type.getName());
+        }
+        return FACTORIES.get(clazz).apply(size);
+    }
+
+    private static IntFunction<Object> createFactory(Class<?> clazz) {
+        try {
+            MethodHandle constructor = MethodHandles.publicLookup().findConstructor(clazz,
+                    MethodType.methodType(void.class));
+            return size -> {
+                try {
+                    return constructor.invoke();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            };
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Class<?> loadClass(String classname) {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        if (cl != null) {
+            try {
+                return Class.forName(classname, false, cl);
+            } catch (ClassNotFoundException e) {
+                // fall through
+            }
+        }
+        try {
+            return Class.forName(classname, false, AggregateFactory.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
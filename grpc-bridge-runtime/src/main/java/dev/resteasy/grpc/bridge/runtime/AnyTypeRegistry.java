@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Internal;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+
+/**
+ * Maps the type URL carried by a {@code com.google.protobuf.Any} to the javabuf class it holds,
+ * the {@code Parser} for that class, and the corresponding Java class.
+ * <p>
+ * One registry is held by each generated {@code JavabufTranslator}. It is populated with the
+ * javabuf classes known to the translator when the translator is initialized, and any other
+ * type URL is resolved once, on first use, and then cached.
+ */
+public final class AnyTypeRegistry {
+
+    private static final String TYPE_URL_PREFIX = "type.googleapis.com/";
+
+    /**
+     * The resolved types for one type URL.
+     */
+    public static final class Entry {
+        private final Class<? extends Message> javabufClass;
+        private final Class<?> javaClass;
+        private final Parser<? extends Message> parser;
+
+        Entry(final Class<? extends Message> javabufClass, final Class<?> javaClass) {
+            this.javabufClass = javabufClass;
+            this.javaClass = javaClass;
+            this.parser = Internal.getDefaultInstance(javabufClass).getParserForType();
+        }
+
+        public Class<? extends Message> getJavabufClass() {
+            return javabufClass;
+        }
+
+        public Class<?> getJavaClass() {
+            return javaClass;
+        }
+
+        public Parser<? extends Message> getParser() {
+            return parser;
+        }
+
+        /**
+         * @param {@code any} an {@code Any} whose type URL resolved to this entry
+         * @return the javabuf message held by {@code any}
+         */
+        public Message unpack(Any any) throws InvalidProtocolBufferException {
+            return parser.parseFrom(any.getValue());
+        }
+
+        /**
+         * @param {@code bytes} a serialized message of the type this entry resolves to
+         * @return the javabuf message held by {@code bytes}
+         */
+        public Message parse(ByteString bytes) throws InvalidProtocolBufferException {
+            return parser.parseFrom(bytes);
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final JavabufTranslator translator;
+
+    public AnyTypeRegistry(final JavabufTranslator translator) {
+        this.translator = translator;
+    }
+
+    /**
+     * Registers {@code javabufClass} under the type URL {@code Any.pack()} would assign it.
+     *
+     * @param {@code javabufClass} a javabuf class
+     */
+    @SuppressWarnings("unchecked")
+    public void register(Class<?> javabufClass) {
+        if (javabufClass == null || !Message.class.isAssignableFrom(javabufClass)) {
+            return;
+        }
+        Class<?> javaClass = translator.translatefromJavabufClass(javabufClass.getName());
+        Entry entry = new Entry((Class<? extends Message>) javabufClass, javaClass);
+        String typeUrl = TYPE_URL_PREFIX + Internal.getDefaultInstance(entry.javabufClass).getDescriptorForType().getFullName();
+        entries.putIfAbsent(typeUrl, entry);
+    }
+
+    /**
+     * @param {@code any} a {@code com.google.protobuf.Any}
+     * @return the {@code Entry} for the type URL of {@code any}, or null if {@code any} has no type URL
+     */
+    public Entry resolve(Any any) {
+        return resolve(any.getTypeUrl());
+    }
+
+    /**
+     * @param {@code typeUrl} a type URL, as carried by a {@code com.google.protobuf.Any}
+     * @return the {@code Entry} for {@code typeUrl}, or null if {@code typeUrl} is empty
+     */
+    public Entry resolve(String typeUrl) {
+        if (typeUrl.isEmpty()) {
+            return null;
+        }
+        Entry entry = entries.get(typeUrl);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(typeUrl, this::createEntry);
+        }
+        return entry;
+    }
+
+    /**
+     * @param {@code any} a {@code com.google.protobuf.Any}
+     * @return the javabuf message held by {@code any}
+     */
+    public Message unpack(Any any) throws InvalidProtocolBufferException {
+        Entry entry = resolve(any);
+        if (entry == null) {
+            throw Messages.MESSAGES.unableToProcessAsAny(any);
+        }
+        return entry.unpack(any);
+    }
+
+    /**
+     * Used by the translators of raw or {@code Object} typed collections, which send the type URL
+     * once, followed by the serialized elements, when all the elements have the same javabuf type.
+     *
+     * @param {@code messages} javabuf messages
+     * @return the type URL shared by all of {@code messages}, or null if {@code messages} is empty,
+     *         holds a null or holds messages of more than one type
+     */
+    public static String commonTypeUrl(List<? extends Message> messages) {
+        if (messages.isEmpty() || messages.get(0) == null) {
+            return null;
+        }
+        Descriptor descriptor = messages.get(0).getDescriptorForType();
+        for (int i = 1; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            if (message == null || message.getDescriptorForType() != descriptor) {
+                return null;
+            }
+        }
+        return TYPE_URL_PREFIX + descriptor.getFullName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry createEntry(String typeUrl) {
+        String s = typeUrl.substring(typeUrl.indexOf('/') + 1);
+        s = s.substring(s.lastIndexOf('.') + 1);
+        Class<?> c = translator.translatefromJavabufClass(translator.getOuterClassname() + "$" + s);
+        if (Utility.WRAPPER_CLASSES.containsKey(c)) {
+            c = Utility.WRAPPER_CLASSES.get(c);
+        }
+        if (c == null) {
+            throw Messages.MESSAGES.unableToProcessAsAny(typeUrl);
+        }
+        Class<?> javabufClass = translator.translateToJavabufClass(c);
+        if (javabufClass == null) {
+            throw Messages.MESSAGES.unableToProcessAsAny(typeUrl);
+        }
+        return new Entry((Class<? extends Message>) javabufClass, c);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import com.google.protobuf.Message;
+
+/**
+ * A bounded pool of javabuf builders of a single type, used by the generated translators and
+ * services to avoid creating a new builder for each message.
+ * <p>
+ * A builder is taken from the pool by {@link #acquire()} and is owned by the caller until it is
+ * handed back by {@link #release(Message.Builder)} or {@link #build(Message.Builder)}. Builders are
+ * not associated with threads, so the pool works the same way for platform and virtual threads,
+ * and nested translations of the same type each get their own builder. A builder that is never
+ * released, e.g., because translation failed, is simply left to the garbage collector.
+ * <p>
+ * Pooling is used only if {@link TranslationOptions#REUSE_BUILDERS} is true. Otherwise,
+ * {@code acquire()} always returns a new builder and {@code release()} does nothing.
+ *
+ * @param <B> builder type
+ */
+public final class BuilderPool<B extends Message.Builder> {
+
+    private final Supplier<B> factory;
+    private final AtomicReferenceArray<B> slots;
+
+    public BuilderPool(final Supplier<B> factory) {
+        this.factory = factory;
+        this.slots = TranslationOptions.REUSE_BUILDERS ? new AtomicReferenceArray<B>(TranslationOptions.BUILDER_POOL_SIZE)
+                : null;
+    }
+
+    /**
+     * @return an empty builder
+     */
+    public B acquire() {
+        if (slots != null) {
+            int n = slots.length();
+            int start = ThreadLocalRandom.current().nextInt(n);
+            for (int i = 0; i < n; i++) {
+                int j = (start + i) % n;
+                if (slots.get(j) != null) {
+                    B builder = slots.getAndSet(j, null);
+                    if (builder != null) {
+                        return builder;
+                    }
+                }
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Clears {@code builder} and returns it to the pool, unless the pool is full.
+     *
+     * @param {@code builder} a builder obtained from {@link #acquire()}
+     */
+    public void release(B builder) {
+        if (slots == null) {
+            return;
+        }
+        builder.clear();
+        int n = slots.length();
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            int j = (start + i) % n;
+            if (slots.get(j) == null && slots.compareAndSet(j, null, builder)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Builds the message held by {@code builder} and then releases {@code builder}.
+     *
+     * @param {@code builder} a builder obtained from {@link #acquire()}
+     * @return the message built by {@code builder}
+     */
+    public Message build(B builder) {
+        Message message = builder.build();
+        release(builder);
+        return message;
+    }
+}
@@ -26,4 +26,14 @@ public final class Constants {
     }
 
     public static final String ANY = "ANY";
+
+    // Comma separated FieldMask paths selecting the fields of a response; see FieldSelection
+    public static final String FIELD_MASK = "FIELD-MASK";
+
+    // Comma separated FieldMask paths selecting the fields of a request entity; see PartialUpdate
+    public static final String UPDATE_MASK = "UPDATE-MASK";
+
+    // Suffixes of the per-rpc request and response messages generated with -DperRpcMessages=true
+    public static final String RPC_REQUEST = "___rpcRequest";
+    public static final String RPC_RESPONSE = "___rpcResponse";
 }
@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code String} field, or record component, whose values repeat often, e.g., a country code
+ * or a status name.
+ * <p>
+ * {@code JavaToProtobufGenerator} represents such a field by a oneof holding either the value or an
+ * index. Within one message, the first occurrence of each value is sent in full and is added to the
+ * dictionary of the {@link ReferenceScope}, and each later occurrence is sent as its index in that
+ * dictionary. When reading, each distinct value is decoded once and the same {@code String} instance
+ * is shared by all the fields that refer to it.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface DictionaryEncoded {
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+
+/**
+ * Maps between the Java constants and the values of the protobuf enums generated for Java enums.
+ * The generated protobuf enum numbers each constant by its ordinal plus one, and value 0, the default
+ * of an unset field, stands for null. So a number minus one is an index into the array of constants,
+ * which is computed once per enum class.
+ */
+public final class EnumConstants {
+
+    private static final ClassValue<Object[]> CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
+
+    private EnumConstants() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code type} a Java enum class
+     * @param {@code number} the number of a protobuf enum value
+     * @return the constant of {@code type} with ordinal {@code number - 1}, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> E forNumber(Class<E> type, int number) {
+        Object[] constants = CONSTANTS.get(type);
+        return number > 0 && number <= constants.length ? (E) constants[number - 1] : null;
+    }
+
+    /**
+     * @param {@code descriptor} a protobuf enum generated for a Java enum
+     * @return the values of {@code descriptor} other than 0, indexed by the ordinals of the Java constants
+     */
+    public static EnumValueDescriptor[] values(EnumDescriptor descriptor) {
+        EnumValueDescriptor[] values = new EnumValueDescriptor[descriptor.getValues().size() - 1];
+        for (EnumValueDescriptor value : descriptor.getValues()) {
+            if (value.getNumber() > 0) {
+                values[value.getNumber() - 1] = value;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.OneofDescriptor;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.GeneratedMessage;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.protobuf.AssignFromJavabuf;
+import dev.resteasy.grpc.bridge.runtime.protobuf.AssignToJavabuf;
+
+/**
+ * The fields of a response selected by the paths of a {@code google.protobuf.FieldMask}, e.g.,
+ * {@code name} and {@code address.city}.
+ * <p>
+ * A client selects fields with the {@code fieldMask} field of {@code GeneralEntityMessage}, or with
+ * the {@link Constants#FIELD_MASK} header. While a response is translated, the selection is held by the
+ * current thread, and the generated translators assign only the selected fields, so the getters of the
+ * other fields are never called, and the objects they refer to are never translated. A field whose path
+ * has no more components is translated in full.
+ * <p>
+ * Conversely, the {@link Constants#UPDATE_MASK} header, or the {@code updateMask} field of
+ * {@code GeneralEntityMessage}, selects the fields of a partial request entity that are translated;
+ * see {@link PartialUpdate}.
+ * <p>
+ * A polymorphic or dictionary encoded field is selected by the name of the Java field, not by the names
+ * of the members of its {@code oneof}.
+ */
+public final class FieldSelection {
+
+    private static final ThreadLocal<FieldSelection> CURRENT = new ThreadLocal<FieldSelection>();
+
+    // A name mapped to null is selected in full
+    private final Map<String, FieldSelection> children = new HashMap<String, FieldSelection>();
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @param {@code paths} FieldMask paths
+     * @return the selection of {@code paths}, or null, meaning all fields, if there are none
+     */
+    public static FieldSelection of(Collection<String> paths) {
+        FieldSelection selection = null;
+        for (String path : paths) {
+            path = path.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (selection == null) {
+                selection = new FieldSelection();
+            }
+            selection.add(path);
+        }
+        return selection;
+    }
+
+    /**
+     * @param {@code mask} a FieldMask
+     * @return the selection of the paths of {@code mask}, or null if it has none
+     */
+    public static FieldSelection of(FieldMask mask) {
+        return mask == null ? null : of(mask.getPathsList());
+    }
+
+    /**
+     * @param {@code header} the value of a {@link Constants#FIELD_MASK} header, a comma separated list of paths
+     * @return the selection of the paths in {@code header}, or null if there are none
+     */
+    public static FieldSelection parse(String header) {
+        return header == null ? null : of(Arrays.asList(header.split(",")));
+    }
+
+    /**
+     * @return the selection held by the current thread, or null if all fields are selected
+     */
+    public static FieldSelection current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes {@code selection} the selection of the current thread.
+     *
+     * @param {@code selection} a selection, or null to select all fields
+     * @return the previous selection, to be passed to {@link #restore(FieldSelection)}
+     */
+    public static FieldSelection select(FieldSelection selection) {
+        FieldSelection previous = CURRENT.get();
+        if (selection == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(selection);
+        }
+        return previous;
+    }
+
+    /**
+     * @param {@code previous} the value returned by {@link #select(FieldSelection)}
+     */
+    public static void restore(FieldSelection previous) {
+        select(previous);
+    }
+
+    /**
+     * Runs each of {@code assigners} whose field is selected by {@code selection}, with the selection
+     * of the current thread set to the part of {@code selection} below that field.
+     *
+     * @param {@code obj} the Java object being translated
+     * @param {@code builder} the builder of the javabuf message
+     * @param {@code selection} the selected fields of {@code obj}
+     * @param {@code fields} the fields of the javabuf message
+     * @param {@code assigners} the assigner of each of {@code fields}
+     */
+    public static void assign(Object obj, GeneratedMessage.Builder<?> builder, FieldSelection selection,
+            List<FieldDescriptor> fields, List<AssignToJavabuf> assigners) {
+        for (int i = 0; i < fields.size(); i++) {
+            String name = selectionName(fields.get(i));
+            if (!selection.children.containsKey(name)) {
+                continue;
+            }
+            FieldSelection previous = select(selection.children.get(name));
+            try {
+                assigners.get(i).assign(obj, builder);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs each of {@code assigners} whose field is selected by {@code selection}, with the selection
+     * of the current thread set to the part of {@code selection} below that field.
+     * <p>
+     * The fields that are not selected are still read, into a scratch {@link HolderMap}, since reading a
+     * field binds the reference ids and dictionary entries it holds, and the fields that follow it
+     * refer to them by position.
+     *
+     * @param {@code message} the javabuf message being translated
+     * @param {@code obj} the Java object being assigned
+     * @param {@code selection} the selected fields of {@code message}
+     * @param {@code fields} the fields of the javabuf message
+     * @param {@code assigners} the assigner of each of {@code fields}
+     */
+    public static void assign(Message message, Object obj, FieldSelection selection,
+            List<FieldDescriptor> fields, List<AssignFromJavabuf> assigners) {
+        HolderMap scratch = null;
+        for (int i = 0; i < fields.size(); i++) {
+            String name = selectionName(fields.get(i));
+            boolean selected = selection.children.containsKey(name);
+            if (!selected && scratch == null) {
+                scratch = new HolderMap();
+            }
+            FieldSelection previous = select(selected ? selection.children.get(name) : null);
+            try {
+                assigners.get(i).assign(message, selected ? obj : scratch);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the selected fields
+     */
+    Set<String> names() {
+        return children.keySet();
+    }
+
+    /**
+     * @param {@code name} the name of a selected field
+     * @return the selection below {@code name}, or null if it is selected in full
+     */
+    FieldSelection child(String name) {
+        return children.get(name);
+    }
+
+    private void add(String path) {
+        int dot = path.indexOf('.');
+        String name = dot < 0 ? path : path.substring(0, dot);
+        if (dot < 0) {
+            children.put(name, null);
+        } else if (!children.containsKey(name) || children.get(name) != null) {
+            children.computeIfAbsent(name, k -> new FieldSelection()).add(path.substring(dot + 1));
+        }
+    }
+
+    // The members of the oneofs generated for polymorphic and dictionary encoded fields,
+    // named <field>___oneof and <field>___dict, are selected by the name of the Java field
+    private static String selectionName(FieldDescriptor fd) {
+        OneofDescriptor oneof = fd.getRealContainingOneof();
+        if (oneof == null) {
+            return fd.getName();
+        }
+        int i = oneof.getName().lastIndexOf("___");
+        return i < 0 ? fd.getName() : oneof.getName().substring(0, i);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.logging.Logger;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Counts how often each field of each javabuf message is populated in the messages read and written
+ * by the generated {@code MessageBodyReader}/{@code MessageBodyWriter}.
+ * <p>
+ * Counting is turned on by {@link TranslationOptions#FIELD_PROFILE}. The counts are written to that file,
+ * one {@code <message>.<field>=<count>} line per field, by {@link #flush()}, which is called when the
+ * gRPC bridge servlet is destroyed. The file, or a file in the same format written by hand, can be passed to
+ * {@code JavaToProtobufGenerator} with {@code -DfieldProfile}, which gives the lowest field numbers to the
+ * most frequently populated fields.
+ */
+public final class FieldUsageProfile {
+
+    public static final boolean ENABLED = TranslationOptions.FIELD_PROFILE != null;
+
+    private static final Logger LOGGER = Logger.getLogger(FieldUsageProfile.class);
+
+    private static final Map<String, LongAdder> COUNTS = new ConcurrentHashMap<String, LongAdder>();
+
+    private FieldUsageProfile() {
+        // restrict instantiation
+    }
+
+    /**
+     * Counts the populated fields of {@code message} and of the messages it holds. Does nothing unless
+     * {@link #ENABLED} is true.
+     *
+     * @param {@code message} a javabuf message
+     */
+    public static void record(Message message) {
+        if (!ENABLED || message == null) {
+            return;
+        }
+        count(message);
+    }
+
+    /**
+     * Writes the counts gathered so far to {@link TranslationOptions#FIELD_PROFILE}. Does nothing unless
+     * {@link #ENABLED} is true. A failure is logged rather than thrown, since it shouldn't stop an undeployment.
+     */
+    public static void flush() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            write(Path.of(TranslationOptions.FIELD_PROFILE));
+        } catch (IOException e) {
+            LOGGER.warn(Messages.MESSAGES.unableToWriteFieldProfile(TranslationOptions.FIELD_PROFILE, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Writes the counts gathered so far, sorted by message and field name.
+     *
+     * @param {@code path} the file to write
+     */
+    public static void write(Path path) throws IOException {
+        Map<String, Long> sorted = new TreeMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : COUNTS.entrySet()) {
+            sorted.put(entry.getKey(), entry.getValue().sum());
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> entry : sorted.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + System.lineSeparator());
+            }
+        }
+    }
+
+    private static void count(Message message) {
+        String name = message.getDescriptorForType().getName();
+        for (Map.Entry<FieldDescriptor, Object> entry : message.getAllFields().entrySet()) {
+            FieldDescriptor fd = entry.getKey();
+            COUNTS.computeIfAbsent(name + "." + fd.getName(), k -> new LongAdder()).increment();
+            if (fd.getJavaType() != FieldDescriptor.JavaType.MESSAGE) {
+                continue;
+            }
+            if (fd.isRepeated()) {
+                for (Object o : (List<?>) entry.getValue()) {
+                    count((Message) o);
+                }
+            } else {
+                count((Message) entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the protobuf type {@code JavaToProtobufGenerator} uses for an integer field, or record component,
+ * of type {@code byte}, {@code short}, {@code int} or {@code long}, or the corresponding wrapper type.
+ * A field without this annotation uses the encoding given to the generator with {@code -DintegerEncoding},
+ * which is {@link Kind#VARINT} by default.
+ * <p>
+ * The javabuf classes use {@code int} or {@code long} for each of these protobuf types, so the choice affects
+ * only the size of the serialized messages.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface IntegerEncoding {
+
+    Kind value();
+
+    enum Kind {
+        /**
+         * {@code int32} and {@code int64}: small non-negative values are short, negative values take 10 bytes.
+         */
+        VARINT,
+
+        /**
+         * {@code sint32} and {@code sint64}: values of small magnitude are short, whatever their sign.
+         */
+        ZIGZAG,
+
+        /**
+         * {@code sfixed32} and {@code sfixed64}: always 4 or 8 bytes, suited to hashes, random ids and
+         * other values of large magnitude. Applies only to {@code int} and {@code long} fields; {@code byte}
+         * and {@code short} fields keep their varint encoding.
+         */
+        FIXED
+    }
+}
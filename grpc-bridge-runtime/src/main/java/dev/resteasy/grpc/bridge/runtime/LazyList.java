@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A {@link List} view of the repeated field of a javabuf message. Each element is translated
+ * from javabuf to Java the first time it is read, and the result is kept for later reads.
+ * <p>
+ * The first call to a method that modifies the list translates all remaining elements and
+ * copies them into an {@link ArrayList}, which backs the list from then on.
+ * <p>
+ * Like {@link ArrayList}, a {@code LazyList} is not thread safe.
+ *
+ * @param <M> javabuf element type
+ * @param <E> Java element type
+ */
+public final class LazyList<M, E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * Translates one element of the repeated field.
+     */
+    @FunctionalInterface
+    public interface Translation<M, E> {
+        E translate(M m) throws Exception;
+    }
+
+    private static final Object UNSET = new Object();
+
+    private final List<M> source;
+    private final Translation<M, E> translation;
+    private final Object[] elements;
+    private ArrayList<E> materialized;
+
+    /**
+     * @param {@code collection} a collection about to be written
+     * @return the name of the class to instantiate when {@code collection} is read: {@code java.util.ArrayList}
+     *         for a {@code LazyList}, which has no constructor a reader could use, and the class of
+     *         {@code collection} otherwise
+     */
+    public static String classnameOf(Object collection) {
+        return collection instanceof LazyList ? ArrayList.class.getName() : collection.getClass().getName();
+    }
+
+    public LazyList(final List<M> source, final Translation<M, E> translation) {
+        this.source = source;
+        this.translation = translation;
+        this.elements = new Object[source.size()];
+        Arrays.fill(elements, UNSET);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (materialized != null) {
+            return materialized.get(index);
+        }
+        Object e = elements[index];
+        if (e == UNSET) {
+            try {
+                e = translation.translate(source.get(index));
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+            elements[index] = e;
+        }
+        return (E) e;
+    }
+
+    @Override
+    public int size() {
+        return materialized != null ? materialized.size() : elements.length;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return materialize().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        materialize().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E e = materialize().remove(index);
+        modCount++;
+        return e;
+    }
+
+    @Override
+    public void clear() {
+        materialize().clear();
+        modCount++;
+    }
+
+    private ArrayList<E> materialize() {
+        if (materialized == null) {
+            ArrayList<E> list = new ArrayList<E>(elements.length);
+            for (int i = 0; i < elements.length; i++) {
+                list.add(get(i));
+            }
+            materialized = list;
+        }
+        return materialized;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Records which elements of an array of wrapper types are null, for the compact encoding of
+ * {@code ___WArray} messages. Bit {@code i % 8} of byte {@code i / 8} is set if element {@code i}
+ * is null. An array with no null elements has an empty bitmap.
+ */
+public final class NullBitmap {
+
+    private NullBitmap() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code array} an array of wrapper types
+     * @return the null bitmap of {@code array}
+     */
+    public static ByteString of(Object[] array) {
+        byte[] bitmap = null;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == null) {
+                if (bitmap == null) {
+                    bitmap = new byte[(array.length + 7) >>> 3];
+                }
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return bitmap == null ? ByteString.EMPTY : UnsafeByteOperations.unsafeWrap(bitmap);
+    }
+
+    /**
+     * @param {@code bitmap} a null bitmap
+     * @param {@code i} index of an array element
+     * @return true if element {@code i} is null
+     */
+    public static boolean isNull(byte[] bitmap, int i) {
+        return (i >>> 3) < bitmap.length && (bitmap[i >>> 3] & (1 << (i & 7))) != 0;
+    }
+}
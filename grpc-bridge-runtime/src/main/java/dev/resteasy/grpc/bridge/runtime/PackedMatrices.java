@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Packs an array of primitive arrays, such as an {@code int[][]} or a {@code double[][]}, into the
+ * packed form of {@code dev_resteasy_grpc_arrays___ArrayHolder___WArray}: the length of each row,
+ * with -1 for a null row, and the elements of all the rows, in order, in a single buffer in their
+ * fixed-width little-endian form. Rows may have different lengths. Each row is copied in bulk.
+ * <p>
+ * Packing is used if {@link TranslationOptions#PACKED_MATRICES} is set. Packed arrays are unpacked
+ * whether or not it is.
+ */
+public final class PackedMatrices {
+
+    private PackedMatrices() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code componentType} component type of an array
+     * @return true if an array with component type {@code componentType} can be packed
+     */
+    public static boolean isPackable(Class<?> componentType) {
+        return componentType.isArray() && componentType.getComponentType().isPrimitive();
+    }
+
+    /**
+     * @param {@code rows} an array of primitive arrays
+     * @return the elements of all the rows of {@code rows}
+     */
+    public static ByteString pack(Object[] rows) {
+        Class<?> type = rows.getClass().getComponentType().getComponentType();
+        int size = elementSize(type);
+        long total = 0;
+        for (Object row : rows) {
+            if (row != null) {
+                total += (long) Array.getLength(row) * size;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(total)).order(ByteOrder.LITTLE_ENDIAN);
+        for (Object row : rows) {
+            if (row == null) {
+                continue;
+            }
+            int length = Array.getLength(row);
+            if (int.class.equals(type)) {
+                buffer.asIntBuffer().put((int[]) row);
+            } else if (long.class.equals(type)) {
+                buffer.asLongBuffer().put((long[]) row);
+            } else if (float.class.equals(type)) {
+                buffer.asFloatBuffer().put((float[]) row);
+            } else if (double.class.equals(type)) {
+                buffer.asDoubleBuffer().put((double[]) row);
+            } else if (short.class.equals(type)) {
+                buffer.asShortBuffer().put((short[]) row);
+            } else if (char.class.equals(type)) {
+                buffer.asCharBuffer().put((char[]) row);
+            } else if (byte.class.equals(type)) {
+                buffer.put((byte[]) row);
+                continue;
+            } else {
+                boolean[] booleans = (boolean[]) row;
+                for (int i = 0; i < length; i++) {
+                    buffer.put(booleans[i] ? (byte) 1 : (byte) 0);
+                }
+                continue;
+            }
+            buffer.position(buffer.position() + length * size);
+        }
+        buffer.flip();
+        return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+
+    /**
+     * @param {@code componentType} component type of the array to create, a primitive array type
+     * @param {@code rowLengths} the length of each row, -1 for a null row
+     * @param {@code values} the elements of all the rows
+     * @return the array of primitive arrays
+     * @throws IllegalArgumentException if {@code componentType} isn't a primitive array type, or if
+     *         {@code rowLengths} doesn't describe exactly the bytes in {@code values}
+     */
+    public static Object unpack(Class<?> componentType, List<Integer> rowLengths, ByteString values) {
+        Class<?> type = componentType.getComponentType();
+        if (type == null || !type.isPrimitive()) {
+            throw Messages.MESSAGES.notAPrimitiveMatrix(componentType.getName());
+        }
+        int size = elementSize(type);
+        // the lengths come off the wire, so they're checked against the values before anything is allocated
+        long total = 0;
+        try {
+            for (int length : rowLengths) {
+                if (length < -1) {
+                    throw Messages.MESSAGES.badPackedMatrix(type.getName(), rowLengths.toString(), values.size());
+                }
+                total = Math.addExact(total, Math.max(length, 0));
+            }
+            total = Math.multiplyExact(total, size);
+        } catch (ArithmeticException e) {
+            throw Messages.MESSAGES.badPackedMatrix(type.getName(), rowLengths.toString(), values.size());
+        }
+        if (total != values.size()) {
+            throw Messages.MESSAGES.badPackedMatrix(type.getName(), rowLengths.toString(), values.size());
+        }
+        Object[] rows = (Object[]) Array.newInstance(componentType, rowLengths.size());
+        ByteBuffer buffer = values.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        for (int r = 0; r < rows.length; r++) {
+            int length = rowLengths.get(r);
+            if (length < 0) {
+                continue;
+            }
+            if (int.class.equals(type)) {
+                int[] row = new int[length];
+                buffer.asIntBuffer().get(row);
+                rows[r] = row;
+            } else if (long.class.equals(type)) {
+                long[] row = new long[length];
+                buffer.asLongBuffer().get(row);
+                rows[r] = row;
+            } else if (float.class.equals(type)) {
+                float[] row = new float[length];
+                buffer.asFloatBuffer().get(row);
+                rows[r] = row;
+            } else if (double.class.equals(type)) {
+                double[] row = new double[length];
+                buffer.asDoubleBuffer().get(row);
+                rows[r] = row;
+            } else if (short.class.equals(type)) {
+                short[] row = new short[length];
+                buffer.asShortBuffer().get(row);
+                rows[r] = row;
+            } else if (char.class.equals(type)) {
+                char[] row = new char[length];
+                buffer.asCharBuffer().get(row);
+                rows[r] = row;
+            } else if (byte.class.equals(type)) {
+                byte[] row = new byte[length];
+                buffer.get(row);
+                rows[r] = row;
+                continue;
+            } else {
+                boolean[] row = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    row[i] = buffer.get() != 0;
+                }
+                rows[r] = row;
+                continue;
+            }
+            buffer.position(buffer.position() + length * size);
+        }
+        return rows;
+    }
+
+    private static int elementSize(Class<?> type) {
+        if (int.class.equals(type) || float.class.equals(type)) {
+            return 4;
+        } else if (long.class.equals(type) || double.class.equals(type)) {
+            return 8;
+        } else if (short.class.equals(type) || char.class.equals(type)) {
+            return 2;
+        }
+        return 1;
+    }
+}
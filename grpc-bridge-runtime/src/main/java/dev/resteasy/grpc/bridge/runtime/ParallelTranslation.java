@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.jboss.resteasy.core.ResteasyContext;
+
+/**
+ * Translates the elements of large collections and arrays on a {@link ForkJoinPool}.
+ * <p>
+ * The elements are split into chunks, each chunk is translated by a separate task, and every
+ * result is stored at the index of its source element, so the order of the source is preserved.
+ * <p>
+ * Parallel translation is used only if {@link TranslationOptions#PARALLEL_THRESHOLD} is positive
+ * and the number of elements is at least that large. The pool is the common pool, unless
+ * {@link TranslationOptions#PARALLELISM} is positive, in which case a dedicated pool with that
+ * parallelism is created on first use. It is never used within a {@link ReferenceScope}, whose
+ * ids depend on the order in which the elements are translated.
+ * <p>
+ * A task running on a pool thread sees the context class loader and the {@link ResteasyContext}
+ * data of the thread that started the translation, and restores those of the pool thread when it is done.
+ */
+public final class ParallelTranslation {
+
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    /**
+     * Translates one element.
+     */
+    @FunctionalInterface
+    public interface Translation<S, T> {
+        T translate(S s) throws Exception;
+    }
+
+    private static final class DedicatedPool {
+        private static final ForkJoinPool POOL = new ForkJoinPool(TranslationOptions.PARALLELISM);
+    }
+
+    private ParallelTranslation() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code size} number of elements to be translated
+     * @return true if {@code size} elements should be translated in parallel
+     */
+    public static boolean isParallel(int size) {
+        return TranslationOptions.PARALLEL_THRESHOLD > 0 && size >= TranslationOptions.PARALLEL_THRESHOLD
+                && ReferenceScope.current() == null && FieldSelection.current() == null;
+    }
+
+    /**
+     * @param {@code source} elements to translate
+     * @param {@code translation} translation of a single element
+     * @return a list of the translated elements, in the iteration order of {@code source}
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> List<T> translate(Collection<S> source, Translation<? super S, ? extends T> translation) {
+        Object[] elements = source instanceof List && source instanceof RandomAccess ? null : source.toArray();
+        Object[] results = new Object[source.size()];
+        ForkJoinPool pool = getPool();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, results.length / (pool.getParallelism() * 4));
+        CallerContext context = new CallerContext();
+        if (elements == null) {
+            List<S> list = (List<S>) source;
+            pool.invoke(new Chunk<S>(i -> list.get(i), translation, results, 0, results.length, chunkSize, context));
+        } else {
+            pool.invoke(new Chunk<S>(i -> (S) elements[i], translation, results, 0, results.length, chunkSize, context));
+        }
+        return (List<T>) Arrays.asList(results);
+    }
+
+    /**
+     * @param {@code source} elements to translate
+     * @param {@code translation} translation of a single element
+     * @return a list of the translated elements, in the order of {@code source}
+     */
+    public static <S, T> List<T> translate(S[] source, Translation<? super S, ? extends T> translation) {
+        return translate(Arrays.asList(source), translation);
+    }
+
+    private static ForkJoinPool getPool() {
+        return TranslationOptions.PARALLELISM > 0 ? DedicatedPool.POOL : ForkJoinPool.commonPool();
+    }
+
+    @FunctionalInterface
+    private interface Source<S> {
+        S get(int i);
+    }
+
+    /*
+     * The thread context of the thread that started a translation.
+     */
+    private static final class CallerContext {
+        private final Thread thread = Thread.currentThread();
+        private final ClassLoader classLoader = thread.getContextClassLoader();
+        private final Map<Class<?>, Object> contextData = ResteasyContext.getContextDataMap();
+
+        void run(Chunk<?> chunk) throws Exception {
+            Thread current = Thread.currentThread();
+            if (current == thread) {
+                chunk.translateChunk();
+                return;
+            }
+            ClassLoader previous = current.getContextClassLoader();
+            current.setContextClassLoader(classLoader);
+            try (ResteasyContext.CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextData)) {
+                chunk.translateChunk();
+            } finally {
+                current.setContextClassLoader(previous);
+            }
+        }
+    }
+
+    private static final class Chunk<S> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Source<S> source;
+        private final Translation<? super S, ?> translation;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final CallerContext context;
+
+        Chunk(final Source<S> source, final Translation<? super S, ?> translation, final Object[] results, final int from,
+                final int to, final int chunkSize, final CallerContext context) {
+            this.source = source;
+            this.translation = translation;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk<S>(source, translation, results, from, middle, chunkSize, context),
+                        new Chunk<S>(source, translation, results, middle, to, chunkSize, context));
+                return;
+            }
+            try {
+                context.run(this);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        void translateChunk() throws Exception {
+            for (int i = from; i < to; i++) {
+                results[i] = translation.translate(source.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.ws.rs.core.HttpHeaders;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Applies a partial request entity to an existing object.
+ * <p>
+ * A client that updates a few fields of a large entity sends a {@code google.protobuf.FieldMask} in the
+ * {@code updateMask} field of {@code GeneralEntityMessage}, or a comma separated list of paths in the
+ * {@link Constants#UPDATE_MASK} header, along with an entity holding only those fields. The generated
+ * {@code MessageBodyReader} translates only the masked fields, and a resource method merges them into
+ * the current state of the entity:
+ *
+ * <pre>
+ * &#64;PATCH
+ * &#64;Path("customer/{id}")
+ * public Customer update(&#64;PathParam("id") String id, Customer partial, &#64;Context HttpHeaders headers) {
+ *     return store.put(id, PartialUpdate.merge(headers, partial, store.get(id)));
+ * }
+ * </pre>
+ *
+ * Without a mask, the partial entity replaces the base object.
+ */
+public final class PartialUpdate {
+
+    private PartialUpdate() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code headers} the headers of the current request
+     * @param {@code partial} the request entity
+     * @param {@code base} the object to be updated
+     * @return {@code base}, or a new instance for a record, holding the fields of {@code partial} selected by
+     *         the {@link Constants#UPDATE_MASK} header, or {@code partial} if there is no such header
+     */
+    public static <T> T merge(HttpHeaders headers, T partial, T base) {
+        return merge(FieldSelection.parse(headers.getHeaderString(Constants.UPDATE_MASK)), partial, base);
+    }
+
+    /**
+     * @param {@code selection} the fields to be updated, or null to replace {@code base}
+     * @param {@code partial} the request entity
+     * @param {@code base} the object to be updated
+     * @return {@code base}, or a new instance for a record, holding the fields of {@code partial} selected by
+     *         {@code selection}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T merge(FieldSelection selection, T partial, T base) {
+        try {
+            return (T) mergeObject(selection, partial, base);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Object mergeObject(FieldSelection selection, Object partial, Object base) throws Exception {
+        if (selection == null || partial == null || base == null) {
+            return partial;
+        }
+        Class<?> clazz = base.getClass();
+        if (clazz.isRecord()) {
+            RecordComponent[] components = clazz.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            Object[] values = new Object[components.length];
+            Set<String> unknown = new HashSet<String>(selection.names());
+            for (int i = 0; i < components.length; i++) {
+                RecordComponent rc = components[i];
+                rc.getAccessor().setAccessible(true);
+                types[i] = rc.getType();
+                values[i] = rc.getAccessor().invoke(base);
+                if (unknown.remove(rc.getName())) {
+                    values[i] = mergeObject(selection.child(rc.getName()), rc.getAccessor().invoke(partial), values[i]);
+                }
+            }
+            if (!unknown.isEmpty()) {
+                throw Messages.MESSAGES.unknownField(unknown.iterator().next(), clazz.getName());
+            }
+            Constructor<?> constructor = clazz.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return constructor.newInstance(values);
+        }
+        for (String name : selection.names()) {
+            Field field = Utility.getField(clazz, name);
+            if (field == null) {
+                throw Messages.MESSAGES.unknownField(name, clazz.getName());
+            }
+            field.setAccessible(true);
+            Utility.setField(field, base, mergeObject(selection.child(name), field.get(partial), field.get(base)), null);
+        }
+        return base;
+    }
+}
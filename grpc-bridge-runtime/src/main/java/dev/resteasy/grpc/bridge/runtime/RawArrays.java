@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Converts {@code int[]}, {@code long[]}, {@code float[]} and {@code double[]} to and from the raw
+ * encoding of the {@code raw_field} of the corresponding {@code ___Array} messages: the elements in
+ * order, each in its fixed-width little-endian form. Both directions are bulk copies through
+ * {@link ByteBuffer} views. A {@code raw_field} whose length is not a multiple of the element size is
+ * rejected.
+ */
+public final class RawArrays {
+
+    private RawArrays() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code length} length of a primitive array
+     * @return true if an array of length {@code length} should be sent in the raw encoding
+     */
+    public static boolean isRaw(int length) {
+        return TranslationOptions.RAW_ARRAY_THRESHOLD > 0 && length >= TranslationOptions.RAW_ARRAY_THRESHOLD;
+    }
+
+    public static ByteString toBytes(int[] array) {
+        ByteBuffer buffer = allocate(Math.multiplyExact(array.length, Integer.BYTES));
+        buffer.asIntBuffer().put(array);
+        return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+
+    public static ByteString toBytes(long[] array) {
+        ByteBuffer buffer = allocate(Math.multiplyExact(array.length, Long.BYTES));
+        buffer.asLongBuffer().put(array);
+        return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+
+    public static ByteString toBytes(float[] array) {
+        ByteBuffer buffer = allocate(Math.multiplyExact(array.length, Float.BYTES));
+        buffer.asFloatBuffer().put(array);
+        return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+
+    public static ByteString toBytes(double[] array) {
+        ByteBuffer buffer = allocate(Math.multiplyExact(array.length, Double.BYTES));
+        buffer.asDoubleBuffer().put(array);
+        return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+
+    public static int[] toInts(ByteString bytes) {
+        ByteBuffer buffer = view(bytes, "int", Integer.BYTES);
+        int[] array = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(array);
+        return array;
+    }
+
+    public static long[] toLongs(ByteString bytes) {
+        ByteBuffer buffer = view(bytes, "long", Long.BYTES);
+        long[] array = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(array);
+        return array;
+    }
+
+    public static float[] toFloats(ByteString bytes) {
+        ByteBuffer buffer = view(bytes, "float", Float.BYTES);
+        float[] array = new float[buffer.remaining() / Float.BYTES];
+        buffer.asFloatBuffer().get(array);
+        return array;
+    }
+
+    public static double[] toDoubles(ByteString bytes) {
+        ByteBuffer buffer = view(bytes, "double", Double.BYTES);
+        double[] array = new double[buffer.remaining() / Double.BYTES];
+        buffer.asDoubleBuffer().get(array);
+        return array;
+    }
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer view(ByteString bytes, String type, int size) {
+        if (bytes.size() % size != 0) {
+            throw Messages.MESSAGES.badRawArrayLength(type, bytes.size(), size);
+        }
+        return bytes.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
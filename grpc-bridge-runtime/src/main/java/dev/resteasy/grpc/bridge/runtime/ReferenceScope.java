@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Tracks the objects already written to, or read from, one javabuf message, so that an object
+ * reachable more than once in a graph is sent once and referred to by id afterwards.
+ * <p>
+ * When the generator is run with {@code -Dreferences=true}, each message generated for a Java class
+ * gets two more fields, {@link #ID_FIELD} and {@link #TO_FIELD}. The first time an object is written
+ * it is given the next id, which is sent in {@link #ID_FIELD}, followed by its fields. Each later
+ * occurrence of the same object, by identity, is sent as a message holding only its id in
+ * {@link #TO_FIELD}. When reading, an object is bound to its id as soon as it is constructed, before
+ * its fields are assigned, so that shared objects are shared again, and cycles are restored.
+ * <p>
+ * A scope also holds the string dictionary used by the fields annotated with {@link DictionaryEncoded}.
+ * The first occurrence of a value in a message is sent in full, and each later occurrence is sent as
+ * the index of the first one.
+ * <p>
+ * A scope is held by the current thread from the outermost call to a {@code JavabufTranslator}
+ * to the end of that call. Writing with references is turned on by
+ * {@link TranslationOptions#PRESERVE_REFERENCES}; references are always resolved when reading.
+ */
+public final class ReferenceScope {
+
+    /**
+     * Name of the field holding the id of an object sent in full.
+     */
+    public static final String ID_FIELD = "ref___id";
+
+    /**
+     * Name of the field holding the id of an object sent earlier in the same message.
+     */
+    public static final String TO_FIELD = "ref___to";
+
+    private static final ThreadLocal<ReferenceScope> SCOPES = new ThreadLocal<ReferenceScope>();
+
+    private final Map<Object, Integer> ids = new IdentityHashMap<Object, Integer>();
+    private final List<Object> objects = new ArrayList<Object>();
+    private final Map<String, Integer> stringIndexes = new HashMap<String, Integer>();
+    private final List<String> strings = new ArrayList<String>();
+    private int depth;
+
+    private ReferenceScope() {
+    }
+
+    /**
+     * Enters the scope of the current thread, creating it if this is the outermost call.
+     * Each call must be matched by a call to {@link #exit()}.
+     */
+    public static void enter() {
+        ReferenceScope scope = SCOPES.get();
+        if (scope == null) {
+            scope = new ReferenceScope();
+            SCOPES.set(scope);
+        }
+        scope.depth++;
+    }
+
+    /**
+     * Leaves the scope of the current thread, discarding it if this is the outermost call.
+     */
+    public static void exit() {
+        ReferenceScope scope = SCOPES.get();
+        if (--scope.depth == 0) {
+            SCOPES.remove();
+        }
+    }
+
+    /**
+     * @return true if the current thread holds no scope, or is in the outermost call of its scope
+     */
+    public static boolean isOutermost() {
+        ReferenceScope scope = SCOPES.get();
+        return scope == null || scope.depth == 1;
+    }
+
+    /**
+     * @return the scope of the current thread, or null if there is none
+     */
+    public static ReferenceScope current() {
+        return SCOPES.get();
+    }
+
+    /**
+     * @param {@code fd} a field of a javabuf message
+     * @return true if {@code fd} is one of the fields added for references
+     */
+    public static boolean isReferenceField(FieldDescriptor fd) {
+        return ID_FIELD.equals(fd.getName()) || TO_FIELD.equals(fd.getName());
+    }
+
+    /**
+     * Used when writing.
+     *
+     * @param {@code o} an object about to be written
+     * @return the id of {@code o} if it has been written already in this scope, or 0 after giving
+     *         {@code o} a new id, which can be retrieved with {@link #idOf(Object)}
+     */
+    public int reference(Object o) {
+        Integer id = ids.get(o);
+        if (id != null) {
+            return id;
+        }
+        ids.put(o, ids.size() + 1);
+        return 0;
+    }
+
+    /**
+     * @param {@code o} an object written in this scope
+     * @return the id of {@code o}
+     */
+    public int idOf(Object o) {
+        return ids.get(o);
+    }
+
+    /**
+     * Used when reading. Ids are given in the order objects are written, which is the order they're
+     * read, so each id sent with an object must be the next one.
+     *
+     * @param {@code id} the id sent with an object
+     * @param {@code o} the object constructed for it
+     * @throws RuntimeException if {@code id} isn't the next id
+     */
+    public void bind(int id, Object o) {
+        if (id != objects.size() + 1) {
+            throw Messages.MESSAGES.unexpectedReferenceId(id, objects.size() + 1);
+        }
+        objects.add(o);
+    }
+
+    /**
+     * @param {@code id} the id sent in place of an object
+     * @return the object bound to {@code id}
+     */
+    public Object resolve(int id) {
+        Object o = id > 0 && id <= objects.size() ? objects.get(id - 1) : null;
+        if (o == null) {
+            throw Messages.MESSAGES.unknownReference(id);
+        }
+        return o;
+    }
+
+    /**
+     * Used when writing a {@link DictionaryEncoded} field.
+     *
+     * @param {@code s} a value about to be written
+     * @return the index of {@code s} if it has been written already in this scope, or 0 after
+     *         adding {@code s} to the dictionary
+     */
+    public int stringIndex(String s) {
+        Integer index = stringIndexes.get(s);
+        if (index != null) {
+            return index;
+        }
+        stringIndexes.put(s, stringIndexes.size() + 1);
+        return 0;
+    }
+
+    /**
+     * Used when reading a {@link DictionaryEncoded} field. No index is sent with a value, which takes
+     * the next index; an index that refers to a value not yet read is rejected by {@link #resolveString(int)}.
+     *
+     * @param {@code s} a value sent in full
+     */
+    public void bindString(String s) {
+        strings.add(s);
+    }
+
+    /**
+     * @param {@code index} the index sent in place of a value
+     * @return the value sent in full with {@code index}
+     */
+    public String resolveString(int index) {
+        if (index <= 0 || index > strings.size()) {
+            throw Messages.MESSAGES.unknownReference(index);
+        }
+        return strings.get(index - 1);
+    }
+}
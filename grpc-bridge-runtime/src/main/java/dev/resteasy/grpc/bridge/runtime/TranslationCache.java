@@ -0,0 +1,292 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.ws.rs.core.GenericType;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+
+/**
+ * Memoizes the translation of immutable objects to javabuf messages.
+ * <p>
+ * An object is memoized if its class is annotated with {@link Memoized} or if it has been passed to
+ * {@link #register(Object)}. The first time such an object is translated, the resulting message is kept,
+ * and each later translation of the same object, as determined by identity, by the same kind of translator and
+ * with the same {@link GenericType} returns that message.
+ * If {@link TranslationOptions#MEMOIZE_BYTES} is set, the serialized form of the message is kept as well.
+ * <p>
+ * Objects are held weakly, so an object that is no longer used by the application is dropped from the cache,
+ * and about {@link TranslationOptions#MEMOIZE_CACHE_SIZE} messages are kept. The cache is split into segments,
+ * each with its own lock and its own least recently used order, so that translations on different threads
+ * seldom wait for each other, and the set of registered objects is a concurrent set, which is read without
+ * locking. Nothing is memoized while a {@link FieldSelection} is in effect, since the message
+ * then holds only some of the fields of the object. Translators generated with {@code -Dreferences=true}
+ * or with {@link DictionaryEncoded} fields memoize only messages translated in a {@link ReferenceScope}
+ * of their own, since the ids and dictionary indexes of a message depend on the rest of the message it is part of.
+ */
+public final class TranslationCache {
+
+    private static final int SIZE = TranslationOptions.MEMOIZE_CACHE_SIZE;
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final ClassValue<Boolean> MEMOIZED_CLASSES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(Memoized.class);
+        }
+    };
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<Object>();
+    private static final Set<IdentityKey> REGISTERED = ConcurrentHashMap.newKeySet();
+    private static final Segment[] SEGMENTS = createSegments();
+
+    private TranslationCache() {
+        // restrict instantiation
+    }
+
+    /**
+     * Memoizes the translation of {@code o}, whose class need not be annotated with {@link Memoized}.
+     *
+     * @param {@code o} an object that will not be modified
+     */
+    public static void register(Object o) {
+        expunge();
+        REGISTERED.add(new IdentityKey(o, QUEUE));
+    }
+
+    /**
+     * Stops memoizing the translation of {@code o}, and drops its message, if any, from the cache.
+     * An object whose class is annotated with {@link Memoized} is memoized again the next time it is translated.
+     *
+     * @param {@code o} an object previously passed to {@link #register(Object)}, or translated while memoized
+     */
+    public static void unregister(Object o) {
+        IdentityKey key = new IdentityKey(o, null);
+        REGISTERED.remove(key);
+        segment(key).remove(key);
+    }
+
+    /**
+     * @param {@code o} an object to be translated
+     * @return true if the translation of {@code o} is memoized
+     */
+    public static boolean isMemoized(Object o) {
+        if (SIZE <= 0 || o == null) {
+            return false;
+        }
+        if (MEMOIZED_CLASSES.get(o.getClass())) {
+            return true;
+        }
+        return !REGISTERED.isEmpty() && REGISTERED.contains(new IdentityKey(o, null));
+    }
+
+    /**
+     * @param {@code o} an object to be translated
+     * @param {@code translator} the translator
+     * @param {@code genericType} the type {@code o} is translated as, or null
+     * @return the message {@code o} was previously translated to by the same kind of translator with the same
+     *         type, or null if {@code o} isn't memoized or hasn't been translated that way yet
+     */
+    public static Message get(Object o, JavabufTranslator translator, GenericType<?> genericType) {
+        if (!isMemoized(o) || FieldSelection.current() != null) {
+            return null;
+        }
+        IdentityKey key = new IdentityKey(o, null);
+        Entry entry = Entry.find(segment(key).get(key), translator.getClass(), typeOf(genericType));
+        return entry == null ? null : entry.message;
+    }
+
+    /**
+     * Keeps {@code message} as the translation of {@code o} by {@code translator} with {@code genericType},
+     * if {@code o} is memoized.
+     *
+     * @param {@code o} a translated object
+     * @param {@code translator} the translator
+     * @param {@code genericType} the type {@code o} was translated as, or null
+     * @param {@code message} the translation of {@code o}
+     * @return {@code message}
+     */
+    public static Message put(Object o, JavabufTranslator translator, GenericType<?> genericType, Message message) {
+        if (message == null || !isMemoized(o) || FieldSelection.current() != null) {
+            return message;
+        }
+        expunge();
+        IdentityKey key = new IdentityKey(o, QUEUE);
+        segment(key).add(key, translator.getClass(), typeOf(genericType), message);
+        return message;
+    }
+
+    /**
+     * @param {@code o} a translated object
+     * @param {@code message} the translation of {@code o}
+     * @return the serialized form of {@code message}, computed once, if {@code message} is the memoized translation
+     *         of {@code o} and {@link TranslationOptions#MEMOIZE_BYTES} is set, and null otherwise
+     */
+    public static ByteString encoded(Object o, Message message) {
+        if (!TranslationOptions.MEMOIZE_BYTES || !isMemoized(o)) {
+            return null;
+        }
+        IdentityKey key = new IdentityKey(o, null);
+        Entry entry = segment(key).get(key);
+        while (entry != null && entry.message != message) {
+            entry = entry.next;
+        }
+        if (entry == null) {
+            return null;
+        }
+        ByteString bytes = entry.bytes;
+        if (bytes == null) {
+            bytes = message.toByteString();
+            entry.bytes = bytes;
+        }
+        return bytes;
+    }
+
+    private static void expunge() {
+        for (Reference<?> ref = QUEUE.poll(); ref != null; ref = QUEUE.poll()) {
+            IdentityKey key = (IdentityKey) ref;
+            REGISTERED.remove(key);
+            segment(key).remove(key);
+        }
+    }
+
+    private static Type typeOf(GenericType<?> genericType) {
+        return genericType == null ? null : genericType.getType();
+    }
+
+    private static Segment segment(IdentityKey key) {
+        int h = key.hash;
+        return SEGMENTS[(h ^ (h >>> 16)) & (SEGMENTS.length - 1)];
+    }
+
+    // A power of two number of segments, no more than SIZE, which share SIZE entries
+    private static Segment[] createSegments() {
+        int n = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, SIZE)));
+        int capacity = Math.max(1, (SIZE + n - 1) / n);
+        Segment[] segments = new Segment[n];
+        for (int i = 0; i < n; i++) {
+            segments[i] = new Segment(capacity);
+        }
+        return segments;
+    }
+
+    /*
+     * A least recently used map, guarded by its own lock. The entries of an object form an immutable list,
+     * one entry for each kind of translator and type it has been translated with.
+     */
+    private static final class Segment {
+        private final Map<IdentityKey, Entry> map;
+
+        Segment(final int capacity) {
+            map = new LinkedHashMap<IdentityKey, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<IdentityKey, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Entry get(IdentityKey key) {
+            return map.get(key);
+        }
+
+        synchronized void add(IdentityKey key, Class<?> translator, Type type, Message message) {
+            Entry first = map.get(key);
+            Entry rest = null;
+            for (Entry e = first; e != null; e = e.next) {
+                if (e.translator != translator || !Objects.equals(e.type, type)) {
+                    rest = new Entry(e.translator, e.type, e.message, e.bytes, rest);
+                }
+            }
+            map.put(key, new Entry(translator, type, message, null, rest));
+        }
+
+        synchronized void remove(IdentityKey key) {
+            map.remove(key);
+        }
+    }
+
+    private static final class Entry {
+        private final Class<?> translator;
+        private final Type type;
+        private final Message message;
+        private final Entry next;
+        private volatile ByteString bytes;
+
+        Entry(final Class<?> translator, final Type type, final Message message, final ByteString bytes,
+                final Entry next) {
+            this.translator = translator;
+            this.type = type;
+            this.message = message;
+            this.bytes = bytes;
+            this.next = next;
+        }
+
+        static Entry find(Entry entry, Class<?> translator, Type type) {
+            while (entry != null && (entry.translator != translator || !Objects.equals(entry.type, type))) {
+                entry = entry.next;
+            }
+            return entry;
+        }
+    }
+
+    /*
+     * A weak reference that is equal to another one if they refer to the same object.
+     * Once cleared, it is equal only to itself.
+     */
+    private static final class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        IdentityKey(final Object o, final ReferenceQueue<Object> queue) {
+            super(o, queue);
+            hash = System.identityHashCode(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof IdentityKey)) {
+                return false;
+            }
+            Object o = get();
+            return o != null && o == ((IdentityKey) other).get();
+        }
+    }
+}
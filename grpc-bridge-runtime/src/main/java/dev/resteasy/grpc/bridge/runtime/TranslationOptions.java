@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+/**
+ * Runtime options read by the generated javabuf translators. Each option is set with a
+ * system property and is read once, when this class is initialized.
+ */
+public final class TranslationOptions {
+
+    /**
+     * If true, an object reachable more than once from the same message is written once and referred
+     * to by id afterwards; see {@link ReferenceScope}. This applies only to translators generated with
+     * {@code -Dreferences=true}, which always resolve references when reading, and which translate
+     * neither lazily nor in parallel, since a {@code ReferenceScope} is held by a single thread.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.preserveReferences}, default {@code false}.
+     */
+    public static final boolean PRESERVE_REFERENCES = Boolean.getBoolean("dev.resteasy.grpc.translation.preserveReferences");
+
+    /**
+     * If true, a javabuf message translated to a value declared as {@code java.util.List} is returned as a
+     * {@link LazyList}, which translates each element when it is first read. Values declared as another
+     * collection type, or lists of messages in translators that need a {@link ReferenceScope}, are translated
+     * eagerly.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.lazy}, default {@code false}.
+     */
+    public static final boolean LAZY = Boolean.getBoolean("dev.resteasy.grpc.translation.lazy");
+
+    /**
+     * Collections and arrays with at least this many elements are translated in parallel by
+     * {@link ParallelTranslation}. A value of 0 turns parallel translation off.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.parallel.threshold}, default {@code 0}.
+     */
+    public static final int PARALLEL_THRESHOLD = Integer.getInteger("dev.resteasy.grpc.translation.parallel.threshold", 0);
+
+    /**
+     * Parallelism of the dedicated {@code ForkJoinPool} used by {@link ParallelTranslation}.
+     * A value of 0 means the common pool is used instead.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.parallel.parallelism}, default {@code 0}.
+     */
+    public static final int PARALLELISM = Integer.getInteger("dev.resteasy.grpc.translation.parallel.parallelism", 0);
+
+    /**
+     * If true, the generated translators and services take javabuf builders from a {@link BuilderPool}
+     * and return them after use, instead of creating a new builder for each message.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.reuseBuilders}, default {@code false}.
+     */
+    public static final boolean REUSE_BUILDERS = Boolean.getBoolean("dev.resteasy.grpc.translation.reuseBuilders");
+
+    /**
+     * Maximum number of idle builders held by each {@link BuilderPool}.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.builderPoolSize}, default twice the number
+     * of available processors.
+     */
+    public static final int BUILDER_POOL_SIZE = Math.max(1, Integer.getInteger("dev.resteasy.grpc.translation.builderPoolSize",
+            2 * Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * If true, arrays of wrapper types, e.g., {@code Integer[]}, are sent as a packed array of values
+     * and a {@link NullBitmap} instead of one wrapper message per element. Both forms are always
+     * accepted when reading.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.compactWrapperArrays}, default {@code false}.
+     */
+    public static final boolean COMPACT_WRAPPER_ARRAYS = Boolean.getBoolean("dev.resteasy.grpc.translation.compactWrapperArrays");
+
+    /**
+     * If true, a raw or {@code Object} typed {@code List} or {@code Set} whose elements all translate to
+     * the same javabuf type is sent as a single type URL and the serialized elements, instead of one
+     * {@code Any} per element. Both forms are always accepted when reading.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.homogeneousCollections}, default {@code false}.
+     */
+    public static final boolean HOMOGENEOUS_COLLECTIONS = Boolean
+            .getBoolean("dev.resteasy.grpc.translation.homogeneousCollections");
+
+    /**
+     * If true, arrays of primitive arrays, e.g., {@code int[][]}, are sent by {@link PackedMatrices} as the
+     * length of each row and the elements of all the rows in a single buffer, instead of one message per row.
+     * Both forms are always accepted when reading.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.packedMatrices}, default {@code false}.
+     */
+    public static final boolean PACKED_MATRICES = Boolean.getBoolean("dev.resteasy.grpc.translation.packedMatrices");
+
+    /**
+     * Arrays of {@code int}, {@code long}, {@code float} and {@code double} with at least this many elements
+     * are sent as raw little-endian bytes by {@link RawArrays}. A value of 0 turns the raw encoding off.
+     * Both encodings are always accepted when reading.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.rawArrayThreshold}, default {@code 0}.
+     */
+    public static final int RAW_ARRAY_THRESHOLD = Integer.getInteger("dev.resteasy.grpc.translation.rawArrayThreshold", 0);
+
+    /**
+     * If set, {@link FieldUsageProfile} counts how often each field of each javabuf message is populated,
+     * and writes the counts to this file when the gRPC bridge servlet is destroyed. The file can be passed to
+     * {@code JavaToProtobufGenerator} with {@code -DfieldProfile}.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.fieldProfile}, no default.
+     */
+    public static final String FIELD_PROFILE = System.getProperty("dev.resteasy.grpc.translation.fieldProfile");
+
+    /**
+     * If true, the {@code byte[]} values returned by resources are wrapped, rather than copied, by
+     * the javabuf messages they are written to, so they must not be modified afterwards; see {@link ZeroCopy}.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.zeroCopyBytes}, default {@code false}.
+     */
+    public static final boolean ZERO_COPY_BYTES = Boolean.getBoolean("dev.resteasy.grpc.translation.zeroCopyBytes");
+
+    /**
+     * Approximate maximum number of javabuf messages kept by {@link TranslationCache} for objects whose
+     * translation is memoized. A value of 0 turns memoization off.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.memoize.cacheSize}, default {@code 1024}.
+     */
+    public static final int MEMOIZE_CACHE_SIZE = Integer.getInteger("dev.resteasy.grpc.translation.memoize.cacheSize", 1024);
+
+    /**
+     * If true, {@link TranslationCache} also keeps the serialized form of each memoized message, so that
+     * it is encoded once.
+     * <p>
+     * System property: {@code dev.resteasy.grpc.translation.memoize.bytes}, default {@code false}.
+     */
+    public static final boolean MEMOIZE_BYTES = Boolean.getBoolean("dev.resteasy.grpc.translation.memoize.bytes");
+
+    private TranslationOptions() {
+        // restrict instantiation
+    }
+}
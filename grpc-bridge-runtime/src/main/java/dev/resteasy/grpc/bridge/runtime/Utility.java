@@ -36,7 +36,6 @@ import jakarta.ws.rs.core.GenericType;
 import org.jboss.resteasy.spi.util.Types.ResteasyParameterizedType;
 
 import com.google.protobuf.Any;
-import com.google.protobuf.ByteString;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.GeneratedMessage.Builder;
 import com.google.protobuf.Message;
@@ -46,7 +45,7 @@ import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
 
 public final class Utility {
 
-    private final static Map<Class<?>, Class<?>> WRAPPER_CLASSES = new HashMap<Class<?>, Class<?>>();
+    final static Map<Class<?>, Class<?>> WRAPPER_CLASSES = new HashMap<Class<?>, Class<?>>();
     static {
         WRAPPER_CLASSES.put(boolean.class, Boolean.class);
         WRAPPER_CLASSES.put(byte.class, Byte.class);
@@ -62,32 +61,22 @@ public final class Utility {
         // restrict instantiation
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public static Message unpack(Any any, JavabufTranslator translator) throws Exception {
-        Class clazz = extractClassFromAny(any, translator);
-        return any.unpack(clazz);
+        return translator.getAnyTypeRegistry().unpack(any);
     }
 
     @SuppressWarnings("rawtypes")
     public static Class extractClassFromAny(Any any, JavabufTranslator translator) {
-        String s = extractStringTypeFromAny(any);
-        if (s.equals("") || s == null) {
-            return null;
-        }
-        int pos = s.lastIndexOf('.');
-        s = s.substring(pos + 1);
-        String t = translator.getOuterClassname();
-        String classname = t + "$" + s;
-        Class<?> c = translator.translatefromJavabufClass(classname);
-        if (WRAPPER_CLASSES.containsKey(c)) {
-            c = WRAPPER_CLASSES.get(c);
-        }
-        if (c == null) {
-            throw Messages.MESSAGES.unableToProcessAsAny(any);
-        }
-        return translator.translateToJavabufClass(c);
+        AnyTypeRegistry.Entry entry = translator.getAnyTypeRegistry().resolve(any);
+        return entry == null ? null : entry.getJavabufClass();
     }
 
+    /**
+     * @deprecated parses the type URL and loads the class on every call. Use
+     *             {@link #extractClassFromAny(Any, JavabufTranslator)} or {@link #unpack(Any, JavabufTranslator)},
+     *             which resolve the type URL once through the translator's {@link AnyTypeRegistry}.
+     */
+    @Deprecated
     public static Class<?> extractTypeFromAny(Any any, ClassLoader cl, String outerClassName) throws ClassNotFoundException {
         String className = any.getTypeUrl().substring(any.getTypeUrl().indexOf('/') + 1);
         String pkg = className.substring(0, className.lastIndexOf('.') + 1);
@@ -180,10 +169,7 @@ public final class Utility {
             if (any.getSerializedSize() == 0) {
                 field.set(object, null);
             } else {
-                @SuppressWarnings("rawtypes")
-                Class clazz = extractClassFromAny(any, translator);
-                @SuppressWarnings("unchecked")
-                Message message = any.unpack(clazz);
+                Message message = unpack(any, translator);
                 Object javaObj = translator.translateFromJavabuf(message);
                 field.set(object, javaObj);
             }
@@ -201,10 +187,7 @@ public final class Utility {
             if (any.getSerializedSize() == 0) {
                 return;
             } else {
-                @SuppressWarnings("rawtypes")
-                Class clazz = extractClassFromAny(any, translator);
-                @SuppressWarnings("unchecked")
-                Message message = any.unpack(clazz);
+                Message message = unpack(any, translator);
                 map.put(field.getName(), translator.translateFromJavabuf(message));
                 return;
             }
@@ -238,6 +221,22 @@ public final class Utility {
         return (Object[]) array;
     }
 
+    /**
+     * A protobuf map can hold neither null keys nor null values.
+     *
+     * @param {@code map} a map to be written as a protobuf map field
+     * @return {@code map}
+     * @throws IllegalArgumentException if {@code map} has a null key or a null value
+     */
+    public static <M extends Map<?, ?>> M checkProtobufMap(M map) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw Messages.MESSAGES.nullMapEntry(map.getClass().getName());
+            }
+        }
+        return map;
+    }
+
     public static Field getField(Class<?> clazz, String name) {
         if (name.contains("___")) {
             try {
@@ -360,7 +359,7 @@ public final class Utility {
         public static void toPrimitiveArray(Builder builder, FieldDescriptor fd, Class<?> componentType,
                 Object array) {
             if (byte.class.equals(componentType)) {
-                builder.setField(fd, ByteString.copyFrom((byte[]) array));
+                builder.setField(fd, ZeroCopy.wrap((byte[]) array));
             } else if (char.class.equals(componentType)) {
                 builder.setField(fd, charsToString(array));
             } else if (boolean.class.equals(componentType)) {
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Conversions between the JDK value types that have a built-in protobuf representation and that
+ * representation:
+ * <ul>
+ * <li>{@link Instant}: {@code google.protobuf.Timestamp}</li>
+ * <li>{@link Duration}: {@code google.protobuf.Duration}</li>
+ * <li>{@link LocalDate}: {@code optional int64}, the epoch day</li>
+ * <li>{@link BigInteger}: {@code bytes}, the two's complement representation</li>
+ * <li>{@link BigDecimal}: the unscaled value as {@code bytes}, plus an {@code int32} scale</li>
+ * </ul>
+ * {@code java.util.UUID} is represented by two {@code fixed64} fields, read and written directly
+ * by the generated translators.
+ */
+public final class WellKnownTypes {
+
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+    private WellKnownTypes() {
+        // restrict instantiation
+    }
+
+    /**
+     * Lets a translator choose the conversion once per field rather than on every value.
+     *
+     * @param {@code clazz} declared type of a field
+     * @return the conversion to the protobuf representation of values of type {@code clazz},
+     *         or null if {@code clazz} isn't well known
+     */
+    public static Function<Object, Object> toJavabufConverter(Class<?> clazz) {
+        if (Instant.class.equals(clazz)) {
+            return value -> toTimestamp((Instant) value);
+        } else if (Duration.class.equals(clazz)) {
+            return value -> toJavabufDuration((Duration) value);
+        } else if (LocalDate.class.equals(clazz)) {
+            return value -> ((LocalDate) value).toEpochDay();
+        } else if (BigInteger.class.equals(clazz)) {
+            return value -> toBytes((BigInteger) value);
+        }
+        return null;
+    }
+
+    /**
+     * @param {@code clazz} declared type of a field
+     * @return the conversion from the protobuf representation of values of type {@code clazz},
+     *         or null if {@code clazz} isn't well known
+     */
+    public static Function<Object, Object> fromJavabufConverter(Class<?> clazz) {
+        if (Instant.class.equals(clazz)) {
+            return value -> toInstant((Timestamp) value);
+        } else if (Duration.class.equals(clazz)) {
+            return value -> toDuration((com.google.protobuf.Duration) value);
+        } else if (LocalDate.class.equals(clazz)) {
+            return value -> LocalDate.ofEpochDay((Long) value);
+        } else if (BigInteger.class.equals(clazz)) {
+            return value -> toBigInteger((ByteString) value);
+        }
+        return null;
+    }
+
+    public static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+
+    public static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+
+    /**
+     * The nanos of a {@link Duration} are never negative, but a {@code google.protobuf.Duration} requires
+     * seconds and nanos of the same sign, so a negative duration with a fraction of a second borrows
+     * a second from its nanos.
+     */
+    public static com.google.protobuf.Duration toJavabufDuration(Duration duration) {
+        long seconds = duration.getSeconds();
+        int nanos = duration.getNano();
+        if (seconds < 0 && nanos > 0) {
+            seconds++;
+            nanos -= NANOS_PER_SECOND;
+        }
+        return com.google.protobuf.Duration.newBuilder()
+                .setSeconds(seconds)
+                .setNanos(nanos)
+                .build();
+    }
+
+    public static Duration toDuration(com.google.protobuf.Duration duration) {
+        long seconds = duration.getSeconds();
+        int nanos = duration.getNanos();
+        if (nanos < 0) {
+            seconds--;
+            nanos += NANOS_PER_SECOND;
+        }
+        return Duration.ofSeconds(seconds, nanos);
+    }
+
+    /**
+     * The array returned by {@link BigInteger#toByteArray()} is never shared, so it's wrapped rather than copied.
+     */
+    public static ByteString toBytes(BigInteger value) {
+        return UnsafeByteOperations.unsafeWrap(value.toByteArray());
+    }
+
+    /**
+     * @param {@code bytes} the two's complement representation of a {@code BigInteger}
+     * @return the {@code BigInteger}, or null if {@code bytes} is empty
+     */
+    public static BigInteger toBigInteger(ByteString bytes) {
+        return bytes.isEmpty() ? null : new BigInteger(bytes.toByteArray());
+    }
+
+    public static BigDecimal toBigDecimal(ByteString unscaledValue, int scale) {
+        return unscaledValue.isEmpty() ? BigDecimal.ZERO.setScale(scale) : new BigDecimal(toBigInteger(unscaledValue), scale);
+    }
+}
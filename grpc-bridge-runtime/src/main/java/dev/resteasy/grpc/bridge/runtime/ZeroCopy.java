@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.UnsafeByteOperations;
+
+import dev.resteasy.grpc.bridge.runtime.servlet.MockServletInputStream;
+
+/**
+ * Moves the bytes of {@code byte[]} fields into javabuf messages with as few copies as possible.
+ * <p>
+ * By default, a {@code byte[]} is copied into a {@code ByteString} when it is written, since the
+ * resource that returned it might modify it afterwards. If {@link TranslationOptions#ZERO_COPY_BYTES} is true,
+ * the resources promise not to modify the arrays they return, and an array is wrapped instead.
+ * <p>
+ * {@link TranslationOptions#ZERO_COPY_BYTES} affects only the outbound direction. A {@code byte[]} field of
+ * a request entity can't be a view of the parsed message, since the resource may modify it, so it's always
+ * copied out of its {@code ByteString}. However, the generated gRPC service hands a request entity to the
+ * {@code MessageBodyReader} as the buffer it was serialized to, which nothing else holds, so
+ * {@link #input(InputStream)} parses it with aliasing, and the {@code ByteString}s are views of that buffer.
+ * That leaves the one copy made by {@code ByteString.toByteArray()}.
+ */
+public final class ZeroCopy {
+
+    private ZeroCopy() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param {@code bytes} an array owned by a Java object being translated
+     * @return a {@code ByteString} holding the contents of {@code bytes}, which wraps {@code bytes} if
+     *         {@link TranslationOptions#ZERO_COPY_BYTES} is true
+     */
+    public static ByteString wrap(byte[] bytes) {
+        return TranslationOptions.ZERO_COPY_BYTES ? UnsafeByteOperations.unsafeWrap(bytes) : ByteString.copyFrom(bytes);
+    }
+
+    /**
+     * @param {@code stream} a serialized javabuf message
+     * @return a {@code CodedInputStream} reading {@code stream}, with aliasing enabled if {@code stream} is
+     *         a {@link MockServletInputStream} holding an unread buffer
+     */
+    public static CodedInputStream input(InputStream stream) throws IOException {
+        byte[] bytes = stream instanceof MockServletInputStream ? ((MockServletInputStream) stream).getBytes() : null;
+        if (bytes == null) {
+            return CodedInputStream.newInstance(stream);
+        }
+        stream.skip(bytes.length);
+        // unlike CodedInputStream.newInstance(byte[]), which takes the buffer to be mutable and copies anyway
+        CodedInputStream input = UnsafeByteOperations.unsafeWrap(bytes).newCodedInput();
+        input.enableAliasing(true);
+        return input;
+    }
+}
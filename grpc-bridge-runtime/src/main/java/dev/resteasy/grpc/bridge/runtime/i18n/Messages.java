@@ -112,4 +112,34 @@ public interface Messages {
 
     @Message(id = 3500, value = "Unable to process as Any: %s")
     RuntimeException unableToProcessAsAny(Object o);
+
+    @Message(id = 3600, value = "Reference to unknown object: %s")
+    RuntimeException unknownReference(int id);
+
+    @Message(id = 3700, value = "Unable to write field usage profile to %s: %s")
+    String unableToWriteFieldProfile(String path, String reason);
+
+    @Message(id = 3800, value = "Unknown field %s in %s")
+    IllegalArgumentException unknownField(String field, String classname);
+
+    @Message(id = 3900, value = "%s is not a %s")
+    IllegalArgumentException notAnAggregate(String classname, String type);
+
+    @Message(id = 4000, value = "Raw %s array of %d bytes is not a multiple of %d bytes")
+    IllegalArgumentException badRawArrayLength(String type, int length, int elementSize);
+
+    @Message(id = 4100, value = "%s with a null key or value can't be written as a protobuf map")
+    IllegalArgumentException nullMapEntry(String classname);
+
+    @Message(id = 4200, value = "%s is not an array of primitive arrays")
+    IllegalArgumentException notAPrimitiveMatrix(String classname);
+
+    @Message(id = 4300, value = "Packed %s rows with lengths %s don't match %d bytes of values")
+    IllegalArgumentException badPackedMatrix(String type, String rowLengths, int length);
+
+    @Message(id = 4400, value = "Reference id %d is out of sequence; expected %d")
+    RuntimeException unexpectedReferenceId(int id, int expected);
+
+    @Message(id = 4500, value = "An empty gCharacter can't be read as a char")
+    IllegalArgumentException emptyCharacter();
 }
@@ -24,6 +24,8 @@ import jakarta.ws.rs.core.GenericType;
 
 import com.google.protobuf.Message;
 
+import dev.resteasy.grpc.bridge.runtime.AnyTypeRegistry;
+
 /**
  * An instance of {@code JavabufTranslator} is generated by
  * {@link dev.resteasy.grpc.bridge.generator.protobuf.JavabufTranslatorGenerator
@@ -86,6 +88,17 @@ public interface JavabufTranslator {
      */
     String getOuterClassname();
 
+    /**
+     * Generated translators hold a single registry for their lifetime. The default implementation,
+     * for translators generated by older versions, returns a new registry, which resolves each
+     * type URL again.
+     *
+     * @return the {@code AnyTypeRegistry} used to resolve the contents of {@code com.google.protobuf.Any}s
+     */
+    default AnyTypeRegistry getAnyTypeRegistry() {
+        return new AnyTypeRegistry(this);
+    }
+
     /**
      *
      * @param {@code genericType} a {@code jakarta.ws.rs.core..GenericType}
@@ -29,6 +29,8 @@ import jakarta.servlet.ServletException;
 
 import org.jboss.resteasy.plugins.server.servlet.HttpServlet30Dispatcher;
 
+import dev.resteasy.grpc.bridge.runtime.FieldUsageProfile;
+
 public class GrpcHttpServletDispatcher extends HttpServlet30Dispatcher {
 
     private static final long serialVersionUID = -7323100224345687064L;
@@ -47,6 +49,7 @@ public class GrpcHttpServletDispatcher extends HttpServlet30Dispatcher {
     public void destroy() {
         super.destroy();
         removeServlet(name);
+        FieldUsageProfile.flush();
     }
 
     public static void addServlet(String name, Servlet servlet, ServletContext servletContext) {
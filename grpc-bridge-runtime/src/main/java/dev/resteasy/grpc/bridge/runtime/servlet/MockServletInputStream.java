@@ -19,6 +19,7 @@
 
 package dev.resteasy.grpc.bridge.runtime.servlet;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -27,11 +28,29 @@ import jakarta.servlet.ServletInputStream;
 
 public class MockServletInputStream extends ServletInputStream {
     private InputStream is;
+    private byte[] bytes;
 
     public MockServletInputStream(final InputStream is) {
         this.is = is;
     }
 
+    public MockServletInputStream(final byte[] bytes) {
+        this.is = new ByteArrayInputStream(bytes);
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return the buffer this stream was created with, or null if it was created with an {@code InputStream}
+     *         or has been read from
+     */
+    public byte[] getBytes() {
+        try {
+            return bytes != null && is.available() == bytes.length ? bytes : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     @Override
     public boolean isFinished() {
         try {
@@ -54,4 +73,14 @@ public class MockServletInputStream extends ServletInputStream {
     public int read() throws IOException {
         return is.read();
     }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return is.read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return is.available();
+    }
 }
@@ -20,6 +20,8 @@
 package dev.resteasy.grpc.bridge.generator;
 
 import static dev.resteasy.grpc.bridge.runtime.Constants.ANY;
+import static dev.resteasy.grpc.bridge.runtime.Constants.FIELD_MASK;
+import static dev.resteasy.grpc.bridge.runtime.Constants.UPDATE_MASK;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -57,6 +59,10 @@ public class ServiceGrpcExtender {
     private String generatedSourcePath;
     private Set<String> imports = new HashSet<String>();
 
+    // -DperRpcMessages=true must match the JavaToProtobufGenerator run that generated the .proto file:
+    // each rpc has its own request and response messages instead of GeneralEntityMessage and GeneralReturnMessage
+    private boolean perRpcMessages;
+
     static {
         PROTOBUF_PRIMITIVES.add("bool");
         PROTOBUF_PRIMITIVES.add("int32");
@@ -75,6 +81,7 @@ public class ServiceGrpcExtender {
             logger.info("  arg[2]: package of generated sources");
             logger.info("  arg[3]: (optional) path to the proto source directory to generate files");
             logger.info("  arg[4]: (optional) path to generate the source in.");
+            logger.info("  -DperRpcMessages: true if the .proto file was generated with -DperRpcMessages=true [optional]");
             return;
         }
         new ServiceGrpcExtender(args);
@@ -82,6 +89,7 @@ public class ServiceGrpcExtender {
 
     public ServiceGrpcExtender(final String[] args) {
         servletName = args[1];
+        perRpcMessages = Boolean.getBoolean("perRpcMessages");
         final String dir;
         if (args.length >= 4) {
             dir = args[3];
@@ -176,11 +184,14 @@ public class ServiceGrpcExtender {
                 .append("import java.util.Iterator;" + LS)
                 .append("import java.util.List;" + LS)
                 .append("import java.util.Map;" + LS)
+                .append("import java.util.function.BiConsumer;" + LS)
+                .append("import java.util.function.Consumer;" + LS)
                 .append("import jakarta.enterprise.context.control.RequestContextController;" + LS)
                 .append("import jakarta.servlet.ServletContext;" + LS)
                 .append("import jakarta.servlet.http.Cookie;" + LS)
                 .append("import jakarta.servlet.http.HttpServletRequest;" + LS)
                 .append("import jakarta.servlet.http.HttpServletResponse;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.BuilderPool;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.AsyncMockServletOutputStream;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.GrpcHttpServletDispatcher;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletRequestImpl;" + LS)
@@ -209,17 +220,14 @@ public class ServiceGrpcExtender {
                 .append(packageName)
                 .append(".")
                 .append(outerClassName)
-                .append(".FormValues;" + LS)
-                .append("import ")
-                .append(packageName)
-                .append(".")
-                .append(outerClassName)
-                .append(".GeneralEntityMessage;" + LS)
-                .append("import ")
-                .append(packageName)
-                .append(".")
-                .append(outerClassName)
-                .append(".GeneralReturnMessage;" + LS);
+                .append(".FormValues;" + LS);
+        if (!perRpcMessages) {
+            sb.append("import ")
+                    .append(packageName)
+                    .append(".")
+                    .append(outerClassName)
+                    .append(".GeneralReturnMessage;" + LS);
+        }
     }
 
     private void service(Scanner scanner, StringBuilder sbHeader, StringBuilder sbBody, String root) {
@@ -232,6 +240,13 @@ public class ServiceGrpcExtender {
                 .append("_proto.gString.newBuilder();" + LS)
                 .append("   private static FieldDescriptor fd = builder.getDescriptorForType().getFields().iterator().next();"
                         + LS)
+                .append(perRpcMessages ? ""
+                        : "   private static final BuilderPool<GeneralReturnMessage.Builder> RETURN_BUILDERS = new BuilderPool<GeneralReturnMessage.Builder>(GeneralReturnMessage::newBuilder);"
+                                + LS)
+                .append("   private static final BuilderPool<gHeader.Builder> HEADER_BUILDERS = new BuilderPool<gHeader.Builder>(gHeader::newBuilder);"
+                        + LS)
+                .append("   private static final BuilderPool<gNewCookie.Builder> COOKIE_BUILDERS = new BuilderPool<gNewCookie.Builder>(gNewCookie::newBuilder);"
+                        + LS)
                 .append("   private HttpServletDispatcher servlet;" + LS)
                 .append("   private RequestContextController requestContextController;" + LS)
                 .append("   private ClassLoader tccl;" + LS);
@@ -374,7 +389,13 @@ public class ServiceGrpcExtender {
                 .append("         GeneratedMessage actualParam = param.")
                 .append(getGetterMethod(actualEntityClass))
                 .append(";" + LS)
-                .append("         request = getHttpServletRequest(param, actualParam, \"")
+                .append("         request = getHttpServletRequest(param.getURL(), param.getHeadersMap(), param.getCookiesList(),"
+                        + LS)
+                .append("               param.getHttpMethod(), param.getServletInfo(), param.hasFieldMask() ? param.getFieldMask() : null,"
+                        + LS)
+                .append("               param.hasUpdateMask() ? param.getUpdateMask() : null, param.hasFormField() ? param.getFormField() : null,"
+                        + LS)
+                .append("               actualParam, \"")
                 .append(path)
                 .append("\", response, ")
                 .append("\"")
@@ -393,18 +414,18 @@ public class ServiceGrpcExtender {
                     .append("         ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());" + LS)
                     .append("         Any reply = Any.parseFrom(bais);" + LS)
                     .append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS)
+                    .append(createReturnMessageBuilder(retn))
                     .append("         ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS)
-                    .append("         responseObserver.onNext(grmb.build());" + LS);
+                    .append("         responseObserver.onNext((").append(retn).append(") ").append(buildReturnMessage()).append(");" + LS);
         } else if (isInterface(actualReturnClass)) {
             sb.append("         MockServletOutputStream msos = (MockServletOutputStream) response.getOutputStream();" + LS)
                     .append("         ByteArrayOutputStream baos = msos.getDelegate();" + LS)
                     .append("         ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());" + LS)
                     .append("         Any reply = Any.parseFrom(bais);" + LS)
                     .append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS)
+                    .append(createReturnMessageBuilder(retn))
                     .append("         ").append("grmb.setAnyField(reply);" + LS)
-                    .append("         responseObserver.onNext(grmb.build());" + LS);
+                    .append("         responseObserver.onNext((").append(retn).append(") ").append(buildReturnMessage()).append(");" + LS);
         } else if ("completionStage".equals(syncType)) {
             sb.append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();"
                     + LS)
@@ -413,9 +434,9 @@ public class ServiceGrpcExtender {
                     .append("         ").append(actualReturnClass).append(" reply = ").append(actualReturnClass)
                     .append(".parseFrom(bais);" + LS)
                     .append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS)
+                    .append(createReturnMessageBuilder(retn))
                     .append("         ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS)
-                    .append("         responseObserver.onNext(grmb.build());" + LS);
+                    .append("         responseObserver.onNext((").append(retn).append(") ").append(buildReturnMessage()).append(");" + LS);
         } else if ("sse".equals(syncType)) {
             sb.append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();"
                     + LS)
@@ -451,11 +472,11 @@ public class ServiceGrpcExtender {
                         .append(".parseFrom(bais);" + LS);
             }
             sb.append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS);
+                    .append(createReturnMessageBuilder(retn));
             if (!"Empty".equals(actualReturnClass)) {
                 sb.append("         ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS);
             }
-            sb.append("         responseObserver.onNext(grmb.build());" + LS);
+            sb.append("         responseObserver.onNext((").append(retn).append(") ").append(buildReturnMessage()).append(");" + LS);
         }
         sb.append("      } catch (Exception e) {" + LS)
                 .append("         responseObserver.onError(e);" + LS)
@@ -470,6 +491,18 @@ public class ServiceGrpcExtender {
                 .append("      }" + LS);
     }
 
+    private String createReturnMessageBuilder(String retn) {
+        if (!perRpcMessages) {
+            return ".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS;
+        }
+        return ".Builder grmb = " + retn + ".newBuilder().setStatus(response.getStatus());" + LS
+                + "         addHeadersAndCookies(response, grmb::putHeaders, grmb::addCookies);" + LS;
+    }
+
+    private String buildReturnMessage() {
+        return perRpcMessages ? "grmb.build()" : "RETURN_BUILDERS.build(grmb)";
+    }
+
     private void nonStaticMethods(StringBuilder sb) {
         sb.append("" + LS)
                 .append("//=============================  non-static methods =============================" + LS)
@@ -522,20 +555,27 @@ public class ServiceGrpcExtender {
                 .append("      }" + LS)
                 .append("      return headers;" + LS)
                 .append("   }" + LS + LS);
-        sb.append("   private static HttpServletRequest getHttpServletRequest(")
-                .append(pkg)
-                .append(".")
-                .append(root)
-                .append(
-                        "_proto.GeneralEntityMessage param, GeneratedMessage actualParam, String path, HttpServletResponse response, String verb, String type) throws Exception {"
-                                + LS)
-                .append("      String url = \"\".equals(param.getURL()) ? \"http://localhost:8080\" + path : param.getURL();"
-                        + LS)
-                .append("      ByteArrayInputStream bais = new ByteArrayInputStream(actualParam.toByteArray());" + LS)
-                .append("      MockServletInputStream msis = new MockServletInputStream(bais);" + LS)
-                .append("      Map<String, List<String>> headers = convertHeaders(param.getHeadersMap());" + LS)
-                .append("      Cookie[] cookies = convertCookies(param.getCookiesList());" + LS)
-                .append("      String httpMethod = param.getHttpMethod();" + LS)
+        sb.append("   private static HttpServletRequest getHttpServletRequest(String paramURL, Map<String, gHeader> protoHeaders,"
+                + LS)
+                .append("         List<").append(pkg).append(".").append(root).append("_proto.gCookie> protoCookies, String httpMethod, ")
+                .append(pkg).append(".").append(root)
+                .append("_proto.ServletInfo servletInfo, com.google.protobuf.FieldMask fieldMask," + LS)
+                .append("         com.google.protobuf.FieldMask updateMask, ").append(pkg).append(".").append(root)
+                .append("_proto.FormMap form, GeneratedMessage actualParam, String path, HttpServletResponse response," + LS)
+                .append("         String verb, String type) throws Exception {" + LS)
+                .append("      String url = \"\".equals(paramURL) ? \"http://localhost:8080\" + path : paramURL;" + LS)
+                // the MessageBodyReader parses this buffer with aliasing; see ZeroCopy.input()
+                .append("      MockServletInputStream msis = new MockServletInputStream(actualParam.toByteArray());" + LS)
+                .append("      Map<String, List<String>> headers = convertHeaders(protoHeaders);" + LS)
+                .append("      if (fieldMask != null) {" + LS)
+                .append("         headers.put(\"").append(FIELD_MASK)
+                .append("\", List.of(String.join(\",\", fieldMask.getPathsList())));" + LS)
+                .append("      }" + LS)
+                .append("      if (updateMask != null) {" + LS)
+                .append("         headers.put(\"").append(UPDATE_MASK)
+                .append("\", List.of(String.join(\",\", updateMask.getPathsList())));" + LS)
+                .append("      }" + LS)
+                .append("      Cookie[] cookies = convertCookies(protoCookies);" + LS)
                 .append("      ServletContext servletContext = getServletContext();" + LS)
                 .append("      HttpServletRequestImpl request = new HttpServletRequestImpl();" + LS)
                 .append("      request.setServletResponse(response);" + LS)
@@ -548,12 +588,7 @@ public class ServiceGrpcExtender {
                 .append("      request.setEntityType(type);" + LS)
                 .append("      request.setHeaders(headers);" + LS)
                 .append("      request.setCookies(cookies);" + LS)
-                .append("      request.setFormParameters(extractFormData(param));" + LS)
-                .append("      ")
-                .append(pkg)
-                .append(".")
-                .append(root)
-                .append("_proto.ServletInfo servletInfo = param.getServletInfo();" + LS)
+                .append("      request.setFormParameters(extractFormData(form));" + LS)
                 .append("      if (servletInfo != null) {" + LS)
                 .append("         if (servletInfo.getCharacterEncoding() != null) {" + LS)
                 .append("            request.setCharacterEncoding(servletInfo.getCharacterEncoding());" + LS)
@@ -608,12 +643,13 @@ public class ServiceGrpcExtender {
                 .append("      }" + LS)
                 .append("      return cookieArray;" + LS)
                 .append("   }" + LS + LS);
-        sb.append("   private static Map<String, String[]> extractFormData(GeneralEntityMessage param) {" + LS)
-                .append("      if (!param.hasFormField()) {" + LS)
+        sb.append("   private static Map<String, String[]> extractFormData(").append(pkg).append(".").append(root)
+                .append("_proto.FormMap form) {" + LS)
+                .append("      if (form == null) {" + LS)
                 .append("         return null;" + LS)
                 .append("      }" + LS)
                 .append("      Map<String, String[]> formParams = new HashMap<String, String[]>();" + LS)
-                .append("      Map<String, FormValues> map = param.getFormField().getFormMapFieldMap();" + LS)
+                .append("      Map<String, FormValues> map = form.getFormMapFieldMap();" + LS)
                 .append("      for (Map.Entry<String, FormValues> entry : map.entrySet()) {" + LS)
                 .append("         String[] values = new String[entry.getValue().getFormValuesFieldCount()];" + LS)
                 .append("         for (int i = 0; i < entry.getValue().getFormValuesFieldCount(); i++) {" + LS)
@@ -623,28 +659,36 @@ public class ServiceGrpcExtender {
                 .append("      }" + LS)
                 .append("      return formParams;" + LS)
                 .append("   }" + LS + LS);
-        sb.append(
-                "   private static GeneralReturnMessage.Builder createGeneralReturnMessageBuilder(HttpServletResponseImpl response) throws ParseException {"
-                        + LS)
-                .append("      GeneralReturnMessage.Builder grmBuilder = GeneralReturnMessage.newBuilder();" + LS)
-                .append("      gNewCookie.Builder cookieBuilder = gNewCookie.newBuilder();" + LS)
+        if (!perRpcMessages) {
+            sb.append(
+                    "   private static GeneralReturnMessage.Builder createGeneralReturnMessageBuilder(HttpServletResponseImpl response) throws ParseException {"
+                            + LS)
+                    .append("      GeneralReturnMessage.Builder grmBuilder = RETURN_BUILDERS.acquire();" + LS)
+                    .append("      addHeadersAndCookies(response, grmBuilder::putHeaders, grmBuilder::addCookies);" + LS)
+                    .append("      grmBuilder.setStatus(response.getStatus());" + LS)
+                    .append("      return grmBuilder;" + LS)
+                    .append("   }" + LS + LS);
+        }
+        sb.append("   private static void addHeadersAndCookies(HttpServletResponseImpl response, BiConsumer<String, gHeader> headers,"
+                + LS)
+                .append("         Consumer<gNewCookie> cookies) throws ParseException {" + LS)
+                .append("      gNewCookie.Builder cookieBuilder = COOKIE_BUILDERS.acquire();" + LS)
                 .append("      if (!response.getHeaderNames().isEmpty()) {" + LS)
-                .append("         gHeader.Builder headerBuilder = gHeader.newBuilder();" + LS)
+                .append("         gHeader.Builder headerBuilder = HEADER_BUILDERS.acquire();" + LS)
                 .append("         for (String headerName : response.getHeaderNames()) {" + LS)
                 .append("            if (\"Set-Cookie\".equals(headerName)) {" + LS)
                 .append("               Collection<String> cookies = response.getHeaders(\"Set-Cookie\");" + LS)
                 .append("               for (String s : cookies) {" + LS)
-                .append("                  grmBuilder.addCookies(parseNewCookie(cookieBuilder, s));" + LS)
+                .append("                  cookies.accept(parseNewCookie(cookieBuilder, s));" + LS)
                 .append("                  cookieBuilder.clear();" + LS)
                 .append("               }" + LS)
                 .append("            } else {" + LS)
-                .append("               for (String value : response.getHeaders(headerName)) {" + LS)
-                .append("                   headerBuilder.addValues(value);" + LS)
-                .append("               }" + LS)
-                .append("            grmBuilder.putHeaders(headerName, headerBuilder.build());" + LS)
-                .append("            headerBuilder.clear();" + LS)
+                .append("               headerBuilder.addAllValues(response.getHeaders(headerName));" + LS)
+                .append("               headers.accept(headerName, headerBuilder.build());" + LS)
+                .append("               headerBuilder.clear();" + LS)
                 .append("            }" + LS)
                 .append("         }" + LS)
+                .append("         HEADER_BUILDERS.release(headerBuilder);" + LS)
                 .append("      }" + LS)
                 .append("      if (!response.getCookies().isEmpty()) {" + LS)
                 .append("         for (Cookie cookie : response.getCookies()) {" + LS)
@@ -673,12 +717,11 @@ public class ServiceGrpcExtender {
                 .append("            if (cookie.isHttpOnly()) {" + LS)
                 .append("               cookieBuilder.setHttpOnly(true);" + LS)
                 .append("            }" + LS)
-                .append("            grmBuilder.addCookies(cookieBuilder.build());" + LS)
+                .append("            cookies.accept(cookieBuilder.build());" + LS)
                 .append("            cookieBuilder.clear();" + LS)
                 .append("         }" + LS)
                 .append("      }" + LS)
-                .append("      grmBuilder.setStatus(response.getStatus());" + LS)
-                .append("      return grmBuilder;" + LS)
+                .append("      COOKIE_BUILDERS.release(cookieBuilder);" + LS)
                 .append("   }" + LS + LS);
         sb.append("   private static gNewCookie parseNewCookie(gNewCookie.Builder ncb, String s) throws ParseException {" + LS)
                 .append("      String[] fields = s.split(\";\");" + LS)
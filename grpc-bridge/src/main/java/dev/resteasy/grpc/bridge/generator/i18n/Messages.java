@@ -20,6 +20,7 @@ package dev.resteasy.grpc.bridge.generator.i18n;
 
 import java.lang.invoke.MethodHandles;
 
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageBundle;
 
@@ -38,4 +39,13 @@ public interface Messages {
 
     @Message(id = 300, value = "Not found: %s")
     RuntimeException notFound(String filename);
+
+    @Message(id = 400, value = "Unable to load the descriptor of protobuf message %s; is its jar listed in -Djars?")
+    RuntimeException unableToLoadDescriptor(String classname, @Cause Throwable cause);
+
+    @Message(id = 500, value = "Unknown integer encoding %s; allowed values are %s")
+    IllegalArgumentException unknownIntegerEncoding(String encoding, String allowed);
+
+    @Message(id = 600, value = "Unable to resolve the supertypes of %s, so can't tell if it's a protobuf message")
+    RuntimeException unableToResolveSupertypes(String classname, @Cause Throwable cause);
 }
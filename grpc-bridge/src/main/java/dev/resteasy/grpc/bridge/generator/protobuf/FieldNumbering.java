@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.generator.protobuf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Profile guided field numbering, used by {@link JavaToProtobufGenerator} when it's run with {@code -DfieldProfile}
+ * or {@code -DfieldLock}.
+ */
+public final class FieldNumbering {
+
+    private static final String LS = System.lineSeparator();
+    // <indentation><type> <name> = <number>; comments, e.g., "// a = 1;", aren't fields
+    private static final Pattern FIELD_LINE = Pattern.compile("(\\s+)((?!//)\\S.*) (\\w+) = (\\d+);");
+
+    private FieldNumbering() {
+        // restrict instantiation
+    }
+
+    /**
+     * Renumbers the fields of a message. Fields in {@code lock} keep their numbers. The others, most frequently
+     * populated first, get the lowest free numbers, so that the hottest fields get the one byte tags 1 to 15, and
+     * are added to {@code lock}. The numbers of locked fields that no longer exist are reserved, so they are never
+     * reused.
+     *
+     * @param {@code message} name of the message
+     * @param {@code body} the lines of the message definition from its first field up to its closing brace,
+     *        each ending with a line separator
+     * @param {@code lock} frozen field numbers by {@code <message>.<field>}, updated with the fields numbered here
+     * @param {@code profile} counts of populated fields by {@code <message>.<field>}
+     * @return {@code body} with its fields renumbered, followed by its reserved numbers
+     */
+    public static String renumber(String message, String body, Map<String, Integer> lock, Map<String, Long> profile) {
+        String[] lines = body.split(LS, -1);
+        List<String> names = new ArrayList<String>();
+        for (String line : lines) {
+            Matcher matcher = FIELD_LINE.matcher(line);
+            if (matcher.matches()) {
+                names.add(matcher.group(3));
+            }
+        }
+        Map<String, Integer> numbers = new HashMap<String, Integer>();
+        SortedSet<Integer> reserved = new TreeSet<Integer>();
+        Set<Integer> used = new HashSet<Integer>();
+        for (Map.Entry<String, Integer> entry : lock.entrySet()) {
+            if (entry.getKey().startsWith(message + ".")) {
+                String name = entry.getKey().substring(message.length() + 1);
+                used.add(entry.getValue());
+                if (names.contains(name)) {
+                    numbers.put(name, entry.getValue());
+                } else {
+                    reserved.add(entry.getValue());
+                }
+            }
+        }
+        List<String> unlocked = new ArrayList<String>();
+        for (String name : names) {
+            if (!numbers.containsKey(name)) {
+                unlocked.add(name);
+            }
+        }
+        unlocked.sort((n1, n2) -> Long.compare(profile.getOrDefault(message + "." + n2, 0L),
+                profile.getOrDefault(message + "." + n1, 0L)));
+        int next = 1;
+        for (String name : unlocked) {
+            // 19000 to 19999 are reserved by protobuf
+            while (used.contains(next) || (next >= 19000 && next <= 19999)) {
+                next++;
+            }
+            used.add(next);
+            numbers.put(name, next);
+            lock.put(message + "." + name, next);
+        }
+        StringBuilder renumbered = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            Matcher matcher = FIELD_LINE.matcher(lines[i]);
+            if (matcher.matches()) {
+                renumbered.append(matcher.group(1)).append(matcher.group(2)).append(" ").append(matcher.group(3))
+                        .append(" = ").append(numbers.get(matcher.group(3))).append(";");
+            } else {
+                renumbered.append(lines[i]);
+            }
+            if (i < lines.length - 1) {
+                renumbered.append(LS);
+            }
+        }
+        for (Integer number : reserved) {
+            renumbered.append("  reserved ").append(number).append(";" + LS);
+        }
+        return renumbered.toString();
+    }
+}
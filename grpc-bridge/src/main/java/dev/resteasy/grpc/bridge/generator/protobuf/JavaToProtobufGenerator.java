@@ -19,12 +19,17 @@
 package dev.resteasy.grpc.bridge.generator.protobuf;
 
 import static dev.resteasy.grpc.bridge.runtime.Constants.ANY;
+import static dev.resteasy.grpc.bridge.runtime.Constants.RPC_REQUEST;
+import static dev.resteasy.grpc.bridge.runtime.Constants.RPC_RESPONSE;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -37,8 +42,10 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -64,16 +71,21 @@ import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MemberValuePair;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.SimpleName;
 import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.VoidType;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedEnumConstantDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedFieldDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
@@ -93,7 +105,12 @@ import com.github.javaparser.utils.Log;
 import com.github.javaparser.utils.Pair;
 import com.github.javaparser.utils.SourceRoot;
 
+import com.google.protobuf.Descriptors.Descriptor;
+
 import dev.resteasy.grpc.bridge.generator.i18n.Messages;
+import dev.resteasy.grpc.bridge.runtime.DictionaryEncoded;
+import dev.resteasy.grpc.bridge.runtime.IntegerEncoding;
+import dev.resteasy.grpc.bridge.runtime.ReferenceScope;
 import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletRequestImpl;
 
 /**
@@ -253,9 +270,38 @@ import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletRequestImpl;
  * merges the fields of the superclass into the subclass. For example, {@code CC2} is a subclass of {@code CC3},
  * so each instance of {@code io_grpc_examples___CC2} has its own int32 field plus a string field it inherits
  * from {@code type io_grpc_examples___CC3}.
+ * <li>{@code java.time.Instant}, {@code java.time.Duration}, {@code java.time.LocalDate}, {@code java.math.BigInteger},
+ * {@code java.math.BigDecimal} and {@code java.util.UUID} have compact built-in representations. See
+ * {@code dev.resteasy.grpc.bridge.runtime.WellKnownTypes}.
+ * <li>A Java enum is represented by a protobuf enum whose value 0, {@code <enum>___UNSPECIFIED}, stands for null.
+ * The Java constants follow, numbered by their ordinals plus one.
+ * <li>A field declared as an interface or an abstract class with known implementations in the source tree
+ * is represented by a {@code oneof} with a member for each concrete implementation, plus a
+ * {@code google.protobuf.Any} member for implementations that aren't known when the .proto file is generated.
+ * <li>If the generator is run with {@code -Dreferences=true}, the message for each class gets two more fields,
+ * {@code ref___id} and {@code ref___to}, so that an object reachable more than once from a message is sent once.
+ * See {@code dev.resteasy.grpc.bridge.runtime.ReferenceScope}.
+ * <li>A {@code String} field annotated with {@code dev.resteasy.grpc.bridge.runtime.DictionaryEncoded} is sent
+ * in full the first time a value appears in a message, and as an index into the values already sent afterwards.
+ * <li>Integer fields are {@code int32} or {@code int64} by default. {@code -DintegerEncoding=zigzag} or
+ * {@code -DintegerEncoding=fixed} selects {@code sint32/sint64} or {@code sfixed32/sfixed64} instead, and
+ * {@code dev.resteasy.grpc.bridge.runtime.IntegerEncoding} selects the encoding of a single field.
+ * <li>Fields are numbered in declaration order by default. If the generator is run with {@code -DfieldProfile}
+ * or {@code -DfieldLock}, the most frequently populated fields, according to a profile written by
+ * {@code dev.resteasy.grpc.bridge.runtime.FieldUsageProfile} or by hand, get the lowest numbers, and the
+ * numbering is frozen in a lock file, so that it stays the same from one build to the next.
+ * <li>An entity or return type that is already a protobuf message, i.e., implements {@code com.google.protobuf.Message},
+ * is not redefined. The .proto file that defines it is imported, and it is passed through without translation.
  * <li>{@code GeneralEntityMessage} and {@code GeneralReturnMessage} are general purpose classes for conveying
  * entity parameters to the server and responses back to the client. They are defined to hold all possible entity
  * and return types plus a variety of additional fields. For more information, see the User Guide.
+ * The {@code fieldMask} field of {@code GeneralEntityMessage} selects the fields of the response that are
+ * translated and sent, and its {@code updateMask} field selects the fields of a partial entity. See
+ * {@code dev.resteasy.grpc.bridge.runtime.FieldSelection} and {@code dev.resteasy.grpc.bridge.runtime.PartialUpdate}.
+ * <li>If the generator is run with {@code -DperRpcMessages=true}, each rpc {@code m} gets its own request and response
+ * messages, {@code m___rpcRequest} and {@code m___rpcResponse}, in place of {@code GeneralEntityMessage} and
+ * {@code GeneralReturnMessage}. They have the same fields, but their {@code oneof} holds only the entity or
+ * return type of {@code m}.
  * </ol>
  */
 public class JavaToProtobufGenerator {
@@ -263,6 +309,8 @@ public class JavaToProtobufGenerator {
     private static final Logger logger = Logger.getLogger(JavaToProtobufGenerator.class);
     private static final String LS = System.lineSeparator();
     private static final String SSE_EVENT_CLASSNAME = "dev_resteasy_grpc_bridge_runtime_sse___SseEvent";
+    static final String POLYMORPHIC_ONEOF_SUFFIX = "___oneof";
+    static final String DICTIONARY_ONEOF_SUFFIX = "___dict";
 
     private static Map<String, String> JAVA_PRIMITIVE_TO_PROTOBUF_MAP = new HashMap<String, String>();
     private static Map<String, String> PROTUBUF_PRIMITIVE_TO_ARRAY_MAP = new HashMap<String, String>();
@@ -273,8 +321,13 @@ public class JavaToProtobufGenerator {
     private static Map<String, String> JAVA_BUILTIN_TO_PROTOBUF_ARRAYS = new HashMap<String, String>();
     private static Map<String, String> JAVA_COMPONENT_TYPE_TO_ARRAY_PROTO_TYPE = new HashMap<String, String>();
     private static Map<String, String> PRIMITIVE_ARRAY_TYPE = new HashMap<String, String>();
+    private static Map<String, String> JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD = new HashMap<String, String>();
+    private static Map<String, String> JAVA_WELL_KNOWN_TO_MESSAGE_DEF = new HashMap<String, String>();
     private static Set<String> ANNOTATIONS = new HashSet<String>();
     private static Set<String> HTTP_VERBS = new HashSet<String>();
+    private static Set<String> PROTOBUF_MAP_KEY_TYPES = new HashSet<String>();
+    private static Set<String> INTEGER_TYPES = new HashSet<String>();
+    private static Set<String> SMALL_INTEGER_TYPES = new HashSet<String>();
 
     private static String[] args;
     private static String prefix;
@@ -291,14 +344,32 @@ public class JavaToProtobufGenerator {
     // Each newly discovered type is added to pendingTypes for future processing
     private static Set<ResolvedType> pendingTypes = ConcurrentHashMap.newKeySet();
 
-    // Holds entity message types, used to build GeneralEntityMessage
-    private static Set<String> entityMessageTypes = new HashSet<String>();
+    // Non generic concrete classes and records in the source tree, candidate implementations of polymorphic fields
+    private static List<ResolvedReferenceTypeDeclaration> concreteTypes = new ArrayList<ResolvedReferenceTypeDeclaration>();
+
+    // Holds entity message types, used to build GeneralEntityMessage. Sorted, so that the numbering
+    // of the messageType oneof doesn't depend on the order in which types are discovered.
+    private static SortedSet<String> entityMessageTypes = new TreeSet<String>();
 
     // Holds return message types, used to build GeneralReturnMessage
-    private static Set<String> returnMessageTypes = new HashSet<String>();
+    private static SortedSet<String> returnMessageTypes = new TreeSet<String>();
+
+    // Entity and return types that are already protobuf messages: Java class -> protobuf message type,
+    // and the .proto files defining them
+    private static Map<String, String> protobufMessages = new HashMap<String, String>();
+    private static SortedSet<String> protobufImports = new TreeSet<String>();
+    private static ClassLoader protobufClassLoader;
 
     private static Set<String> jars;
     private static Set<String> additionalClasses;// = new CopyOnWriteArraySet<String>();
+    private static boolean references;
+    private static IntegerEncoding.Kind integerEncoding;
+
+    // Used for profile guided field numbering: <message>.<field> -> number of times populated,
+    // and <message>.<field> -> frozen field number. fieldLock is null unless numbering is profile guided.
+    private static Map<String, Long> fieldProfile = new HashMap<String, Long>();
+    private static Map<String, Integer> fieldLock;
+    private static Path fieldLockPath;
     private static Set<String> nonGenericClasses = new HashSet<String>();
     private static Set<String> visited = new HashSet<String>();
     private static JavaSymbolSolver symbolSolver;
@@ -335,6 +406,11 @@ public class JavaToProtobufGenerator {
     // public double same(double d); -> rpc same___1 (GeneralEntityMessage) returns (GeneralReturnMessage);
     private static Set<String> rpcNames = new HashSet<String>();
 
+    // If perRpcMessages is true, each rpc gets its own request and response message instead of
+    // GeneralEntityMessage and GeneralReturnMessage: {rpc name, entity type, return type, sync type}
+    private static boolean perRpcMessages;
+    private static List<String[]> rpcMessageTypes = new ArrayList<String[]>();
+
     // Stores protobuf names of previously processed classes
     private static Map<String, String> classnameMap = new ConcurrentHashMap<String, String>();
 
@@ -372,6 +448,9 @@ public class JavaToProtobufGenerator {
             + "message dev_resteasy_grpc_arrays___ArrayHolder___WArray {%n"
             + "   string componentType = 1;%n"
             + "   repeated dev_resteasy_grpc_arrays___ArrayHolder___wrapper wrapper___field = 2;%n"
+            + "   // Arrays of primitive arrays: length of each row (-1 for null), and all rows, little-endian%n"
+            + "   repeated sint32 row_lengths = 3;%n"
+            + "   bytes packed_values = 4;%n"
             + "}%n%n";
 
     private static String LIST_DEF = "// List: java.util.List<java.lang.Object>%n"
@@ -379,6 +458,8 @@ public class JavaToProtobufGenerator {
             + "  string classname = 1;%n"
             + "  //java.lang.Object%n"
             + "  repeated google.protobuf.Any data = 2;%n"
+            + "  string type_url = 3;%n"
+            + "  repeated bytes payload = 4;%n"
             + "}%n%n";
 
     private static String SET_DEF = "// Set: java.util.Set<java.lang.Object>%n"
@@ -386,6 +467,8 @@ public class JavaToProtobufGenerator {
             + "  string classname = 1;%n"
             + "  //java.lang.Object%n"
             + "  repeated google.protobuf.Any data = 2;%n"
+            + "  string type_url = 3;%n"
+            + "  repeated bytes payload = 4;%n"
             + "}%n%n";
 
     private static String MAP_DEF = "// Map: java.util.Map<java.lang.Object, java.lang.Object>%n"
@@ -415,6 +498,8 @@ public class JavaToProtobufGenerator {
             + "  string classname = 1;%n"
             + "  //java.lang.Object%n"
             + "  repeated google.protobuf.Any data = 2;%n"
+            + "  string type_url = 3;%n"
+            + "  repeated bytes payload = 4;%n"
             + "}%n%n";
 
     private static String HASHSET_DEF = "// Set: java.util.HashSet<java.lang.Object>%n"
@@ -422,6 +507,8 @@ public class JavaToProtobufGenerator {
             + "  string classname = 1;%n"
             + "  //java.lang.Object%n"
             + "  repeated google.protobuf.Any data = 2;%n"
+            + "  string type_url = 3;%n"
+            + "  repeated bytes payload = 4;%n"
             + "}%n%n";
 
     private static String HASHMAP_DEF = "// Map: java.util.MashMap<java.lang.Object, java.lang.Object>%n"
@@ -435,6 +522,18 @@ public class JavaToProtobufGenerator {
             + "  repeated Pair data = 4;%n"
             + "}%n%n";
 
+    private static String BIG_DECIMAL_DEF = "// Type: java.math.BigDecimal%n"
+            + "message java_math___BigDecimal {%n"
+            + "  bytes unscaledValue = 1;%n"
+            + "  int32 scale = 2;%n"
+            + "}%n";
+
+    private static String UUID_DEF = "// Type: java.util.UUID%n"
+            + "message java_util___UUID {%n"
+            + "  fixed64 mostSignificantBits = 1;%n"
+            + "  fixed64 leastSignificantBits = 2;%n"
+            + "}%n";
+
     private static String MULTIMAP_IMPL_DEF = "// Multimap: jakarta.ws.rs.core.MultivaluedHashMap<java.lang.Object, java.lang.Object>%n"
             + "message jakarta_ws_rs_core___MultivaluedHashMap {%n"
             + "  string classname = 1;%n"
@@ -447,6 +546,28 @@ public class JavaToProtobufGenerator {
             + "}%n%n";
 
     static {
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.Boolean");
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.Byte");
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.Short");
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.Integer");
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.Long");
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.Character");
+        PROTOBUF_MAP_KEY_TYPES.add("java.lang.String");
+
+        SMALL_INTEGER_TYPES.add("byte");
+        SMALL_INTEGER_TYPES.add("short");
+        SMALL_INTEGER_TYPES.add("Byte");
+        SMALL_INTEGER_TYPES.add("Short");
+        SMALL_INTEGER_TYPES.add("java.lang.Byte");
+        SMALL_INTEGER_TYPES.add("java.lang.Short");
+        INTEGER_TYPES.addAll(SMALL_INTEGER_TYPES);
+        INTEGER_TYPES.add("int");
+        INTEGER_TYPES.add("long");
+        INTEGER_TYPES.add("Integer");
+        INTEGER_TYPES.add("Long");
+        INTEGER_TYPES.add("java.lang.Integer");
+        INTEGER_TYPES.add("java.lang.Long");
+
         JAVA_PRIMITIVE_TO_PROTOBUF_MAP.put("boolean", "bool");
         JAVA_PRIMITIVE_TO_PROTOBUF_MAP.put("byte", "int32");
         JAVA_PRIMITIVE_TO_PROTOBUF_MAP.put("short", "int32");
@@ -529,6 +650,14 @@ public class JavaToProtobufGenerator {
         JAVA_BUILTIN_TO_PROTOBUF_FIELD.put("java.lang.Character", "int32");
         JAVA_BUILTIN_TO_PROTOBUF_FIELD.put("java.lang.String", "string");
 
+        JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD.put("java.time.Instant", "google.protobuf.Timestamp");
+        JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD.put("java.time.Duration", "google.protobuf.Duration");
+        JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD.put("java.time.LocalDate", "optional int64");
+        JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD.put("java.math.BigInteger", "bytes");
+
+        JAVA_WELL_KNOWN_TO_MESSAGE_DEF.put("java.math.BigDecimal", BIG_DECIMAL_DEF);
+        JAVA_WELL_KNOWN_TO_MESSAGE_DEF.put("java.util.UUID", UUID_DEF);
+
         PRIMITIVE_WRAPPER_DEFINITIONS.put("Boolean", "message gBoolean   {bool   value = $V$;}");
         PRIMITIVE_WRAPPER_DEFINITIONS.put("Byte", "message gByte      {int32  value = $V$;}");
         PRIMITIVE_WRAPPER_DEFINITIONS.put("Short", "message gShort     {int32  value = $V$;}");
@@ -649,6 +778,11 @@ public class JavaToProtobufGenerator {
             logger.info("  arg[3]: java outer classname to be generated from .proto file");
             logger.info("  -Djars: comma separated of jars [optional]");
             logger.info("  -Dclasses: comma separated of addition classes [optional]");
+            logger.info("  -Dreferences: true to preserve shared and cyclic references [optional]");
+            logger.info("  -DintegerEncoding: varint, zigzag or fixed [optional]");
+            logger.info("  -DfieldProfile: file of <message>.<field>=<count> used to number fields [optional]");
+            logger.info("  -DfieldLock: file of frozen field numbers, default <arg[0]>/<arg[3]>.fieldlock [optional]");
+            logger.info("  -DperRpcMessages: true to generate a request and response message for each rpc [optional]");
             return;
         }
         JavaToProtobufGenerator.args = args;
@@ -662,6 +796,10 @@ public class JavaToProtobufGenerator {
         additionalClasses = "default".equals(s) || "".equals(s)
                 ? new CopyOnWriteArraySet<String>()
                 : new CopyOnWriteArraySet<String>(Arrays.asList(s.split(",")));
+        references = Boolean.getBoolean("references");
+        integerEncoding = readIntegerEncoding();
+        readFieldProfile(args);
+        perRpcMessages = Boolean.getBoolean("perRpcMessages");
         StringBuilder sb = new StringBuilder();
         protobufHeader(args, sb);
         new JavaToProtobufGenerator().processClasses(args, sb);
@@ -675,9 +813,11 @@ public class JavaToProtobufGenerator {
         }
         finishProto(sb);
         writeProtoFile(args, sb);
+        writeFieldLock();
         createProtobufDirectory(args);
         writeEntityTypesFile(args);
         writeNormalizer(args);
+        writeProtobufMessages(args);
     }
 
     private static void protobufHeader(String[] args, StringBuilder sb) {
@@ -686,6 +826,8 @@ public class JavaToProtobufGenerator {
         sb.append("import \"google/protobuf/any.proto\";" + LS);
         sb.append("import \"google/protobuf/empty.proto\";" + LS);
         sb.append("import \"google/protobuf/timestamp.proto\";" + LS);
+        sb.append("import \"google/protobuf/duration.proto\";" + LS);
+        sb.append("import \"google/protobuf/field_mask.proto\";" + LS);
         sb.append("import \"dev/resteasy/grpc/arrays/arrays.proto\";" + LS);
         sb.append("option java_package = \"" + args[2] + "\";" + LS);
         sb.append("option java_outer_classname = \"" + args[3] + "_proto\";" + LS);
@@ -717,6 +859,11 @@ public class JavaToProtobufGenerator {
             TV[i] = new ReflectionTypeParameter(Dummy.class.getTypeParameters()[i], false, combinedTypeSolver);
         }
         List<ParseResult<CompilationUnit>> list = sourceRoot.tryToParse();
+        for (ParseResult<CompilationUnit> p : list) {
+            if (p.getResult().isPresent()) {
+                findConcreteTypes(p.getResult().get());
+            }
+        }
         for (ParseResult<CompilationUnit> p : list) {
             jakartaRESTResourceVisitor.visit(p.getResult().get(), sb);
         }
@@ -730,6 +877,45 @@ public class JavaToProtobufGenerator {
     /*********************** primary methods *****************************/
     /*********************************************************************/
 
+    /*
+     * Collects the classes and records that can stand in for a field declared as an interface or abstract
+     * class. Local and inner classes can't be instantiated by a translator, and Jakarta REST resources are
+     * not entities, so none of them are candidates.
+     */
+    private static void findConcreteTypes(CompilationUnit cu) {
+        for (ClassOrInterfaceDeclaration c : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+            if (!c.isInterface() && !c.isAbstract() && c.getTypeParameters().isEmpty() && !c.isLocalClassDeclaration()
+                    && !c.isInnerClass() && !isResource(c)) {
+                addConcreteType(c);
+            }
+        }
+        for (RecordDeclaration r : cu.findAll(RecordDeclaration.class)) {
+            if (r.getTypeParameters().isEmpty()) {
+                addConcreteType(r);
+            }
+        }
+    }
+
+    private static boolean isResource(ClassOrInterfaceDeclaration c) {
+        if (c.getAnnotationByName("Path").isPresent()) {
+            return true;
+        }
+        for (MethodDeclaration md : c.getMethods()) {
+            if (isResourceOrLocatorMethod(md)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addConcreteType(TypeDeclaration<?> td) {
+        try {
+            concreteTypes.add(td.resolve());
+        } catch (RuntimeException e) {
+            logger.debug(e.getMessage());
+        }
+    }
+
     private static void processAdditionalClasses(JavaSymbolSolver symbolSolver, StringBuilder sb) throws FileNotFoundException {
         StaticJavaParser.getConfiguration().setSymbolResolver(symbolSolver);
         StaticJavaParser.getConfiguration().setLanguageLevel(LanguageLevel.JAVA_17);
@@ -777,6 +963,7 @@ public class JavaToProtobufGenerator {
         returnMessageTypes.add("java_util___HashSet");
         createGeneralEntityMessageType(sb);
         createGeneralReturnMessageType(sb);
+        importProtobufMessages(sb);
         if (needList) {
             sb.append(String.format(LIST_DEF));
         }
@@ -849,22 +1036,33 @@ public class JavaToProtobufGenerator {
         sb.append(LS + LS + "message FormMap {" + LS)
                 .append("   map<string, FormValues> formMap_field = ").append(counter++).append(";" + LS)
                 .append("}");
+        if (!perRpcMessages) {
+            createEntityMessageType(sb, "GeneralEntityMessage", entityMessageTypes);
+            return;
+        }
+        for (String[] rpc : rpcMessageTypes) {
+            createEntityMessageType(sb, rpc[0] + RPC_REQUEST, Set.of(rpc[1]));
+        }
+    }
+
+    private static void createEntityMessageType(StringBuilder sb, String name, Set<String> messageTypes) {
         counter = 1;
-        sb.append(LS + LS + "message GeneralEntityMessage {" + LS)
-                .append("   ServletInfo servletInfo = ").append(counter++).append(";" + LS)
+        sb.append(LS + LS + "message ").append(name).append(" {" + LS);
+        int body = sb.length();
+        sb.append("   ServletInfo servletInfo = ").append(counter++).append(";" + LS)
                 .append("   string URL = ").append(counter++).append(";" + LS)
                 .append("   map<string, gHeader> headers = ").append(counter++).append(";" + LS)
                 .append("   repeated gCookie cookies = ").append(counter++).append(";" + LS)
                 .append("   string httpMethod = ").append(counter++).append(";" + LS)
                 .append("   oneof messageType {" + LS);
-        for (String messageType : entityMessageTypes) {
+        for (String messageType : messageTypes) {
             if (ANY.equals(messageType)) {
                 continue;
             }
             String simpleMessageType = messageType.contains(".") ? messageType.substring(messageType.lastIndexOf('.') + 1)
                     : messageType;
             sb.append("      ")
-                    .append(messageType)
+                    .append(protobufMessages.getOrDefault(messageType, messageType))
                     .append(" ")
                     .append(namify(simpleMessageType)).append("_field")
                     .append(" = ")
@@ -874,31 +1072,55 @@ public class JavaToProtobufGenerator {
         sb.append("      dev_resteasy_grpc_arrays___ArrayHolder dev_resteasy_grpc_arrays___ArrayHolder_field = ")
                 .append(counter++).append(";" + LS);
         sb.append("      FormMap form_field = ").append(counter++).append(";" + LS);
-        sb.append("   }" + LS + "}" + LS);
+        sb.append("   }" + LS);
+        sb.append("   google.protobuf.FieldMask fieldMask = ").append(counter++).append(";" + LS);
+        sb.append("   google.protobuf.FieldMask updateMask = ").append(counter++).append(";" + LS);
+        numberFields(name, sb, body);
+        sb.append("}" + LS);
     }
 
     private static void createGeneralReturnMessageType(StringBuilder sb) {
+        if (!perRpcMessages) {
+            createReturnMessageType(sb, "GeneralReturnMessage", returnMessageTypes);
+            return;
+        }
+        for (String[] rpc : rpcMessageTypes) {
+            if (!"sse".equals(rpc[3])) {
+                createReturnMessageType(sb, rpc[0] + RPC_RESPONSE, Set.of(rpc[2]));
+            }
+        }
+    }
+
+    private static void createReturnMessageType(StringBuilder sb, String name, Set<String> messageTypes) {
         counter = 1;
-        sb.append(LS + "message GeneralReturnMessage {" + LS)
-                .append("   map<string, gHeader> headers = ").append(counter++).append(";" + LS)
+        sb.append(LS + "message ").append(name).append(" {" + LS);
+        int body = sb.length();
+        sb.append("   map<string, gHeader> headers = ").append(counter++).append(";" + LS)
                 .append("   repeated gNewCookie cookies = ").append(counter++).append(";" + LS)
-                .append("   int32 status = ").append(counter++).append(";" + LS)
-                .append("   oneof messageType {" + LS);
-        for (String messageType : returnMessageTypes) {
+                .append("   int32 status = ").append(counter++).append(";" + LS);
+        if (messageTypes.contains(ANY) && messageTypes.size() == 1) {
+            numberFields(name, sb, body);
+            sb.append("}" + LS);
+            return;
+        }
+        sb.append("   oneof messageType {" + LS);
+        for (String messageType : messageTypes) {
             if (ANY.equals(messageType)) {
                 continue;
             }
             String simpleMessageType = messageType.contains(".") ? messageType.substring(messageType.lastIndexOf('.') + 1)
                     : messageType;
             sb.append("      ")
-                    .append(messageType)
+                    .append(protobufMessages.getOrDefault(messageType, messageType))
                     .append(" ")
                     .append(namify(simpleMessageType)).append("_field")
                     .append(" = ")
                     .append(counter++)
                     .append(";" + LS);
         }
-        sb.append("   }" + LS + "}" + LS);
+        sb.append("   }" + LS);
+        numberFields(name, sb, body);
+        sb.append("}" + LS);
     }
 
     private static void writeProtoFile(String[] args, StringBuilder sb) throws IOException {
@@ -917,6 +1139,118 @@ public class JavaToProtobufGenerator {
         logger.debug("done");
     }
 
+    private static IntegerEncoding.Kind readIntegerEncoding() {
+        String encoding = System.getProperty("integerEncoding", "varint");
+        try {
+            return IntegerEncoding.Kind.valueOf(encoding.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw Messages.MESSAGES.unknownIntegerEncoding(encoding, allowedIntegerEncodings());
+        }
+    }
+
+    /**
+     * Reads the value of an {@code @IntegerEncoding} annotation, written either as {@code @IntegerEncoding(Kind.FIXED)}
+     * or as {@code @IntegerEncoding(value = Kind.FIXED)}, with the constant qualified or not.
+     *
+     * @param {@code annotation} an {@code @IntegerEncoding} annotation
+     * @return the encoding it selects, or null if it has no value
+     * @throws IllegalArgumentException if the value isn't a constant of {@code IntegerEncoding.Kind}
+     */
+    public static IntegerEncoding.Kind integerEncoding(AnnotationExpr annotation) {
+        Expression value = null;
+        if (annotation.isSingleMemberAnnotationExpr()) {
+            value = annotation.asSingleMemberAnnotationExpr().getMemberValue();
+        } else if (annotation.isNormalAnnotationExpr()) {
+            for (MemberValuePair pair : annotation.asNormalAnnotationExpr().getPairs()) {
+                if ("value".equals(pair.getNameAsString())) {
+                    value = pair.getValue();
+                }
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        String name = value.toString();
+        for (IntegerEncoding.Kind kind : IntegerEncoding.Kind.values()) {
+            if (kind.name().equals(name.substring(name.lastIndexOf('.') + 1))) {
+                return kind;
+            }
+        }
+        throw Messages.MESSAGES.unknownIntegerEncoding(name, allowedIntegerEncodings());
+    }
+
+    private static String allowedIntegerEncodings() {
+        StringBuilder allowed = new StringBuilder();
+        for (IntegerEncoding.Kind kind : IntegerEncoding.Kind.values()) {
+            allowed.append(allowed.length() == 0 ? "" : ", ").append(kind.name().toLowerCase());
+        }
+        return allowed.toString();
+    }
+
+    /*
+     * Profile guided field numbering is on if either -DfieldProfile or -DfieldLock is set.
+     */
+    private static void readFieldProfile(String[] args) throws IOException {
+        String profile = System.getProperty("fieldProfile");
+        String lock = System.getProperty("fieldLock");
+        if (profile == null && lock == null) {
+            return;
+        }
+        if (profile != null) {
+            for (Map.Entry<String, String> entry : readProperties(Path.of(profile)).entrySet()) {
+                fieldProfile.put(entry.getKey(), Long.parseLong(entry.getValue().trim()));
+            }
+        }
+        // not in src/main/proto, where protoc would pick it up along with the .proto files
+        fieldLockPath = lock != null ? Path.of(lock) : Path.of(args[0], args[3] + ".fieldlock");
+        fieldLock = new TreeMap<String, Integer>();
+        if (Files.exists(fieldLockPath)) {
+            for (Map.Entry<String, String> entry : readProperties(fieldLockPath).entrySet()) {
+                fieldLock.put(entry.getKey(), Integer.parseInt(entry.getValue().trim()));
+            }
+        }
+    }
+
+    private static Map<String, String> readProperties(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw Messages.MESSAGES.notFound(path.toString());
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> map = new HashMap<String, String>();
+        for (String name : properties.stringPropertyNames()) {
+            map.put(name, properties.getProperty(name));
+        }
+        return map;
+    }
+
+    /*
+     * Renumbers the fields of the message whose body starts at sb[body]; see FieldNumbering.
+     */
+    private static void numberFields(String message, StringBuilder sb, int body) {
+        if (fieldLock == null) {
+            return;
+        }
+        sb.replace(body, sb.length(), FieldNumbering.renumber(message, sb.substring(body), fieldLock, fieldProfile));
+    }
+
+    private static void writeFieldLock() throws IOException {
+        if (fieldLock == null) {
+            return;
+        }
+        if (fieldLockPath.getParent() != null) {
+            Files.createDirectories(fieldLockPath.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(fieldLockPath, StandardCharsets.UTF_8)) {
+            writer.write("# Field numbers frozen by JavaToProtobufGenerator. Keep this file under version control." + LS);
+            for (Map.Entry<String, Integer> entry : fieldLock.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + LS);
+            }
+        }
+    }
+
     private static void createProtobufDirectory(String[] args) {
         String path = args[0] + "/target/generatedSources";
         for (String s : args[1].split("\\.")) {
@@ -1011,6 +1345,20 @@ public class JavaToProtobufGenerator {
         }
     }
 
+    /*
+     * The protobuf messages used as is by resource methods, which JavabufTranslatorGenerator lets through untranslated.
+     */
+    private static void writeProtobufMessages(String[] args) throws IOException {
+        Path path = Path.of(args[0], "/target");
+        Files.createDirectories(path);
+        File file = new File(path.toString() + "/protobufMessages");
+        try (FileWriter writer = new FileWriter(file)) {
+            for (String type : protobufMessages.keySet()) {
+                writer.write(type + LS);
+            }
+        }
+    }
+
     /****************************************************************************/
     /********************************** classes *********************************/
     /****************************************************************************/
@@ -1078,13 +1426,18 @@ public class JavaToProtobufGenerator {
                             .append(httpMethod).append(" ")
                             .append(syncType).append("" + LS);
 
+                    String rpcName = getRpcName(rpcNames, md.getNameAsString());
+                    if (perRpcMessages) {
+                        rpcMessageTypes.add(new String[] { rpcName, entityType, returnType, syncType });
+                    }
                     sb.append("  rpc ")
-                            .append(getRpcName(rpcNames, md.getNameAsString()))
+                            .append(rpcName)
                             .append(" (")
-                            .append("GeneralEntityMessage")
+                            .append(perRpcMessages ? rpcName + RPC_REQUEST : "GeneralEntityMessage")
                             .append(") returns (")
                             .append("sse".equals(syncType) ? "stream " : "")
-                            .append("sse".equals(syncType) ? SSE_EVENT_CLASSNAME : "GeneralReturnMessage")
+                            .append("sse".equals(syncType) ? SSE_EVENT_CLASSNAME
+                                    : perRpcMessages ? rpcName + RPC_RESPONSE : "GeneralReturnMessage")
                             .append(");" + LS);
 
                     // Add each parameter and return type to resolvedTypes for further processing.
@@ -1099,6 +1452,9 @@ public class JavaToProtobufGenerator {
                             continue;
                         }
                         ReferenceTypeImpl rt = (ReferenceTypeImpl) p.getType().resolve();
+                        if (protobufMessages.containsKey(rt.getQualifiedName())) {
+                            continue;
+                        }
                         ResolvedType objectified = objectify(rt);
                         if (!visited.contains(objectified.describe())) {
                             pendingTypes.add(objectified);
@@ -1173,6 +1529,14 @@ public class JavaToProtobufGenerator {
                 visitRecord(resolvedType, sb);
                 return;
             }
+            if (clazz.getTypeDeclaration().get().isEnum()) {
+                visitEnum(resolvedType, sb);
+                return;
+            }
+            if (JAVA_WELL_KNOWN_TO_MESSAGE_DEF.containsKey(clazz.describe())) {
+                sb.append(LS).append(String.format(JAVA_WELL_KNOWN_TO_MESSAGE_DEF.get(clazz.describe())));
+                return;
+            }
             if (JAVA_BUILTIN_TO_PROTOBUF_FIELD.containsKey(clazz.describe())) {
                 return;
             }
@@ -1195,9 +1559,10 @@ public class JavaToProtobufGenerator {
             } else if ("java.lang.Object".equals(objectified.describe())) {
                 return;
             }
+            String javabufName = null;
             if (start) {
                 String innerClass = isInnerClass(resolvedType.asReferenceType().getTypeDeclaration().get());
-                String javabufName = fqnifyClass(objectified, innerClass);
+                javabufName = fqnifyClass(objectified, innerClass);
                 if (!isList && !isSet && !isMap) {
                     sb.append(LS).append("// Type: ").append(objectified.describe());
                 }
@@ -1220,6 +1585,7 @@ public class JavaToProtobufGenerator {
                     needMultiHashMap = false;
                 }
             }
+            int body = sb.length();
             Set<String> fieldNames = new HashSet<String>();
 
             // Handle set or list
@@ -1237,7 +1603,7 @@ public class JavaToProtobufGenerator {
                 sb.append("  string classname = ")
                         .append(counter++)
                         .append(";" + LS);
-                visitMap(objectified, sb);
+                visitMap(objectified, !isMultiMap, sb);
                 if (start) {
                     sb.append("}" + LS);
                 }
@@ -1247,7 +1613,7 @@ public class JavaToProtobufGenerator {
                 sb.append("  string classname = ")
                         .append(counter++)
                         .append(";" + LS);
-                visitMap(objectified, sb);
+                visitMap(objectified, false, sb);
                 if (start) {
                     sb.append("}" + LS);
                 }
@@ -1261,9 +1627,14 @@ public class JavaToProtobufGenerator {
             }
             // Scan all variables in class.
             for (ResolvedFieldDeclaration rfd : clazz.getDeclaredFields()) {
-                visitField(clazz, rfd.getType(), rfd.asField().getName(), sb, fieldNames);
+                visitField(clazz, rfd.getType(), rfd.asField().getName(), getFieldDeclaration(rfd), sb, fieldNames);
             }
             if (start) {
+                if (references) {
+                    sb.append("  int32 ").append(ReferenceScope.ID_FIELD).append(" = ").append(counter++).append(";" + LS)
+                            .append("  int32 ").append(ReferenceScope.TO_FIELD).append(" = ").append(counter++).append(";" + LS);
+                }
+                numberFields(javabufName, sb, body);
                 sb.append("}" + LS);
             }
         }
@@ -1372,6 +1743,11 @@ public class JavaToProtobufGenerator {
         }
         sb.append("  //").append(rt.describe()).append(LS)
                 .append("  repeated ").append(fqn).append(" data = ").append(counter++).append(";" + LS);
+        if ("google.protobuf.Any".equals(fqn)) {
+            // homogeneous elements: one type URL, followed by the serialized elements
+            sb.append("  string type_url = ").append(counter++).append(";" + LS)
+                    .append("  repeated bytes payload = ").append(counter++).append(";" + LS);
+        }
     }
 
     private static void visitRecord(ResolvedType resolvedType, StringBuilder sb) {
@@ -1381,15 +1757,49 @@ public class JavaToProtobufGenerator {
         String innerClass = isInnerClass(resolvedType.asReferenceType().getTypeDeclaration().get());
         String javabufName = fqnifyClass(resolvedType, innerClass);
         sb.append(LS).append("message ").append(javabufName).append(" {" + LS);
+        int body = sb.length();
         NodeList<Parameter> nl = rd.getParameters();
         Set<String> fieldNames = new HashSet<String>();
         for (Parameter p : nl) {
-            visitField(clazz, p.resolve().getType(), p.getNameAsString(), sb, fieldNames);
+            visitField(clazz, p.resolve().getType(), p.getNameAsString(), p, sb, fieldNames);
         }
+        numberFields(javabufName, sb, body);
         sb.append("}" + LS);
     }
 
-    private static void visitMap(ResolvedType resolvedType, StringBuilder sb) {
+    /*
+     * A Java enum becomes a protobuf enum whose values are numbered by ordinal plus one. Value 0, the default
+     * of an unset enum field, is reserved for null. Protobuf enum values share the scope of their enum type,
+     * so each value name is prefixed with the enum name.
+     */
+    private static void visitEnum(ResolvedType resolvedType, StringBuilder sb) {
+        ResolvedReferenceTypeDeclaration rrtd = resolvedType.asReferenceType().getTypeDeclaration().get();
+        String javabufName = fqnifyClass(resolvedType, isInnerClass(rrtd));
+        sb.append(LS).append("// Enum: ").append(resolvedType.describe())
+                .append(LS).append("enum ").append(javabufName).append(" {" + LS);
+        Set<String> names = new HashSet<String>();
+        for (ResolvedEnumConstantDeclaration constant : rrtd.asEnum().getEnumConstants()) {
+            names.add(constant.getName());
+        }
+        String unspecified = "UNSPECIFIED";
+        while (names.contains(unspecified)) {
+            unspecified += "_";
+        }
+        sb.append("  ").append(javabufName).append("___").append(unspecified).append(" = 0;" + LS);
+        int number = 1;
+        for (ResolvedEnumConstantDeclaration constant : rrtd.asEnum().getEnumConstants()) {
+            sb.append("  ").append(javabufName).append("___").append(constant.getName())
+                    .append(" = ").append(number++).append(";" + LS);
+        }
+        sb.append("}" + LS);
+    }
+
+    /*
+     * A map with a key type that protobuf allows as a map key and a value type other than
+     * google.protobuf.Any is represented by a native protobuf map field. Otherwise, it's
+     * represented by a repeated field of key/value pairs.
+     */
+    private static void visitMap(ResolvedType resolvedType, boolean nativeMap, StringBuilder sb) {
         Pair<ResolvedTypeParameterDeclaration, ResolvedType> pairKey = getParameterType(resolvedType, 0);
         ResolvedType rtKey = pairKey.b;
         if (rtKey.isReference()) {
@@ -1411,6 +1821,11 @@ public class JavaToProtobufGenerator {
             pendingTypes.add(rtValue.asReferenceType());
         }
         sb.append("  //").append(rtKey.describe()).append("->").append(rtValue.describe()).append(LS);
+        if (nativeMap && PROTOBUF_MAP_KEY_TYPES.contains(rtKey.describe()) && !"google.protobuf.Any".equals(fqnValue)) {
+            sb.append("  map<").append(fqnKey).append(", ").append(fqnValue).append("> data = ").append(counter++)
+                    .append(";" + LS);
+            return;
+        }
         sb.append("  message Pair {" + LS)
                 .append("    ").append(fqnKey).append(" key = ").append(counter++).append(";" + LS)
                 .append("    ").append(fqnValue).append(" value = ").append(counter++).append(";" + LS)
@@ -1491,8 +1906,11 @@ public class JavaToProtobufGenerator {
         return fqn;
     }
 
-    private static void visitField(ResolvedReferenceType clazz, ResolvedType rt, String fieldName, StringBuilder sb,
-            Set<String> fieldNames) {
+    /*
+     * The declaration, if there is one, is the source of the field's annotations.
+     */
+    private static void visitField(ResolvedReferenceType clazz, ResolvedType rt, String fieldName,
+            NodeWithAnnotations<?> declaration, StringBuilder sb, Set<String> fieldNames) {
         String type = null;
         if ("$assertionsDisabled".equals(rt.describe())) {
             return;
@@ -1504,16 +1922,25 @@ public class JavaToProtobufGenerator {
             return;
         }
         if (JAVA_PRIMITIVE_TO_PROTOBUF_MAP.containsKey(rt.describe())) {
-            type = JAVA_PRIMITIVE_TO_PROTOBUF_MAP.get(rt.describe());
+            type = encodeInteger(rt.describe(), JAVA_PRIMITIVE_TO_PROTOBUF_MAP.get(rt.describe()), declaration);
         } else if (JAVA_BUILTIN_TO_PROTOBUF_FIELD.containsKey(rt.describe())) {
-            type = JAVA_BUILTIN_TO_PROTOBUF_FIELD.get(rt.describe());
+            type = encodeInteger(rt.describe(), JAVA_BUILTIN_TO_PROTOBUF_FIELD.get(rt.describe()), declaration);
+        } else if (JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD.containsKey(rt.describe())) {
+            type = JAVA_WELL_KNOWN_TO_PROTOBUF_FIELD.get(rt.describe());
         } else if (rt instanceof ResolvedArrayType) {
             type = visitArray(rt);
             if (type == null) {
                 return;
             }
         } else { // Defined type
-            if (rt.isReferenceType()) {
+            if (rt.isReferenceType() && isEnum(rt)) {
+                type = visitReferenceType(rt);
+            } else if (rt.isReferenceType()) {
+                List<ResolvedReferenceType> implementations = getImplementations(rt.asReferenceType());
+                if (!implementations.isEmpty()) {
+                    visitPolymorphicField(implementations, fieldName, sb, fieldNames);
+                    return;
+                }
                 ResolvedType objectifiedField = objectify(rt.asReferenceType());
                 type = visitReferenceType(objectifiedField);
                 if (isSetOrList(rt.asReferenceType())) {
@@ -1535,7 +1962,10 @@ public class JavaToProtobufGenerator {
                 }
             }
         }
-        if (type != null) {
+        if ("string".equals(type) && declaration != null
+                && declaration.isAnnotationPresent(DictionaryEncoded.class.getSimpleName())) {
+            visitDictionaryField(fieldName, sb, fieldNames);
+        } else if (type != null) {
             sb.append("  ")
                     .append(type)
                     .append(" ")
@@ -1546,9 +1976,109 @@ public class JavaToProtobufGenerator {
         }
     }
 
+    /*
+     * A String field annotated with @DictionaryEncoded becomes a oneof holding either the value, the
+     * first time it appears in a message, or the index of that first appearance afterwards.
+     */
+    private static void visitDictionaryField(String fieldName, StringBuilder sb, Set<String> fieldNames) {
+        sb.append("  oneof ").append(getFieldName(fieldNames, fieldName + DICTIONARY_ONEOF_SUFFIX)).append(" {" + LS)
+                .append("    string ").append(getFieldName(fieldNames, fieldName)).append(" = ").append(counter++)
+                .append(";" + LS)
+                .append("    int32 ").append(getFieldName(fieldNames, fieldName + "___index")).append(" = ").append(counter++)
+                .append(";" + LS)
+                .append("  }" + LS);
+    }
+
+    /*
+     * A field declared as an interface or abstract class becomes a oneof with a member for
+     * each known implementation. The google.protobuf.Any member holds any other implementation.
+     */
+    private static void visitPolymorphicField(List<ResolvedReferenceType> implementations, String fieldName, StringBuilder sb,
+            Set<String> fieldNames) {
+        sb.append("  oneof ").append(getFieldName(fieldNames, fieldName + POLYMORPHIC_ONEOF_SUFFIX)).append(" {" + LS);
+        for (ResolvedReferenceType implementation : implementations) {
+            String type = visitReferenceType(implementation);
+            String name = fieldName + "___" + implementation.getTypeDeclaration().get().getName();
+            sb.append("    ").append(type)
+                    .append(" ").append(getFieldName(fieldNames, name))
+                    .append(" = ").append(counter++)
+                    .append(";" + LS);
+        }
+        sb.append("    google.protobuf.Any ").append(getFieldName(fieldNames, fieldName))
+                .append(" = ").append(counter++)
+                .append(";" + LS)
+                .append("  }" + LS);
+    }
+
     /*************************************************/
     /*************** utility methods *****************/
     /*************************************************/
+
+    /*
+     * Returns the known concrete implementations of rt, if rt is an interface or abstract class
+     * declared in the source tree. That includes the permitted subtypes of a sealed type.
+     */
+    private static List<ResolvedReferenceType> getImplementations(ResolvedReferenceType rt) {
+        List<ResolvedReferenceType> implementations = new ArrayList<ResolvedReferenceType>();
+        Optional<ResolvedReferenceTypeDeclaration> opt = rt.getTypeDeclaration();
+        if (opt.isEmpty() || !isPolymorphic(opt.get())) {
+            return implementations;
+        }
+        String qualifiedName = opt.get().getQualifiedName();
+        for (ResolvedReferenceTypeDeclaration candidate : concreteTypes) {
+            try {
+                for (ResolvedReferenceType ancestor : candidate.getAllAncestors()) {
+                    if (qualifiedName.equals(ancestor.getQualifiedName())) {
+                        implementations.add(new ReferenceTypeImpl(candidate));
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Unresolvable ancestor: not a candidate
+                logger.debug(e.getMessage());
+            }
+        }
+        return implementations;
+    }
+
+    private static boolean isPolymorphic(ResolvedReferenceTypeDeclaration rrtd) {
+        Optional<Node> node = rrtd.toAst();
+        if (node.isEmpty() || !(node.get() instanceof ClassOrInterfaceDeclaration)) {
+            return false;
+        }
+        ClassOrInterfaceDeclaration c = (ClassOrInterfaceDeclaration) node.get();
+        return c.getTypeParameters().isEmpty() && (c.isInterface() || c.isAbstract());
+    }
+
+    private static NodeWithAnnotations<?> getFieldDeclaration(ResolvedFieldDeclaration rfd) {
+        Optional<Node> node = rfd.toAst();
+        return node.isPresent() && node.get() instanceof FieldDeclaration ? (FieldDeclaration) node.get() : null;
+    }
+
+    /*
+     * Applies the IntegerEncoding of a field, or the default one, to the protobuf type chosen for its Java type.
+     */
+    private static String encodeInteger(String javaType, String type, NodeWithAnnotations<?> declaration) {
+        if (!INTEGER_TYPES.contains(javaType)) {
+            return type;
+        }
+        IntegerEncoding.Kind kind = integerEncoding;
+        Optional<AnnotationExpr> annotation = declaration == null ? Optional.empty()
+                : declaration.getAnnotationByName(IntegerEncoding.class.getSimpleName());
+        IntegerEncoding.Kind annotated = annotation.isPresent() ? integerEncoding(annotation.get()) : null;
+        if (annotated != null) {
+            kind = annotated;
+        }
+        switch (kind) {
+            case ZIGZAG:
+                return "s" + type;
+            case FIXED:
+                return SMALL_INTEGER_TYPES.contains(javaType) ? type : "sfixed" + type.substring("int".length());
+            default:
+                return type;
+        }
+    }
+
     private static String getEntityParameter(MethodDeclaration md, String httpMethod) {
         if (HttpServletRequestImpl.LOCATOR.equals(httpMethod)) {
             return "google.protobuf.Any";
@@ -1603,6 +2133,11 @@ public class JavaToProtobufGenerator {
                         return "dev_resteasy_grpc_arrays___ArrayHolder___WArray";
                     }
                 }
+                String protobufMessage = protobufMessage(rt);
+                if (protobufMessage != null) {
+                    entityTypesForFile.add(despace(javaType) + " " + binaryName(rt));
+                    return protobufMessage;
+                }
                 if (isInterface(rt)) {
                     return "google.protobuf.Any";
                 }
@@ -1617,6 +2152,76 @@ public class JavaToProtobufGenerator {
         return "gEmpty";
     }
 
+    /*
+     * A class that implements com.google.protobuf.Message, e.g., a class generated by protoc, is used as is.
+     * Its descriptor, loaded from the jars given by -Djars, names the message type and the .proto file
+     * that defines it, which is imported.
+     *
+     * Returns the name of the class, or null if it isn't a protobuf message.
+     */
+    private static String protobufMessage(ResolvedType rt) {
+        if (!rt.isReferenceType()) {
+            return null;
+        }
+        String name = rt.asReferenceType().getQualifiedName();
+        if (protobufMessages.containsKey(name)) {
+            return name;
+        }
+        try {
+            boolean isMessage = false;
+            for (ResolvedReferenceType ancestor : rt.asReferenceType().getAllAncestors()) {
+                if ("com.google.protobuf.Message".equals(ancestor.getQualifiedName())) {
+                    isMessage = true;
+                    break;
+                }
+            }
+            if (!isMessage) {
+                return null;
+            }
+        } catch (RuntimeException e) {
+            throw Messages.MESSAGES.unableToResolveSupertypes(name, e);
+        }
+        try {
+            if (protobufClassLoader == null) {
+                List<URL> urls = new ArrayList<URL>();
+                for (String jar : jars) {
+                    urls.add(Path.of(jar).toUri().toURL());
+                }
+                protobufClassLoader = new URLClassLoader(urls.toArray(new URL[0]), JavaToProtobufGenerator.class.getClassLoader());
+            }
+            Class<?> clazz = Class.forName(binaryName(rt), true, protobufClassLoader);
+            Descriptor descriptor = (Descriptor) clazz.getMethod("getDescriptor").invoke(null);
+            protobufMessages.put(name, descriptor.getFullName());
+            protobufImports.add(descriptor.getFile().getName());
+            return name;
+        } catch (Exception e) {
+            throw Messages.MESSAGES.unableToLoadDescriptor(name, e);
+        }
+    }
+
+    private static String binaryName(ResolvedType rt) {
+        ResolvedReferenceTypeDeclaration rrtd = rt.asReferenceType().getTypeDeclaration().get();
+        String className = rrtd.getClassName().replace('.', '$');
+        return rrtd.getPackageName().isEmpty() ? className : rrtd.getPackageName() + "." + className;
+    }
+
+    private static void importProtobufMessages(StringBuilder sb) {
+        String arrays = "import \"dev/resteasy/grpc/arrays/arrays.proto\";" + LS;
+        int i = sb.indexOf(arrays) + arrays.length();
+        for (String file : protobufImports) {
+            String line = "import \"" + file + "\";" + LS;
+            if (sb.indexOf(line) < 0) {
+                sb.insert(i, line);
+                i += line.length();
+            }
+        }
+    }
+
+    private static boolean isEnum(ResolvedType rt) {
+        Optional<ResolvedReferenceTypeDeclaration> opt = rt.asReferenceType().getTypeDeclaration();
+        return opt.isPresent() && opt.get().isEnum();
+    }
+
     private static boolean isInterface(ResolvedType rt) {
         Optional<ResolvedReferenceTypeDeclaration> opt = rt.asReferenceType().getTypeDeclaration();
         if (opt.isPresent()) {
@@ -1701,6 +2306,10 @@ public class JavaToProtobufGenerator {
                         return "dev_resteasy_grpc_arrays___ArrayHolder___WArray";
                     }
                 }
+                String protobufMessage = protobufMessage(rt);
+                if (protobufMessage != null) {
+                    return protobufMessage;
+                }
                 if (isInterface(rt)) {
                     return "google.protobuf.Any";
                 }
@@ -18,17 +18,26 @@
  */
 package dev.resteasy.grpc.bridge.generator.protobuf;
 
+import static dev.resteasy.grpc.bridge.runtime.Constants.RPC_REQUEST;
+import static dev.resteasy.grpc.bridge.runtime.Constants.RPC_RESPONSE;
+
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -37,15 +46,36 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.jboss.logging.Logger;
 
+import com.google.protobuf.Any;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
+import com.google.protobuf.Descriptors.OneofDescriptor;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.Message;
 
 import dev.resteasy.grpc.bridge.generator.i18n.Messages;
+import dev.resteasy.grpc.bridge.runtime.AggregateFactory;
+import dev.resteasy.grpc.bridge.runtime.AnyTypeRegistry;
+import dev.resteasy.grpc.bridge.runtime.BuilderPool;
+import dev.resteasy.grpc.bridge.runtime.EnumConstants;
+import dev.resteasy.grpc.bridge.runtime.FieldSelection;
 import dev.resteasy.grpc.bridge.runtime.HolderMap;
+import dev.resteasy.grpc.bridge.runtime.LazyList;
+import dev.resteasy.grpc.bridge.runtime.NullBitmap;
+import dev.resteasy.grpc.bridge.runtime.PackedMatrices;
+import dev.resteasy.grpc.bridge.runtime.ParallelTranslation;
+import dev.resteasy.grpc.bridge.runtime.RawArrays;
+import dev.resteasy.grpc.bridge.runtime.ReferenceScope;
+import dev.resteasy.grpc.bridge.runtime.TranslationCache;
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.WellKnownTypes;
 import dev.resteasy.grpc.bridge.runtime.Utility;
+import dev.resteasy.grpc.bridge.runtime.ZeroCopy;
 import dev.resteasy.grpc.bridge.runtime.protobuf.AssignFromJavabuf;
 import dev.resteasy.grpc.bridge.runtime.protobuf.AssignToJavabuf;
 import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
@@ -275,6 +305,8 @@ public class JavabufTranslatorGenerator {
     private static final Map<String, Class<?>> PRIMITIVE_WRAPPER_TYPES = new HashMap<String, Class<?>>();
     private static final Map<String, String> GET_METHODS = new HashMap<String, String>();
     private static final Map<Class<?>, String> PRIMITIVE_DEFAULTS = new HashMap<Class<?>, String>();
+    private static final Map<Class<?>, String> WELL_KNOWN_TO_JAVABUF = new HashMap<Class<?>, String>();
+    private static final Map<Class<?>, String> WELL_KNOWN_FROM_JAVABUF = new HashMap<Class<?>, String>();
     private static final Map<String, String> WRAPPER_TO_PRIMITIVE = new HashMap<String, String>();
     private static final Set<String> NULLABLE_WRAPPERS = new HashSet<String>();
     private static final Set<String> JAVA_WRAPPER_TYPES = new HashSet<String>();
@@ -289,6 +321,9 @@ public class JavabufTranslatorGenerator {
     private static final Map<String, String> LISTS = new HashMap<String, String>();
     private static final Map<String, String> SETS = new HashMap<String, String>();
     private static final Map<String, String> MAPS = new HashMap<String, String>();
+    private static final Set<String> NATIVE_MAPS = new HashSet<String>();
+    private static final Map<String, String> WRAPPER_DEFAULTS = new HashMap<String, String>();
+    private static final Map<String, String> RAW_ARRAY_TYPES = new HashMap<String, String>();
     private static final Map<String, String> MULTIMAPS = new HashMap<String, String>();
     private static final Map<String, String> RECORDS = new HashMap<String, String>();
     private static final Map<String, String> COLLECTION_TYPE = new HashMap<String, String>();
@@ -298,6 +333,64 @@ public class JavabufTranslatorGenerator {
     private static final Map<String, String> VALUE_TYPE_JAVABUF = new HashMap<String, String>();
     private static final Map<String, String> CLASSNAMES = new HashMap<String, String>();
     private static final Set<String> IMPORTS = new HashSet<String>();
+    private static boolean references;
+    private static boolean dictionaries;
+
+    /*
+     * Imported by a generated translator only if it uses them.
+     */
+    private static final List<String> HELPER_IMPORTS = Arrays.asList(
+            "jakarta.ws.rs.core.GenericType",
+            "jakarta.ws.rs.core.MultivaluedMap",
+            "java.lang.reflect.Array",
+            "java.lang.reflect.Constructor",
+            "java.lang.reflect.Field",
+            "java.lang.reflect.Method",
+            "java.lang.reflect.Type",
+            "java.util.AbstractList",
+            "java.util.ArrayList",
+            "java.util.HashMap",
+            "java.util.HashSet",
+            "java.util.Collection",
+            "java.util.List",
+            "java.util.Map",
+            "java.util.Set",
+            "com.google.protobuf.Any",
+            "com.google.protobuf.ByteString",
+            "com.google.protobuf.DescriptorProtos.FieldDescriptorProto",
+            "com.google.protobuf.Descriptors",
+            "com.google.protobuf.Descriptors.Descriptor",
+            "com.google.protobuf.Descriptors.FieldDescriptor",
+            "com.google.protobuf.Descriptors.OneofDescriptor",
+            "com.google.protobuf.Message",
+            "com.google.protobuf.Message.Builder",
+            "com.google.protobuf.UnsafeByteOperations",
+            AggregateFactory.class.getCanonicalName(),
+            AnyTypeRegistry.class.getCanonicalName(),
+            HolderMap.class.getCanonicalName(),
+            BuilderPool.class.getCanonicalName(),
+            LazyList.class.getCanonicalName(),
+            EnumConstants.class.getCanonicalName(),
+            FieldSelection.class.getCanonicalName(),
+            WellKnownTypes.class.getCanonicalName(),
+            ZeroCopy.class.getCanonicalName(),
+            TranslationCache.class.getCanonicalName(),
+            NullBitmap.class.getCanonicalName(),
+            PackedMatrices.class.getCanonicalName(),
+            ReferenceScope.class.getCanonicalName(),
+            RawArrays.class.getCanonicalName(),
+            ParallelTranslation.class.getCanonicalName(),
+            TranslationOptions.class.getCanonicalName(),
+            Utility.class.getCanonicalName(),
+            AssignFromJavabuf.class.getCanonicalName(),
+            AssignToJavabuf.class.getCanonicalName(),
+            JavabufTranslator.class.getCanonicalName(),
+            ReturnJavaClass.class.getCanonicalName(),
+            TranslateFromJavabuf.class.getCanonicalName(),
+            TranslateToJavabuf.class.getCanonicalName(),
+            Messages.class.getCanonicalName(),
+            "java.io.IOException",
+            "java.io.InputStream");
 
     private static final String ArrayPrimitiveBuilderClass = "%n      @Override%n"
             + "      public Message assignToJavabuf(Object x) {%n"
@@ -306,6 +399,7 @@ public class JavabufTranslatorGenerator {
             + "         }%n"
             + "         %1$s[] aa = (%1$s[]) x;%n"
             + "         dev_resteasy_grpc_arrays___%2$s___Array.Builder arrayBuilder = dev_resteasy_grpc_arrays___%2$s___Array.newBuilder();%n"
+            + "%4$s"
             + "         for (int i = 0; i < aa.length; i++) {%n"
             + "            arrayBuilder.add%3$sField(aa[i]);%n"
             + "         }%n"
@@ -320,6 +414,12 @@ public class JavabufTranslatorGenerator {
             + "         %1$s[] aa = (%1$s[]) x;%n"
             + "         %2$s___wrapper.Builder elementBuilder = %2$s___wrapper.newBuilder();%n"
             + "         %2$s___WArray.Builder arrayBuilder = %2$s___WArray.newBuilder();%n"
+            + "         if (TranslationOptions.COMPACT_WRAPPER_ARRAYS) {%n"
+            + "            for (int i = 0; i < aa.length; i++) {%n"
+            + "               arrayBuilder.addValuesField(aa[i] == null ? %4$s : aa[i]);%n"
+            + "            }%n"
+            + "            return arrayBuilder.setNullsField(NullBitmap.of(aa)).build();%n"
+            + "         }%n"
             + "         for (int i = 0; i < aa.length; i++) {%n"
             + "            if (aa[i] == null) {%n"
             + "               elementBuilder.clear().setNoneField(dev_resteasy_grpc_arrays___NONE.newBuilder());%n"
@@ -338,7 +438,7 @@ public class JavabufTranslatorGenerator {
             + "         }%n"
             + "         byte[] aa = (byte[]) x;%n"
             + "         dev_resteasy_grpc_arrays___Byte___Array.Builder arrayBuilder = dev_resteasy_grpc_arrays___Byte___Array.newBuilder();%n"
-            + "         arrayBuilder.setByteField(ByteString.copyFrom(aa));%n"
+            + "         arrayBuilder.setByteField(ZeroCopy.wrap(aa));%n"
             + "         return arrayBuilder.build();%n"
             + "      }%n";
 
@@ -363,6 +463,12 @@ public class JavabufTranslatorGenerator {
             + "         Object[] aa = (Object[]) x;%n"
             + "         %2$s___wrapper.Builder elementBuilder = %2$s___wrapper.newBuilder();%n"
             + "         %2$s___WArray.Builder arrayBuilder = %2$s___WArray.newBuilder();%n"
+            + "         if (ParallelTranslation.isParallel(aa.length)) {%n"
+            + "            arrayBuilder.addAllWrapperField(ParallelTranslation.translate(aa, a -> a == null%n"
+            + "                  ? %2$s___wrapper.newBuilder().setNoneField(dev_resteasy_grpc_arrays___NONE.newBuilder()).build()%n"
+            + "                  : %2$s___wrapper.newBuilder().set%3$sField((%2$s) INSTANCE.translateToJavabuf(a)).build()));%n"
+            + "            return arrayBuilder.build();%n"
+            + "         }%n"
             + "         for (int i = 0; i < aa.length; i++) {%n"
             + "            if (aa[i] == null) {%n"
             + "               elementBuilder.clear().setNoneField(dev_resteasy_grpc_arrays___NONE.newBuilder());%n"
@@ -382,6 +488,15 @@ public class JavabufTranslatorGenerator {
             + "         %1$s[] aa = (%1$s[]) x;%n"
             + "         %2$s___wrapper.Builder elementBuilder = %2$s___wrapper.newBuilder();%n"
             + "         %2$s___WArray.Builder arrayBuilder = %2$s___WArray.newBuilder();%n"
+            + "         if (TranslationOptions.COMPACT_WRAPPER_ARRAYS) {%n"
+            + "            byte[] bs = new byte[aa.length];%n"
+            + "            for (int i = 0; i < aa.length; i++) {%n"
+            + "               if (aa[i] != null) {%n"
+            + "                  bs[i] = aa[i];%n"
+            + "               }%n"
+            + "            }%n"
+            + "            return arrayBuilder.setValuesField(UnsafeByteOperations.unsafeWrap(bs)).setNullsField(NullBitmap.of(aa)).build();%n"
+            + "         }%n"
             + "         for (int i = 0; i < aa.length; i++) {%n"
             + "            if (aa[i] == null) {%n"
             + "               elementBuilder.clear().setNoneField(dev_resteasy_grpc_arrays___NONE.newBuilder());%n"
@@ -402,6 +517,12 @@ public class JavabufTranslatorGenerator {
             + "         %1$s[] aa = (%1$s[]) x;%n"
             + "         %2$s___wrapper.Builder elementBuilder = %2$s___wrapper.newBuilder();%n"
             + "         %2$s___WArray.Builder arrayBuilder = %2$s___WArray.newBuilder();%n"
+            + "         if (TranslationOptions.COMPACT_WRAPPER_ARRAYS) {%n"
+            + "            for (int i = 0; i < aa.length; i++) {%n"
+            + "               arrayBuilder.addValuesField(aa[i] == null ? 0 : aa[i]);%n"
+            + "            }%n"
+            + "            return arrayBuilder.setNullsField(NullBitmap.of(aa)).build();%n"
+            + "         }%n"
             + "         for (int i = 0; i < aa.length; i++) {%n"
             + "            if (aa[i] == null) {%n"
             + "               elementBuilder.clear().setNoneField(dev_resteasy_grpc_arrays___NONE.newBuilder());%n"
@@ -458,6 +579,9 @@ public class JavabufTranslatorGenerator {
             + "%n"
             + "      @Override%n"
             + "      public Message assignToJavabuf(Object x) {%n"
+            + "         if (TranslationOptions.PACKED_MATRICES && PackedMatrices.isPackable(x.getClass().getComponentType())) {%n"
+            + "            return packMatrix(x);%n"
+            + "         }%n"
             + "         dev_resteasy_grpc_arrays___ArrayHolder___wrapper.Builder elementBuilder = dev_resteasy_grpc_arrays___ArrayHolder___wrapper.newBuilder();%n"
             + "         dev_resteasy_grpc_arrays___ArrayHolder___WArray.Builder arrayBuilder = dev_resteasy_grpc_arrays___ArrayHolder___WArray.newBuilder();%n"
             + "         for (int i = 0; i < Array.getLength(x); i++) {%n"
@@ -478,6 +602,9 @@ public class JavabufTranslatorGenerator {
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         try {%n"
             + "            dev_resteasy_grpc_arrays___ArrayHolder___WArray warray = (dev_resteasy_grpc_arrays___ArrayHolder___WArray) message;%n"
+            + "            if (warray.getRowLengthsCount() > 0) {%n"
+            + "               return PackedMatrices.unpack(Class.forName(warray.getComponentType()), warray.getRowLengthsList(), warray.getPackedValues());%n"
+            + "            }%n"
             + "            if (warray.getWrapperFieldCount() == 0) {%n"
             + "               return Array.newInstance(Class.forName(warray.getComponentType()), 0);%n"
             + "            }%n"
@@ -515,6 +642,9 @@ public class JavabufTranslatorGenerator {
             + "         if (x == null) {%n"
             + "            return null;%n"
             + "         }%n"
+            + "         if (TranslationOptions.PACKED_MATRICES && PackedMatrices.isPackable(x.getClass().getComponentType())) {%n"
+            + "            return packMatrix(x);%n"
+            + "         }%n"
             + "         try {%n"
             + "            dev_resteasy_grpc_arrays___ArrayHolder.Builder holderBuilder = dev_resteasy_grpc_arrays___ArrayHolder.newBuilder();%n"
             + "            dev_resteasy_grpc_arrays___ArrayHolder___wrapper.Builder holderWrapperBuilder = dev_resteasy_grpc_arrays___ArrayHolder___wrapper.newBuilder();%n"
@@ -548,6 +678,16 @@ public class JavabufTranslatorGenerator {
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         dev_resteasy_grpc_arrays___%1$s___WArray array = (dev_resteasy_grpc_arrays___%1$s___WArray) message;%n"
+            + "         if (array.getWrapperFieldCount() == 0) {%n"
+            + "            byte[] nulls = array.getNullsField().toByteArray();%n"
+            + "            %1$s[] xs = new %1$s[array.getValuesFieldCount()];%n"
+            + "            for (int i = 0; i < xs.length; i++) {%n"
+            + "               if (!NullBitmap.isNull(nulls, i)) {%n"
+            + "                  xs[i] = array.getValuesField(i);%n"
+            + "               }%n"
+            + "            }%n"
+            + "            return xs;%n"
+            + "         }%n"
             + "         %1$s[] xs = new %1$s[array.getWrapperFieldCount()];%n"
             + "         for (int i = 0; i < array.getWrapperFieldCount(); i++) {%n"
             + "            if (array.getWrapperField(i).has%1$sField()) {%n"
@@ -563,6 +703,17 @@ public class JavabufTranslatorGenerator {
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         dev_resteasy_grpc_arrays___%1$s___WArray array = (dev_resteasy_grpc_arrays___%1$s___WArray) message;%n"
+            + "         if (array.getWrapperFieldCount() == 0) {%n"
+            + "            byte[] nulls = array.getNullsField().toByteArray();%n"
+            + "            ByteString values = array.getValuesField();%n"
+            + "            %1$s[] xs = new %1$s[values.size()];%n"
+            + "            for (int i = 0; i < xs.length; i++) {%n"
+            + "               if (!NullBitmap.isNull(nulls, i)) {%n"
+            + "                  xs[i] = values.byteAt(i);%n"
+            + "               }%n"
+            + "            }%n"
+            + "            return xs;%n"
+            + "         }%n"
             + "         %1$s[] xs = new %1$s[array.getWrapperFieldCount()];%n"
             + "         for (int i = 0; i < array.getWrapperFieldCount(); i++) {%n"
             + "            if (array.getWrapperField(i).has%1$sField()) {%n"
@@ -578,6 +729,16 @@ public class JavabufTranslatorGenerator {
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         dev_resteasy_grpc_arrays___%1$s___WArray array = (dev_resteasy_grpc_arrays___%1$s___WArray) message;%n"
+            + "         if (array.getWrapperFieldCount() == 0) {%n"
+            + "            byte[] nulls = array.getNullsField().toByteArray();%n"
+            + "            %1$s[] xs = new %1$s[array.getValuesFieldCount()];%n"
+            + "            for (int i = 0; i < xs.length; i++) {%n"
+            + "               if (!NullBitmap.isNull(nulls, i)) {%n"
+            + "                  xs[i] = (char) array.getValuesField(i);%n"
+            + "               }%n"
+            + "            }%n"
+            + "            return xs;%n"
+            + "         }%n"
             + "         %1$s[] xs = new %1$s[array.getWrapperFieldCount()];%n"
             + "         for (int i = 0; i < array.getWrapperFieldCount(); i++) {%n"
             + "            if (array.getWrapperField(i).has%1$sField()) {%n"
@@ -593,6 +754,16 @@ public class JavabufTranslatorGenerator {
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         dev_resteasy_grpc_arrays___%1$s___WArray array = (dev_resteasy_grpc_arrays___%1$s___WArray) message;%n"
+            + "         if (array.getWrapperFieldCount() == 0) {%n"
+            + "            byte[] nulls = array.getNullsField().toByteArray();%n"
+            + "            %1$s[] xs = new %1$s[array.getValuesFieldCount()];%n"
+            + "            for (int i = 0; i < xs.length; i++) {%n"
+            + "               if (!NullBitmap.isNull(nulls, i)) {%n"
+            + "                  xs[i] = (short) array.getValuesField(i);%n"
+            + "               }%n"
+            + "            }%n"
+            + "            return xs;%n"
+            + "         }%n"
             + "         %1$s[] xs = new %1$s[array.getWrapperFieldCount()];%n"
             + "         for (int i = 0; i < array.getWrapperFieldCount(); i++) {%n"
             + "            if (array.getWrapperField(i).has%1$sField()) {%n"
@@ -609,13 +780,27 @@ public class JavabufTranslatorGenerator {
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         %1$s___WArray array = (%1$s___WArray) message;%n"
             + "         Object os = null;%n"
-            + "         for (int i = 0; i < array.getWrapperFieldCount(); i++) {%n"
-            + "            if (!array.getWrapperField(i).hasNoneField()) {%n"
-            + "               Object element = INSTANCE.translateFromJavabuf(array.getWrapperField(i).get%2$sField());%n"
-            + "               if (os == null) {%n"
-            + "                  os = Array.newInstance(element.getClass(), array.getWrapperFieldCount());%n"
+            + "         if (ParallelTranslation.isParallel(array.getWrapperFieldCount())) {%n"
+            + "            List<Object> elements = ParallelTranslation.translate(array.getWrapperFieldList(),%n"
+            + "                  w -> w.hasNoneField() ? null : INSTANCE.translateFromJavabuf(w.get%2$sField()));%n"
+            + "            for (int i = 0; i < elements.size(); i++) {%n"
+            + "               Object element = elements.get(i);%n"
+            + "               if (element != null) {%n"
+            + "                  if (os == null) {%n"
+            + "                     os = Array.newInstance(element.getClass(), elements.size());%n"
+            + "                  }%n"
+            + "                  Array.set(os, i, element);%n"
+            + "               }%n"
+            + "            }%n"
+            + "         } else {%n"
+            + "            for (int i = 0; i < array.getWrapperFieldCount(); i++) {%n"
+            + "               if (!array.getWrapperField(i).hasNoneField()) {%n"
+            + "                  Object element = INSTANCE.translateFromJavabuf(array.getWrapperField(i).get%2$sField());%n"
+            + "                  if (os == null) {%n"
+            + "                     os = Array.newInstance(element.getClass(), array.getWrapperFieldCount());%n"
+            + "                  }%n"
+            + "                  Array.set(os, i, element);%n"
             + "               }%n"
-            + "               Array.set(os, i, element);%n"
             + "            }%n"
             + "         }%n"
             + "         if (os == null) {%n"
@@ -634,6 +819,7 @@ public class JavabufTranslatorGenerator {
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         dev_resteasy_grpc_arrays___%1$s___Array array = (dev_resteasy_grpc_arrays___%1$s___Array) message;%n"
+            + "%4$s"
             + "         %2$s[] xs = new %2$s[array.get%3$sFieldCount()];%n"
             + "         for (int i = 0; i < array.get%3$sFieldCount(); i++) {%n"
             + "            xs[i] = array.get%3$sField(i);%n"
@@ -673,60 +859,217 @@ public class JavabufTranslatorGenerator {
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) {%n"
             + "         dev_resteasy_grpc_arrays___Byte___Array array = (dev_resteasy_grpc_arrays___Byte___Array) message;%n"
-            + "         ByteString bs = array.getByteField();%n"
-            + "         byte[] xs = new byte[bs.size()];%n"
-            + "         for (int i = 0; i < bs.size(); i++) {%n"
-            + "            xs[i] = bs.byteAt(i);%n"
-            + "         }%n"
-            + "         return xs;%n"
+            + "         return array.getByteField().toByteArray();%n"
             + "      }%n"
             + "   }%n%n";
 
-    private static final String ListOrSetToJavabuf = "%n"
+    /*
+     * %1: javabuf type
+     * %2: java type
+     * %3: element translation
+     */
+    private static final String ListOrSetToJavabuf = "      private static final BuilderPool<%1$s.Builder> BUILDERS = new BuilderPool<%1$s.Builder>(%1$s::newBuilder);%n"
+            + "%n"
             + "      @Override%n"
             + "      public Message assignToJavabuf(Object o) {%n"
             + "         if (o == null) {%n"
             + "            return null;%n"
             + "         }%n"
             + "         %2$s collection = (%2$s) o;%n"
-            + "         %1$s.Builder builder = %1$s.newBuilder();%n"
-            + "         builder.setClassname(o.getClass().getName());%n"
-            + "         FieldDescriptor fd = %1$s.getDescriptor().findFieldByName(\"data\");%n"
+            + "         %1$s.Builder builder = BUILDERS.acquire();%n"
+            + "         builder.setClassname(LazyList.classnameOf(o));%n"
+            + "         if (ParallelTranslation.isParallel(collection.size())) {%n"
+            + "            builder.addAllData(ParallelTranslation.translate(collection, element -> %3$s));%n"
+            + "            return BUILDERS.build(builder);%n"
+            + "         }%n"
             + "         for (Object element : collection) {%n"
-            + "            builder.addRepeatedField(fd, %3$s);%n"
+            + "            builder.addData(%3$s);%n"
+            + "         }%n"
+            + "         return BUILDERS.build(builder);%n"
+            + "      }%n";
+
+    /*
+     * %1: javabuf type
+     * %2: java type
+     */
+    private static final String ListOrSetToJavabuf_addAll = "      private static final BuilderPool<%1$s.Builder> BUILDERS = new BuilderPool<%1$s.Builder>(%1$s::newBuilder);%n"
+            + "%n"
+            + "      @Override%n"
+            + "      public Message assignToJavabuf(Object o) {%n"
+            + "         if (o == null) {%n"
+            + "            return null;%n"
+            + "         }%n"
+            + "         %1$s.Builder builder = BUILDERS.acquire();%n"
+            + "         builder.setClassname(LazyList.classnameOf(o));%n"
+            + "         builder.addAllData((%2$s) o);%n"
+            + "         return BUILDERS.build(builder);%n"
+            + "      }%n";
+
+    private static final String BIG_DECIMAL_TO_JAVABUF = "%n"
+            + "      @Override%n"
+            + "      public Message assignToJavabuf(Object o) {%n"
+            + "         if (o == null) {%n"
+            + "            return null;%n"
+            + "         }%n"
+            + "         java.math.BigDecimal d = (java.math.BigDecimal) o;%n"
+            + "         return java_math___BigDecimal.newBuilder()%n"
+            + "               .setUnscaledValue(WellKnownTypes.toBytes(d.unscaledValue()))%n"
+            + "               .setScale(d.scale())%n"
+            + "               .build();%n"
+            + "      }%n";
+
+    private static final String BIG_DECIMAL_FROM_JAVABUF = "%n"
+            + "   public static class java_math___BigDecimal_FromJavabuf implements TranslateFromJavabuf {%n"
+            + "%n"
+            + "      @Override%n"
+            + "      public Object assignFromJavabuf(Message message) {%n"
+            + "         java_math___BigDecimal m = (java_math___BigDecimal) message;%n"
+            + "         return WellKnownTypes.toBigDecimal(m.getUnscaledValue(), m.getScale());%n"
+            + "      }%n";
+
+    private static final String UUID_TO_JAVABUF = "%n"
+            + "      @Override%n"
+            + "      public Message assignToJavabuf(Object o) {%n"
+            + "         if (o == null) {%n"
+            + "            return null;%n"
+            + "         }%n"
+            + "         java.util.UUID uuid = (java.util.UUID) o;%n"
+            + "         return java_util___UUID.newBuilder()%n"
+            + "               .setMostSignificantBits(uuid.getMostSignificantBits())%n"
+            + "               .setLeastSignificantBits(uuid.getLeastSignificantBits())%n"
+            + "               .build();%n"
+            + "      }%n";
+
+    private static final String UUID_FROM_JAVABUF = "%n"
+            + "   public static class java_util___UUID_FromJavabuf implements TranslateFromJavabuf {%n"
+            + "%n"
+            + "      @Override%n"
+            + "      public Object assignFromJavabuf(Message message) {%n"
+            + "         java_util___UUID m = (java_util___UUID) message;%n"
+            + "         return new java.util.UUID(m.getMostSignificantBits(), m.getLeastSignificantBits());%n"
+            + "      }%n";
+
+    /*
+     * If TranslationOptions.HOMOGENEOUS_COLLECTIONS is true, a raw or Object typed collection whose
+     * elements all translate to the same javabuf type is sent as one type URL followed by the
+     * serialized elements. Otherwise, each element is packed into an Any.
+     *
+     * %1: javabuf type
+     * %2: java type
+     */
+    private static final String ObjectListOrSetToJavabuf = "      private static final BuilderPool<%1$s.Builder> BUILDERS = new BuilderPool<%1$s.Builder>(%1$s::newBuilder);%n"
+            + "%n"
+            + "      @Override%n"
+            + "      public Message assignToJavabuf(Object o) {%n"
+            + "         if (o == null) {%n"
+            + "            return null;%n"
+            + "         }%n"
+            + "         %2$s collection = (%2$s) o;%n"
+            + "         %1$s.Builder builder = BUILDERS.acquire();%n"
+            + "         builder.setClassname(LazyList.classnameOf(o));%n"
+            + "         List<Message> messages = null;%n"
+            + "         if (ParallelTranslation.isParallel(collection.size())) {%n"
+            + "            messages = ParallelTranslation.translate(collection, element -> INSTANCE.translateToJavabuf(element));%n"
+            + "         } else {%n"
+            + "            messages = new ArrayList<Message>(collection.size());%n"
+            + "            for (Object element : collection) {%n"
+            + "               messages.add(INSTANCE.translateToJavabuf(element));%n"
+            + "            }%n"
+            + "         }%n"
+            + "         String typeUrl = TranslationOptions.HOMOGENEOUS_COLLECTIONS ? AnyTypeRegistry.commonTypeUrl(messages) : null;%n"
+            + "         if (typeUrl != null) {%n"
+            + "            builder.setTypeUrl(typeUrl);%n"
+            + "            for (Message element : messages) {%n"
+            + "               builder.addPayload(element.toByteString());%n"
+            + "            }%n"
+            + "         } else {%n"
+            + "            for (Message element : messages) {%n"
+            + "               builder.addData(Any.pack(element));%n"
+            + "            }%n"
             + "         }%n"
-            + "         return builder.build();%n"
+            + "         return BUILDERS.build(builder);%n"
             + "      }%n";
 
-    private static final String ListOrSetFromJavabuf_fromClass = "%n"
+    /*
+     * %1: javabuf type
+     * %2: java type
+     * %3: name of class to instantiate
+     * %4: lazy translation of payload, if any
+     * %5: lazy translation of data, if any
+     */
+    private static final String ObjectListOrSetFromJavabuf = "%n"
             + "   public static class %1$s_FromJavabuf implements TranslateFromJavabuf {%n"
             + "%n"
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) throws IOException {%n"
-            + "         %2$s collection = new %2$s();%n"
             + "         %1$s m = (%1$s) message;%n"
-            + "         for (%3$s l : m.getDataList()) {%n"
-            + "            collection.add(%4$s);%n"
+            + "         if (!m.getTypeUrl().isEmpty()) {%n"
+            + "            AnyTypeRegistry.Entry entry = ANY_TYPES.resolve(m.getTypeUrl());%n"
+            + "%4$s"
+            + "            %2$s collection = AggregateFactory.newCollection(%3$s, m.getPayloadCount());%n"
+            + "            if (ParallelTranslation.isParallel(m.getPayloadCount())) {%n"
+            + "               collection.addAll(ParallelTranslation.translate(m.getPayloadList(), l -> INSTANCE.translateFromJavabuf(entry.parse(l))));%n"
+            + "               return collection;%n"
+            + "            }%n"
+            + "            for (ByteString l : m.getPayloadList()) {%n"
+            + "               collection.add(INSTANCE.translateFromJavabuf(entry.parse(l)));%n"
+            + "            }%n"
+            + "            return collection;%n"
+            + "         }%n"
+            + "%5$s"
+            + "         %2$s collection = AggregateFactory.newCollection(%3$s, m.getDataCount());%n"
+            + "         if (ParallelTranslation.isParallel(m.getDataCount())) {%n"
+            + "            collection.addAll(ParallelTranslation.translate(m.getDataList(), l -> INSTANCE.translateFromJavabuf(ANY_TYPES.unpack(l))));%n"
+            + "            return collection;%n"
+            + "         }%n"
+            + "         for (Any l : m.getDataList()) {%n"
+            + "            collection.add(INSTANCE.translateFromJavabuf(ANY_TYPES.unpack(l)));%n"
             + "         }%n"
             + "         return collection;%n"
             + "      }%n";
 
-    private static final String ListOrSetFromJavabuf_fromInterface = "%n"
+    /*
+     * %1: javabuf type
+     * %2: java type
+     * %3: javabuf element type
+     * %4: element translation
+     * %5: name of class to instantiate
+     * %6: lazy translation, if any
+     */
+    private static final String ListOrSetFromJavabuf = "%n"
             + "   public static class %1$s_FromJavabuf implements TranslateFromJavabuf {%n"
             + "%n"
             + "      @Override%n"
             + "      public Object assignFromJavabuf(Message message) throws IOException {%n"
-            + "         try {%n"
-            + "            %1$s m = (%1$s) message;%n"
-            + "            String classname = m.getClassname();%n"
-            + "            Collection collection = (Collection) Class.forName(classname).newInstance();%n"
-            + "            for (%3$s l : m.getDataList()) {%n"
-            + "               collection.add(%4$s);%n"
-            + "            }%n"
+            + "         %1$s m = (%1$s) message;%n"
+            + "%6$s"
+            + "         %2$s collection = AggregateFactory.newCollection(%5$s, m.getDataCount());%n"
+            + "         if (ParallelTranslation.isParallel(m.getDataCount())) {%n"
+            + "            collection.addAll(ParallelTranslation.translate(m.getDataList(), l -> %4$s));%n"
             + "            return collection;%n"
-            + "         } catch (Exception e) {%n"
-            + "            throw new RuntimeException(e);%n"
             + "         }%n"
+            + "         for (%3$s l : m.getDataList()) {%n"
+            + "            collection.add(%4$s);%n"
+            + "         }%n"
+            + "         return collection;%n"
+            + "      }%n";
+
+    /*
+     * %1: javabuf type
+     * %2: java type
+     * %3: name of class to instantiate
+     * %4: lazy translation, if any
+     */
+    private static final String ListOrSetFromJavabuf_addAll = "%n"
+            + "   public static class %1$s_FromJavabuf implements TranslateFromJavabuf {%n"
+            + "%n"
+            + "      @Override%n"
+            + "      public Object assignFromJavabuf(Message message) throws IOException {%n"
+            + "         %1$s m = (%1$s) message;%n"
+            + "%4$s"
+            + "         %2$s collection = AggregateFactory.newCollection(%3$s, m.getDataCount());%n"
+            + "         collection.addAll(m.getDataList());%n"
+            + "         return collection;%n"
             + "      }%n";
 
     /*
@@ -736,22 +1079,24 @@ public class JavabufTranslatorGenerator {
      * %4: key translation
      * %5: value translation
      */
-    private static final String MAP_TO_JAVABUF = "%n"
+    private static final String MAP_TO_JAVABUF = "       private static final BuilderPool<%3$s.Builder> BUILDERS = new BuilderPool<%3$s.Builder>(%3$s::newBuilder);%n"
+            + "       private static final BuilderPool<%3$s.Pair.Builder> PAIR_BUILDERS = new BuilderPool<%3$s.Pair.Builder>(%3$s.Pair::newBuilder);%n"
+            + "%n"
             + "       @Override%n"
             + "       public Message assignToJavabuf(Object o) {%n"
             + "           if (o == null) {%n"
             + "              return null;%n"
             + "           }%n"
             + "           java.util.Map<%1$s, %2$s> map = (java.util.Map<%1$s, %2$s>) o;%n"
-            + "           %3$s.Builder builder = %3$s.newBuilder();%n"
+            + "           %3$s.Builder builder = BUILDERS.acquire();%n"
             + "           builder.setClassname(o.getClass().getName());%n"
-            + "           %3$s.Pair.Builder pairBuilder = %3$s.Pair.newBuilder();%n"
-            + "           FieldDescriptor fd = %3$s.getDescriptor().findFieldByName(\"data\");%n"
+            + "           %3$s.Pair.Builder pairBuilder = PAIR_BUILDERS.acquire();%n"
             + "           for (java.util.Map.Entry<%1$s, %2$s> entry : map.entrySet()) {%n"
-            + "              builder.addRepeatedField(fd, pairBuilder.setKey(%4$s).setValue(%5$s).build());%n"
+            + "              builder.addData(pairBuilder.setKey(%4$s).setValue(%5$s).build());%n"
             + "              pairBuilder.clear();%n"
             + "           }%n"
-            + "           return builder.build();%n"
+            + "           PAIR_BUILDERS.release(pairBuilder);%n"
+            + "           return BUILDERS.build(builder);%n"
             + "       }%n";
 
     /*
@@ -767,8 +1112,7 @@ public class JavabufTranslatorGenerator {
             + "      public Object assignFromJavabuf(Message message) throws IOException {%n"
             + "         try {%n"
             + "            %1$s m = (%1$s) message;%n"
-            + "            String classname = m.getClassname();%n"
-            + "            Map<%2$s, %3$s> map = (Map<%2$s, %3$s>) Class.forName(classname).newInstance();%n"
+            + "            Map<%2$s, %3$s> map = AggregateFactory.newMap(m.getClassname(), m.getDataCount());%n"
             + "            for (%1$s.Pair pair : m.getDataList()) {%n"
             + "               map.put((%2$s) %4$s, (%3$s) %5$s);%n"
             + "            }%n"
@@ -778,6 +1122,46 @@ public class JavabufTranslatorGenerator {
             + "         }%n"
             + "      }%n";
 
+    /*
+     * %1: key type
+     * %2: value type
+     * %3: javabuf type
+     * %4: entry translation
+     */
+    private static final String NATIVE_MAP_TO_JAVABUF = "       private static final BuilderPool<%3$s.Builder> BUILDERS = new BuilderPool<%3$s.Builder>(%3$s::newBuilder);%n"
+            + "%n"
+            + "       @Override%n"
+            + "       public Message assignToJavabuf(Object o) {%n"
+            + "           if (o == null) {%n"
+            + "              return null;%n"
+            + "           }%n"
+            + "           java.util.Map<%1$s, %2$s> map = Utility.checkProtobufMap((java.util.Map<%1$s, %2$s>) o);%n"
+            + "           %3$s.Builder builder = BUILDERS.acquire();%n"
+            + "           builder.setClassname(o.getClass().getName());%n"
+            + "%4$s"
+            + "           return BUILDERS.build(builder);%n"
+            + "       }%n";
+
+    /*
+     * %1: javabuf class name
+     * %2: key type
+     * %3: value type
+     * %4: entry translation
+     */
+    private static final String NATIVE_MAP_FROM_JAVABUF = "   public static class %1$s_FromJavabuf implements TranslateFromJavabuf {%n"
+            + "%n"
+            + "      @Override%n"
+            + "      public Object assignFromJavabuf(Message message) throws IOException {%n"
+            + "         try {%n"
+            + "            %1$s m = (%1$s) message;%n"
+            + "            Map<%2$s, %3$s> map = AggregateFactory.newMap(m.getClassname(), m.getDataCount());%n"
+            + "%4$s"
+            + "            return map;%n"
+            + "         } catch (Exception e) {%n"
+            + "            throw new RuntimeException(e);%n"
+            + "         }%n"
+            + "      }%n";
+
     /*
      * %1: key type
      * %2: value type
@@ -785,24 +1169,26 @@ public class JavabufTranslatorGenerator {
      * %4: key translation
      * %5: value translation
      */
-    private static final String MULTIMAP_TO_JAVABUF = "%n"
+    private static final String MULTIMAP_TO_JAVABUF = "       private static final BuilderPool<%3$s.Builder> BUILDERS = new BuilderPool<%3$s.Builder>(%3$s::newBuilder);%n"
+            + "       private static final BuilderPool<%3$s.Pair.Builder> PAIR_BUILDERS = new BuilderPool<%3$s.Pair.Builder>(%3$s.Pair::newBuilder);%n"
+            + "%n"
             + "       @Override%n"
             + "       public Message assignToJavabuf(Object o) {%n"
             + "           if (o == null) {%n"
             + "              return null;%n"
             + "           }%n"
             + "           jakarta.ws.rs.core.MultivaluedMap<%1$s, %2$s> map = (jakarta.ws.rs.core.MultivaluedMap<%1$s, %2$s>) o;%n"
-            + "           %3$s.Builder builder = %3$s.newBuilder();%n"
+            + "           %3$s.Builder builder = BUILDERS.acquire();%n"
             + "           builder.setClassname(o.getClass().getName());%n"
-            + "           %3$s.Pair.Builder pairBuilder = %3$s.Pair.newBuilder();%n"
-            + "           FieldDescriptor fd = %3$s.getDescriptor().findFieldByName(\"data\");%n"
+            + "           %3$s.Pair.Builder pairBuilder = PAIR_BUILDERS.acquire();%n"
             + "           for (java.util.Map.Entry<%1$s, List<%2$s>> entry : map.entrySet()) {%n"
             + "               for (%2$s value : (List<%2$s>) entry.getValue()) {%n"
-            + "                  builder.addRepeatedField(fd, pairBuilder.setKey(%4$s).setValue(%5$s).build());%n"
+            + "                  builder.addData(pairBuilder.setKey(%4$s).setValue(%5$s).build());%n"
             + "                  pairBuilder.clear();%n"
             + "                }%n"
             + "           }%n"
-            + "           return builder.build();%n"
+            + "           PAIR_BUILDERS.release(pairBuilder);%n"
+            + "           return BUILDERS.build(builder);%n"
             + "       }%n";
 
     /*
@@ -818,8 +1204,7 @@ public class JavabufTranslatorGenerator {
             + "      public Object assignFromJavabuf(Message message) throws IOException {%n"
             + "         try {%n"
             + "            %1$s m = (%1$s) message;%n"
-            + "            String classname = m.getClassname();%n"
-            + "            MultivaluedMap<%2$s, %3$s> map = (MultivaluedMap<%2$s, %3$s>) Class.forName(classname).newInstance();%n"
+            + "            MultivaluedMap<%2$s, %3$s> map = AggregateFactory.newMultivaluedMap(m.getClassname(), m.getDataCount());%n"
             + "            for (%1$s.Pair pair : m.getDataList()) {%n"
             + "               map.add((%2$s) %4$s, (%3$s) %5$s);%n"
             + "            }%n"
@@ -829,65 +1214,50 @@ public class JavabufTranslatorGenerator {
             + "         }%n"
             + "      }%n";
 
-    private static final String RECORD_FROM_JAVABUF = "%n"
-            + "   public static class %1$s_FromJavabuf implements TranslateFromJavabuf {%n"
-            + "      private static Descriptor descriptor = %1$s.getDescriptor();%n"
-            + "      private static List<AssignFromJavabuf> assignList = new ArrayList<AssignFromJavabuf>();%n"
-            + "%n"
-            + "      static {%n"
-            + "         for (FieldDescriptor f : descriptor.getFields()) {%n"
-            + "            String name = f.getName();%n"
-            + "            if (descriptor.findFieldByName(name) == null) {%n"
-            + "               continue;%n"
-            + "            }%n"
-            + "            assignList.add(fromJavabuf(%2$s.class, descriptor.findFieldByName(name)));%n"
-            + "         }%n"
-            + "      }%n"
-            + "%n"
-            + "      @Override%n"
-            + "      public %2$s assignFromJavabuf(Message message) {%n"
-            + "         HolderMap map = new HolderMap();%n"
-            + "         for (AssignFromJavabuf assignFrom : assignList) {%n"
-            + "            try {%n"
-            + "               assignFrom.assign(message, map);%n"
-            + "            } catch (Exception e) {%n"
-            + "               throw new RuntimeException(e);%n"
-            + "            }%n"
-            + "         }%n"
-            + "         return new %2$s(%4$s);%n"
-            + "      }%n";
-
-    private static final String RAW_AGGREGATE_TO_JAVABUF = "   private static TranslateToJavabuf rawAggregateTranslationToJavabuf(Object o) {%n"
-            + "      if (List.class.isAssignableFrom(o.getClass())) {%n"
-            + "         return new java_util___List_ToJavabuf();%n"
-            + "      } else if (Set.class.isAssignableFrom(o.getClass())) {%n"
-            + "         return new java_util___Set_ToJavabuf();%n"
-            + "      } else if (Map.class.isAssignableFrom(o.getClass())) {%n"
-            + "         return new java_util___Map_ToJavabuf();%n"
+    private static final String RAW_AGGREGATE_TO_JAVABUF = "   private static final TranslateToJavabuf RAW_LIST_TO_JAVABUF = new java_util___List_ToJavabuf();%n"
+            + "   private static final TranslateToJavabuf RAW_SET_TO_JAVABUF = new java_util___Set_ToJavabuf();%n"
+            + "   private static final TranslateToJavabuf RAW_MAP_TO_JAVABUF = new java_util___Map_ToJavabuf();%n%n"
+            + "   private static TranslateToJavabuf rawAggregateTranslationToJavabuf(Object o) {%n"
+            + "      if (o instanceof List) {%n"
+            + "         return RAW_LIST_TO_JAVABUF;%n"
+            + "      } else if (o instanceof Set) {%n"
+            + "         return RAW_SET_TO_JAVABUF;%n"
+            + "      } else if (o instanceof Map) {%n"
+            + "         return RAW_MAP_TO_JAVABUF;%n"
             + "      }%n"
             + "      return null;%n"
             + "   }%n%n";
 
-    private static final String RAW_AGGREGATE_FROM_JAVABUF = "   private static TranslateFromJavabuf rawAggregateTranslationFromJavabuf(String classname, Object o) {%n"
-            + "      try {%n"
-            + "         Class<?> clazz = Class.forName(classname);%n"
+    private static final String RAW_AGGREGATE_FROM_JAVABUF = "   private static final TranslateFromJavabuf RAW_LIST_FROM_JAVABUF = new java_util___List_FromJavabuf();%n"
+            + "   private static final TranslateFromJavabuf RAW_SET_FROM_JAVABUF = new java_util___Set_FromJavabuf();%n"
+            + "   private static final TranslateFromJavabuf RAW_MAP_FROM_JAVABUF = new java_util___Map_FromJavabuf();%n%n"
+            + "   private static final TranslateFromJavabuf NO_RAW_AGGREGATE = message -> null;%n"
+            + "   private static final Map<String, TranslateFromJavabuf> RAW_AGGREGATES = new java.util.concurrent.ConcurrentHashMap<String, TranslateFromJavabuf>();%n%n"
+            + "   // classname is the name of a message type in the .proto file, so the cache is bounded%n"
+            + "   private static TranslateFromJavabuf rawAggregateTranslationFromJavabuf(String classname, Object o) {%n"
+            + "      TranslateFromJavabuf tfj = RAW_AGGREGATES.computeIfAbsent(classname, c -> {%n"
+            + "         Class<?> clazz;%n"
+            + "         try {%n"
+            + "            clazz = Class.forName(c, false, INSTANCE.getClass().getClassLoader());%n"
+            + "         } catch (ClassNotFoundException e) {%n"
+            + "            return NO_RAW_AGGREGATE;%n"
+            + "         }%n"
             + "         if (List.class.isAssignableFrom(clazz)) {%n"
-            + "            return new java_util___List_FromJavabuf();%n"
+            + "            return RAW_LIST_FROM_JAVABUF;%n"
             + "         } else if (Set.class.isAssignableFrom(clazz)) {%n"
-            + "            return new java_util___Set_FromJavabuf();%n"
+            + "            return RAW_SET_FROM_JAVABUF;%n"
             + "         } else if (Map.class.isAssignableFrom(clazz)) {%n"
-            + "            return new java_util___Map_FromJavabuf();%n"
+            + "            return RAW_MAP_FROM_JAVABUF;%n"
             + "         }%n"
-            + "         return null;%n"
-            + "      } catch (Exception e) {%n"
-            + "         throw new RuntimeException(e);%n"
-            + "      }%n"
+            + "         return NO_RAW_AGGREGATE;%n"
+            + "      });%n"
+            + "      return tfj == NO_RAW_AGGREGATE ? null : tfj;%n"
             + "   }%n%n";
 
     private static final String TO_PRIMITIVE_JAVABUF_ARRAY = "   private static void toPrimitiveJavabufArray(Builder builder, FieldDescriptor fd, Class<?> componentType,%n"
             + "           Object array) {%n"
             + "       if (byte.class.equals(componentType) || Byte.class.equals(componentType)) {%n"
-            + "           builder.setField(fd, ByteString.copyFrom((byte[]) array));%n"
+            + "           builder.setField(fd, ZeroCopy.wrap((byte[]) array));%n"
             + "       } else if (char.class.equals(componentType)) {%n"
             + "           builder.setField(fd, charsToString(array));%n"
             + "       } else if (boolean.class.equals(componentType)) {%n"
@@ -1024,6 +1394,28 @@ public class JavabufTranslatorGenerator {
         PRIMITIVE_DEFAULTS.put(double.class, "0.0d");
         PRIMITIVE_DEFAULTS.put(char.class, "'\\u0000'");
 
+        WELL_KNOWN_TO_JAVABUF.put(Instant.class, "WellKnownTypes.toTimestamp(%s)");
+        WELL_KNOWN_TO_JAVABUF.put(Duration.class, "WellKnownTypes.toJavabufDuration(%s)");
+        WELL_KNOWN_TO_JAVABUF.put(LocalDate.class, "%s.toEpochDay()");
+        WELL_KNOWN_TO_JAVABUF.put(BigInteger.class, "WellKnownTypes.toBytes(%s)");
+        WELL_KNOWN_FROM_JAVABUF.put(Instant.class, "WellKnownTypes.toInstant(%s)");
+        WELL_KNOWN_FROM_JAVABUF.put(Duration.class, "WellKnownTypes.toDuration(%s)");
+        WELL_KNOWN_FROM_JAVABUF.put(LocalDate.class, "java.time.LocalDate.ofEpochDay(%s)");
+        WELL_KNOWN_FROM_JAVABUF.put(BigInteger.class, "WellKnownTypes.toBigInteger(%s)");
+
+        RAW_ARRAY_TYPES.put("int", "Ints");
+        RAW_ARRAY_TYPES.put("long", "Longs");
+        RAW_ARRAY_TYPES.put("float", "Floats");
+        RAW_ARRAY_TYPES.put("double", "Doubles");
+
+        WRAPPER_DEFAULTS.put("Boolean", "false");
+        WRAPPER_DEFAULTS.put("Short", "0");
+        WRAPPER_DEFAULTS.put("Integer", "0");
+        WRAPPER_DEFAULTS.put("Long", "0L");
+        WRAPPER_DEFAULTS.put("Float", "0.0f");
+        WRAPPER_DEFAULTS.put("Double", "0.0d");
+        WRAPPER_DEFAULTS.put("String", "\"\"");
+
         WRAPPER_TO_PRIMITIVE.put("Boolean", "boolean");
         WRAPPER_TO_PRIMITIVE.put("Byte", "byte");
         WRAPPER_TO_PRIMITIVE.put("Short", "short");
@@ -1255,10 +1647,17 @@ public class JavabufTranslatorGenerator {
             String simpleName = index < 0 ? args[1] : args[1].substring(index + 1);
             String translatorClass = simpleName + "JavabufTranslator";
             Class<?>[] wrappedClasses = getWrappedClasses(args);
+            for (Class<?> clazz : wrappedClasses) {
+                references |= hasReferenceFields(clazz);
+                dictionaries |= hasDictionaryFields(clazz);
+            }
+            // the body is generated first so that only the helpers it uses are imported
+            StringBuilder body = new StringBuilder();
+            classBody(args, wrappedClasses, body);
+            finishClass(body);
             StringBuilder sb = new StringBuilder();
-            classHeader(args, translatorClass, wrappedClasses, sb);
-            classBody(args, wrappedClasses, sb);
-            finishClass(sb);
+            classHeader(args, translatorClass, wrappedClasses, body.toString(), sb);
+            sb.append(body);
             writeTranslatorClass(args, translatorClass, sb);
         } catch (Exception e) {
             logger.error(e);
@@ -1356,7 +1755,12 @@ public class JavabufTranslatorGenerator {
         String valueTypeJava = line.substring(line.indexOf("->") + 2);
         KEY_TYPE_JAVA.put(javabufClassname, keyTypeJava);
         VALUE_TYPE_JAVA.put(javabufClassname, valueTypeJava);
-        reader.readLine();
+        line = reader.readLine();
+        if (line.startsWith("  map<")) {
+            // native protobuf map: javabuf types are found in createNativeMapToJavabuf() and createNativeMapFromJavabuf()
+            NATIVE_MAPS.add(javabufClassname);
+            return;
+        }
         line = reader.readLine();
         String keyTypeJavabuf = line.substring(4, line.indexOf(" ", 5));
         KEY_TYPE_JAVABUF.put(javabufClassname, keyTypeJavabuf);
@@ -1390,48 +1794,23 @@ public class JavabufTranslatorGenerator {
         }
     }
 
-    private static void classHeader(String[] args, String translatorClass, Class<?>[] wrappedClasses, StringBuilder sb) {
+    private static void classHeader(String[] args, String translatorClass, Class<?>[] wrappedClasses, String body,
+            StringBuilder sb) {
         sb.append("package ").append(wrappedClasses[0].getPackage().getName()).append(";" + LS + LS);
-        imports(wrappedClasses, sb, args);
+        imports(wrappedClasses, body, sb, args);
         sb.append("@SuppressWarnings({\"deprecation\", \"rawtypes\", \"unchecked\"})" + LS);
         sb.append("public class ")
                 .append(translatorClass)
                 .append(" implements JavabufTranslator {" + LS);
     }
 
-    private static void imports(Class<?>[] wrappedClasses, StringBuilder sb, String[] args) {
-        sb.append("import jakarta.ws.rs.core.GenericType;" + LS)
-                .append("import jakarta.ws.rs.core.MultivaluedMap;" + LS)
-                .append("import java.lang.reflect.Array;" + LS)
-                .append("import java.lang.reflect.Constructor;" + LS)
-                .append("import java.lang.reflect.Field;" + LS)
-                .append("import java.lang.reflect.Method;" + LS)
-                .append("import java.lang.reflect.Type;" + LS)
-                .append("import java.util.AbstractList;" + LS)
-                .append("import java.util.ArrayList;" + LS)
-                .append("import java.util.HashMap;" + LS)
-                .append("import java.util.HashSet;" + LS)
-                .append("import java.util.Collection;" + LS)
-                .append("import java.util.List;" + LS)
-                .append("import java.util.Map;" + LS)
-                .append("import java.util.Set;" + LS)
-                .append("import com.google.protobuf.Any;" + LS)
-                .append("import com.google.protobuf.ByteString;" + LS)
-                .append("import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;" + LS)
-                .append("import com.google.protobuf.Descriptors;" + LS)
-                .append("import com.google.protobuf.Descriptors.Descriptor;" + LS)
-                .append("import com.google.protobuf.Descriptors.FieldDescriptor;" + LS)
-                .append("import com.google.protobuf.Message;" + LS)
-                .append("import com.google.protobuf.Message.Builder;" + LS)
-                .append("import ").append(HolderMap.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(Utility.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(AssignFromJavabuf.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(AssignToJavabuf.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(JavabufTranslator.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(ReturnJavaClass.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(TranslateFromJavabuf.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(TranslateToJavabuf.class.getCanonicalName()).append(";" + LS)
-                .append("import ").append(Messages.class.getCanonicalName()).append(";" + LS);
+    private static void imports(Class<?>[] wrappedClasses, String body, StringBuilder sb, String[] args) {
+        for (String helper : HELPER_IMPORTS) {
+            String simpleName = helper.substring(helper.lastIndexOf('.') + 1);
+            if (Pattern.compile("\\b" + simpleName + "\\b").matcher(body).find()) {
+                sb.append("import ").append(helper).append(";" + LS);
+            }
+        }
         for (Class<?> clazz : wrappedClasses) {
             if (IMPORTS.contains(clazz.getCanonicalName())) {
                 continue;
@@ -1472,6 +1851,7 @@ public class JavabufTranslatorGenerator {
                 sb.append("import ").append(s).append(";" + LS);
             } else if ("GeneralEntityMessage".equals(simpleName)
                     || "GeneralReturnMessage".equals(simpleName)
+                    || isRpcMessage(simpleName)
                     || "ServletInfo".equals(simpleName)
                     || "gNewCookie".equals(simpleName)
                     || "gCookie".equals(simpleName)
@@ -1505,12 +1885,12 @@ public class JavabufTranslatorGenerator {
                 }
             }
         }
-        sb.append("import java.io.IOException;" + LS).append("import java.io.InputStream;" + LS);
         sb.append("" + LS);
     }
 
     private static void classBody(String[] args, Class<?>[] wrappedClasses, StringBuilder sb) throws Exception {
         privateVariables(sb, args);
+        polymorphicOneofs(wrappedClasses, sb);
         staticInit(wrappedClasses, args, sb);
         publicMethods(sb, wrappedClasses[0], args);
         privateMethods(sb, wrappedClasses, args);
@@ -1518,11 +1898,12 @@ public class JavabufTranslatorGenerator {
                 .append("                     TranslateFromJavabuf and TranslateToJavabuf classes      " + LS)
                 .append("   ******************************************************************************************/" + LS);
         for (Class<?> clazz : wrappedClasses) {
-            if (clazz.isInterface()) {
+            if (clazz.isInterface() || clazz.isEnum()) {
                 continue;
             }
             String simpleName = clazz.getSimpleName();
-            if ("GeneralEntityMessage".equals(simpleName) || "GeneralReturnMessage".equals(simpleName)) {
+            if ("GeneralEntityMessage".equals(simpleName) || "GeneralReturnMessage".equals(simpleName)
+                    || isRpcMessage(simpleName)) {
                 continue;
             }
             createTranslator(args, clazz, sb);
@@ -1542,13 +1923,14 @@ public class JavabufTranslatorGenerator {
                     .append(ARRAY_CLASSES_FROM_JAVABUF.get(keyFrom)).append(");" + LS);
         }
         for (Class<?> clazz : classes) {
-            if (clazz.isInterface()) {
+            if (clazz.isInterface() || clazz.isEnum()) {
                 continue;
             }
             String simpleName = clazz.getSimpleName();
             if ("gEmpty".equals(simpleName)
                     || "GeneralEntityMessage".equals(simpleName)
                     || "GeneralReturnMessage".equals(simpleName)
+                    || isRpcMessage(simpleName)
                     || "ServletInfo".equals(simpleName)
                     || "gNewCookie".equals(simpleName)
                     || "gCookie".equals(simpleName)
@@ -1651,9 +2033,13 @@ public class JavabufTranslatorGenerator {
                 .append("         if (m.getName().startsWith(\"set\")) {" + LS)
                 .append("            arraySetters.put(m.getParameterTypes()[0], m);" + LS)
                 .append("         }" + LS)
+                .append("      }" + LS)
+                .append("      for (Class<?> javabufClass : toJavabufClassMap.values()) {" + LS)
+                .append("         ANY_TYPES.register(javabufClass);" + LS)
                 .append("      }" + LS);
         sb.append("   }" + LS + LS);
         writeNormalizer(args, sb);
+        writeProtobufMessages(args, sb);
     }
 
     private static void writeNormalizer(String[] args, StringBuilder sb) {
@@ -1680,6 +2066,30 @@ public class JavabufTranslatorGenerator {
 
     }
 
+    // Protobuf messages used as is by resource methods, as listed by JavaToProtobufGenerator
+    private static void writeProtobufMessages(String[] args, StringBuilder sb) {
+        Path file = Paths.get(args[4], "protobufMessages");
+        if (!Files.exists(file)) {
+            return;
+        }
+        sb.append("   static {" + LS);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                sb.append("      PROTOBUF_MESSAGES.add(").append(line).append(".class);" + LS);
+                line = reader.readLine();
+            }
+            sb.append("   }" + LS + LS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Request and response messages generated for a single rpc with -DperRpcMessages=true
+    private static boolean isRpcMessage(String simpleName) {
+        return simpleName.endsWith(RPC_REQUEST) || simpleName.endsWith(RPC_RESPONSE);
+    }
+
     private static boolean isAbstractOrInterface(Class<?> clazz) throws ClassNotFoundException {
         if (clazz.getName().endsWith("___Array") || clazz.getName().endsWith("___WArray")) {
             return false;
@@ -1700,7 +2110,7 @@ public class JavabufTranslatorGenerator {
                 .append("   ******************************************************************************************/" + LS)
                 .append("   @Override" + LS)
                 .append("   public boolean handlesFromJavabuf(Type genericType, Class<?> clazz) {" + LS)
-                .append("      return clazz.isPrimitive() || " + LS)
+                .append("      return clazz.isPrimitive() || PROTOBUF_MESSAGES.contains(clazz) || " + LS)
                 .append("         (genericType != null && toJavabufMap.containsKey(simplifyTypeName(normalize(genericType).getTypeName()))) || "
                         + LS)
                 .append("         toJavabufMap.containsKey(clazz.getName());" + LS)
@@ -1708,15 +2118,27 @@ public class JavabufTranslatorGenerator {
 
                 .append("   @Override" + LS)
                 .append("   public boolean handlesToJavabuf(Type genericType, Class<?> clazz) {" + LS)
-                .append("      return clazz.isPrimitive() || " + LS)
+                .append("      return clazz.isPrimitive() || PROTOBUF_MESSAGES.contains(clazz) || " + LS)
                 .append("         (genericType != null && toJavabufMap.containsKey(simplifyTypeName(normalize(genericType).getTypeName()))) || "
                         + LS)
                 .append("         toJavabufMap.containsKey(clazz.getName());" + LS)
-                .append("   }" + LS + LS)
-
-                .append("   @Override" + LS)
-                .append("   public Object translateFromJavabuf(Message message) {" + LS)
-                .append("      String s = null;" + LS)
+                .append("   }" + LS + LS);
+        if (isScoped()) {
+            sb.append("   @Override" + LS)
+                    .append("   public Object translateFromJavabuf(Message message) {" + LS)
+                    .append("      ReferenceScope.enter();" + LS)
+                    .append("      try {" + LS)
+                    .append("         return translateFromJavabufInScope(message);" + LS)
+                    .append("      } finally {" + LS)
+                    .append("         ReferenceScope.exit();" + LS)
+                    .append("      }" + LS)
+                    .append("   }" + LS + LS)
+                    .append("   private Object translateFromJavabufInScope(Message message) {" + LS);
+        } else {
+            sb.append("   @Override" + LS)
+                    .append("   public Object translateFromJavabuf(Message message) {" + LS);
+        }
+        sb.append("      String s = null;" + LS)
                 .append("      try {" + LS)
                 .append("         s = message.getDescriptorForType().getFullName();" + LS)
                 .append("         s = s.substring(s.lastIndexOf(\".\") + 1);" + LS)
@@ -1724,6 +2146,9 @@ public class JavabufTranslatorGenerator {
                 .append("         if (tfj == null) {" + LS)
                 .append("            tfj = rawAggregateTranslationFromJavabuf(s, message);" + LS)
                 .append("         }" + LS)
+                .append("         if (tfj == null && PROTOBUF_MESSAGES.contains(message.getClass())) {" + LS)
+                .append("            return message; // a protobuf message used as is by the resource" + LS)
+                .append("         }" + LS)
                 .append("         if (tfj == null) {" + LS)
                 .append("            throw Messages.MESSAGES.dontRecognizeType(message.getClass().getName());"
                         + LS)
@@ -1737,11 +2162,41 @@ public class JavabufTranslatorGenerator {
                 .append("   @Override" + LS)
                 .append("   public Message translateToJavabuf(Object o) {" + LS)
                 .append("      return translateToJavabuf(o, null);" + LS)
-                .append("   }" + LS + LS)
-
-                .append("   @Override" + LS)
-                .append("   public Message translateToJavabuf(Object o, GenericType genericType) {" + LS)
-                .append("      TranslateToJavabuf ttj = null;" + LS)
+                .append("   }" + LS + LS);
+        if (isScoped()) {
+            sb.append("   @Override" + LS)
+                    .append("   public Message translateToJavabuf(Object o, GenericType genericType) {" + LS);
+            if (!dictionaries) {
+                sb.append("      if (!TranslationOptions.PRESERVE_REFERENCES) {" + LS)
+                        .append("         return translateToJavabufInScope(o, genericType);" + LS)
+                        .append("      }" + LS);
+            }
+            sb.append("      ReferenceScope.enter();" + LS)
+                    .append("      try {" + LS)
+                    .append("         return translateToJavabufInScope(o, genericType);" + LS)
+                    .append("      } finally {" + LS)
+                    .append("         ReferenceScope.exit();" + LS)
+                    .append("      }" + LS)
+                    .append("   }" + LS + LS)
+                    .append("   private Message translateToJavabufInScope(Object o, GenericType genericType) {" + LS);
+        } else {
+            sb.append("   @Override" + LS)
+                    .append("   public Message translateToJavabuf(Object o, GenericType genericType) {" + LS);
+        }
+        sb.append("      if (o instanceof Message && PROTOBUF_MESSAGES.contains(o.getClass())) {" + LS)
+                .append("         return (Message) o; // a protobuf message used as is by the resource" + LS)
+                .append("      }" + LS);
+        if (isScoped()) {
+            // A message is memoized only if it is translated in a scope of its own
+            sb.append("      boolean memoize = ReferenceScope.isOutermost();" + LS)
+                    .append("      Message memoized = memoize ? TranslationCache.get(o, this, genericType) : null;" + LS);
+        } else {
+            sb.append("      Message memoized = TranslationCache.get(o, this, genericType);" + LS);
+        }
+        sb.append("      if (memoized != null) {" + LS)
+                .append("         return memoized;" + LS)
+                .append("      }" + LS);
+        sb.append("      TranslateToJavabuf ttj = null;" + LS)
                 .append("      if (genericType != null) {" + LS)
                 .append("         GenericType<?> gt = normalize(genericType);" + LS)
                 .append("         ttj = toJavabufMap.get(simplifyTypeName(gt.getType().toString()));" + LS)
@@ -1762,7 +2217,10 @@ public class JavabufTranslatorGenerator {
                 .append("         throw Messages.MESSAGES.dontRecognizeType(o.getClass().getName());"
                         + LS)
                 .append("      }" + LS)
-                .append("      return ttj.assignToJavabuf(o);" + LS)
+                .append(isScoped()
+                        ? "      return memoize ? TranslationCache.put(o, this, genericType, ttj.assignToJavabuf(o))"
+                                + " : ttj.assignToJavabuf(o);" + LS
+                        : "      return TranslationCache.put(o, this, genericType, ttj.assignToJavabuf(o));" + LS)
                 .append("   }" + LS + LS)
 
                 .append("   @Override" + LS)
@@ -1780,6 +2238,11 @@ public class JavabufTranslatorGenerator {
                 .append("      return \"").append(clazz.getDeclaringClass().getName()).append("\";" + LS)
                 .append("   }" + LS + LS)
 
+                .append("   @Override" + LS)
+                .append("   public AnyTypeRegistry getAnyTypeRegistry() {" + LS)
+                .append("      return ANY_TYPES;" + LS)
+                .append("   }" + LS + LS)
+
                 .append("   @Override" + LS)
                 .append("   public GenericType<?> normalize(GenericType<?> genericType) {" + LS)
                 .append("      if (NORMALIZER.containsKey(simplifyTypeName(genericType.getType().getTypeName()))) {" + LS)
@@ -1811,6 +2274,7 @@ public class JavabufTranslatorGenerator {
                 "   private static Map<String, TranslateFromJavabuf> fromJavabufMap = new HashMap<String, TranslateFromJavabuf>();"
                         + LS);
         sb.append("   private static Set<Class<?>> WRAPPER_TYPES = new HashSet<Class<?>>();" + LS);
+        sb.append("   private static final Set<Class<?>> PROTOBUF_MESSAGES = new HashSet<Class<?>>();" + LS);
         sb.append(
                 "   private static Map<String, GenericType<?>> NORMALIZER = new HashMap<String, GenericType<?>>();" + LS);
         sb.append("   private static Map<String, Class> toJavabufClassMap = new HashMap<String, Class>();" + LS);
@@ -1818,41 +2282,188 @@ public class JavabufTranslatorGenerator {
                 + LS);
         sb.append("   private static final Map<Class<?>, Method> arraySetters = new HashMap<Class<?>, Method>();" + LS);
         sb.append("   private static Map<String, Constructor<?>> constructors = new HashMap<String, Constructor<?>>();" + LS);
+        sb.append("   private static final AnyTypeRegistry ANY_TYPES = new AnyTypeRegistry(INSTANCE);" + LS);
+        sb.append("   private static final Map<String, AssignToJavabuf> ONEOF_TO_JAVABUF = new HashMap<String, AssignToJavabuf>();"
+                + LS);
+        sb.append(
+                "   private static final Map<String, TranslateFromJavabuf> ONEOF_FROM_JAVABUF = new HashMap<String, TranslateFromJavabuf>();"
+                        + LS);
     }
 
-    private static void privateMethods(StringBuilder sb, Class<?>[] classes, String[] args) {
-        sb.append("   /******************************************************************************************" + LS)
-                .append("                                    private methods" + LS)
-                .append("   ******************************************************************************************/" + LS)
-                .append("   private static AssignToJavabuf toJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
-                .append("      try {" + LS)
-                .append("         AssignToJavabuf assignToJavabuf = (obj, messageBuilder) -> {" + LS)
-                .append("            try {" + LS)
-                .append("               if (obj == null) {" + LS)
-                .append("                  return;" + LS)
-                .append("               }" + LS)
-                .append("               final Field field = Utility.getField(clazz, fd.getName());" + LS)
-                .append("               field.setAccessible(true);" + LS)
-                .append("               if (field.getType().isArray() || (field.get(obj) != null && field.get(obj).getClass().isArray())) {"
-                        + LS)
-                .append("                  Object array = field.get(obj);" + LS)
-                .append("                  if (array == null) {" + LS)
-                .append("                     return;" + LS)
-                .append("                  }" + LS)
-                .append("                  Class<?> componentType = array.getClass().getComponentType();" + LS)
-                .append("                  if (isPrimitive(fd)) {" + LS)
-                .append("                     toPrimitiveJavabufArray(messageBuilder, fd, componentType, array);" + LS)
-                .append("                  } else {" + LS)
-                .append("                     messageBuilder.setField(fd, INSTANCE.translateToJavabuf(array));" + LS)
-                .append("                  }" + LS)
-                .append("               } else if (\".google.protobuf.Any\".equals(fd.toProto().getTypeName())) {" + LS)
-                .append("                  if (field.get(obj) != null) {" + LS)
-                .append("                     Class<?> c = field.get(obj).getClass();" + LS)
-                .append("                     if (Any.class.equals(c)) {" + LS)
-                .append("                        messageBuilder.setField(fd, field.get(obj));" + LS)
-                .append("                     } else {" + LS)
-                .append("                        Message message = toJavabufMap.get(c.getName()).assignToJavabuf(field.get(obj));"
-                        + LS)
+    /*
+     * Each oneof generated by JavaToProtobufGenerator for a field declared as an interface or abstract
+     * class gets a method that assigns a value to the member for its class, and a method that switches
+     * on the oneof case. The class of the value is compared exactly, so that a subclass with no member
+     * of its own goes to the google.protobuf.Any member rather than to the member of its superclass.
+     * The methods are registered by the full name of the oneof, for the reflective translators, before
+     * any translator is created.
+     */
+    private static void polymorphicOneofs(Class<?>[] classes, StringBuilder sb) throws Exception {
+        StringBuilder registrations = new StringBuilder();
+        StringBuilder methods = new StringBuilder();
+        for (Class<?> clazz : classes) {
+            if (clazz.isInterface() || !Message.class.isAssignableFrom(clazz)) {
+                continue;
+            }
+            Descriptor descriptor = (Descriptor) clazz.getMethod("getDescriptor").invoke(null);
+            for (OneofDescriptor oneof : descriptor.getRealOneofs()) {
+                if (!oneof.getName().endsWith(JavaToProtobufGenerator.POLYMORPHIC_ONEOF_SUFFIX)) {
+                    continue;
+                }
+                String set = oneofSetter(clazz, oneof);
+                String get = oneofGetter(clazz, oneof);
+                registrations.append("      ONEOF_TO_JAVABUF.put(\"").append(oneof.getFullName())
+                        .append("\", (obj, builder) -> ").append(set).append("(builder, obj));" + LS)
+                        .append("      ONEOF_FROM_JAVABUF.put(\"").append(oneof.getFullName())
+                        .append("\", message -> ").append(get).append("(message));" + LS);
+                createOneofToJavabuf(clazz, oneof, set, methods);
+                createOneofFromJavabuf(clazz, oneof, get, methods);
+            }
+        }
+        if (registrations.length() > 0) {
+            sb.append(LS + "   static {" + LS)
+                    .append(registrations)
+                    .append("   }" + LS + LS)
+                    .append(methods);
+        }
+    }
+
+    private static void createOneofToJavabuf(Class<?> clazz, OneofDescriptor oneof, String name, StringBuilder sb)
+            throws Exception {
+        String builderClass = clazz.getCanonicalName() + ".Builder";
+        sb.append("   private static void ").append(name).append("(Message.Builder b, Object obj) {" + LS)
+                .append("      ").append(builderClass).append(" builder = (").append(builderClass).append(") b;" + LS)
+                .append("      Class<?> type = obj.getClass();" + LS);
+        String any = null;
+        String prefix = "      if";
+        for (FieldDescriptor fd : oneof.getFields()) {
+            Method getter = getJavabufGetter(clazz, fd);
+            String setter = "set" + getter.getName().substring(3);
+            if (Any.getDescriptor() == fd.getMessageType()) {
+                any = setter;
+                continue;
+            }
+            Class<?> javabufClass = getter.getReturnType();
+            sb.append(prefix).append(" (type == ").append(getJavabufClassValue(javabufClass.getSimpleName(), false, true))
+                    .append(") {" + LS)
+                    .append("         builder.").append(setter).append("((").append(javabufClass.getCanonicalName())
+                    .append(") INSTANCE.translateToJavabuf(obj));" + LS);
+            prefix = "      } else if";
+        }
+        if (!"      if".equals(prefix)) {
+            sb.append("      } else {" + LS)
+                    .append("   ");
+        }
+        sb.append("      builder.").append(any).append("(Any.pack(INSTANCE.translateToJavabuf(obj)));" + LS);
+        if (!"      if".equals(prefix)) {
+            sb.append("      }" + LS);
+        }
+        sb.append("   }" + LS + LS);
+    }
+
+    private static void createOneofFromJavabuf(Class<?> clazz, OneofDescriptor oneof, String name, StringBuilder sb)
+            throws Exception {
+        Method caseGetter = getOneofCaseGetter(clazz, oneof);
+        sb.append("   private static Object ").append(name).append("(Message message) throws IOException {" + LS)
+                .append("      ").append(clazz.getCanonicalName()).append(" m = (").append(clazz.getCanonicalName())
+                .append(") message;" + LS)
+                .append("      switch (m.").append(caseGetter.getName()).append("()) {" + LS);
+        for (FieldDescriptor fd : oneof.getFields()) {
+            String getter = "m." + getJavabufGetter(clazz, fd).getName() + "()";
+            sb.append("         case ").append(oneofCase(caseGetter.getReturnType(), fd)).append(":" + LS);
+            if (Any.getDescriptor() == fd.getMessageType()) {
+                sb.append("            return INSTANCE.translateFromJavabuf(ANY_TYPES.unpack(").append(getter).append("));" + LS);
+            } else {
+                sb.append("            return INSTANCE.translateFromJavabuf(").append(getter).append(");" + LS);
+            }
+        }
+        sb.append("         default:" + LS)
+                .append("            return null;" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS);
+    }
+
+    private static String oneofSetter(Class<?> clazz, OneofDescriptor oneof) {
+        return "setOneof_" + clazz.getSimpleName() + "_" + oneof.getName();
+    }
+
+    private static String oneofGetter(Class<?> clazz, OneofDescriptor oneof) {
+        return "getOneof_" + clazz.getSimpleName() + "_" + oneof.getName();
+    }
+
+    /*
+     * Returns the method of a javabuf class that returns the case of a oneof, recognized by the
+     * field numbers of its enum constants.
+     */
+    private static Method getOneofCaseGetter(Class<?> clazz, OneofDescriptor oneof) throws Exception {
+        for (Method method : clazz.getMethods()) {
+            if (method.getParameterCount() == 0 && method.getName().endsWith("Case") && method.getReturnType().isEnum()
+                    && oneofCase(method.getReturnType(), oneof.getField(0)) != null) {
+                return method;
+            }
+        }
+        throw Messages.MESSAGES.notFound(clazz.getName() + "." + oneof.getName());
+    }
+
+    private static String oneofCase(Class<?> caseClass, FieldDescriptor fd) throws Exception {
+        for (Object constant : caseClass.getEnumConstants()) {
+            if (((Integer) caseClass.getMethod("getNumber").invoke(constant)) == fd.getNumber()) {
+                return ((Enum<?>) constant).name();
+            }
+        }
+        return null;
+    }
+
+    private static void privateMethods(StringBuilder sb, Class<?>[] classes, String[] args) {
+        sb.append("   /******************************************************************************************" + LS)
+                .append("                                    private methods" + LS)
+                .append("   ******************************************************************************************/" + LS)
+                .append("   private static AssignToJavabuf toJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
+                .append("      try {" + LS)
+                .append("         if (ReferenceScope.isReferenceField(fd)) {" + LS)
+                .append("            return (obj, messageBuilder) -> {" + LS)
+                .append("            };" + LS)
+                .append("         }" + LS)
+                .append("         if (isPolymorphic(fd)) {" + LS)
+                .append("            return polymorphicToJavabuf(clazz, fd);" + LS)
+                .append("         }" + LS)
+                .append("         if (isDictionary(fd)) {" + LS)
+                .append("            return dictionaryToJavabuf(clazz, fd);" + LS)
+                .append("         }" + LS)
+                .append("         if (Descriptors.FieldDescriptor.JavaType.ENUM.equals(fd.getJavaType()) && !fd.isRepeated()) {" + LS)
+                .append("            return enumToJavabuf(clazz, fd);" + LS)
+                .append("         }" + LS)
+                .append("         AssignToJavabuf wellKnown = wellKnownToJavabuf(clazz, fd);" + LS)
+                .append("         if (wellKnown != null) {" + LS)
+                .append("            return wellKnown;" + LS)
+                .append("         }" + LS)
+                .append("         AssignToJavabuf assignToJavabuf = (obj, messageBuilder) -> {" + LS)
+                .append("            try {" + LS)
+                .append("               if (obj == null) {" + LS)
+                .append("                  return;" + LS)
+                .append("               }" + LS)
+                .append("               final Field field = Utility.getField(clazz, fd.getName());" + LS)
+                .append("               field.setAccessible(true);" + LS)
+                .append("               if (field.getType().isArray() || (field.get(obj) != null && field.get(obj).getClass().isArray())) {"
+                        + LS)
+                .append("                  Object array = field.get(obj);" + LS)
+                .append("                  if (array == null) {" + LS)
+                .append("                     return;" + LS)
+                .append("                  }" + LS)
+                .append("                  Class<?> componentType = array.getClass().getComponentType();" + LS)
+                .append("                  if (isPrimitive(fd)) {" + LS)
+                .append("                     toPrimitiveJavabufArray(messageBuilder, fd, componentType, array);" + LS)
+                .append("                  } else {" + LS)
+                .append("                     messageBuilder.setField(fd, INSTANCE.translateToJavabuf(array));" + LS)
+                .append("                  }" + LS)
+                .append("               } else if (\".google.protobuf.Any\".equals(fd.toProto().getTypeName())) {" + LS)
+                .append("                  if (field.get(obj) != null) {" + LS)
+                .append("                     Class<?> c = field.get(obj).getClass();" + LS)
+                .append("                     if (Any.class.equals(c)) {" + LS)
+                .append("                        messageBuilder.setField(fd, field.get(obj));" + LS)
+                .append("                     } else {" + LS)
+                .append("                        Message message = toJavabufMap.get(c.getName()).assignToJavabuf(field.get(obj));"
+                        + LS)
                 .append("                        messageBuilder.setField(fd, Any.pack(message));" + LS)
                 .append("                     }" + LS)
                 .append("                  }" + LS)
@@ -1891,7 +2502,7 @@ public class JavabufTranslatorGenerator {
                 .append("                     messageBuilder.setField(fd, String.valueOf(c));" + LS)
                 .append("                  } else if (Descriptors.FieldDescriptor.JavaType.BYTE_STRING.equals(fd.getJavaType())) {"
                         + LS)
-                .append("                     ByteString bs = ByteString.copyFrom((byte[]) field.get(obj));" + LS)
+                .append("                     ByteString bs = ZeroCopy.wrap((byte[]) field.get(obj));" + LS)
                 .append("                     messageBuilder.setField(fd, bs);" + LS)
                 .append("                  } else {" + LS)
                 .append("                     messageBuilder.setField(fd, field.get(obj));" + LS)
@@ -1908,6 +2519,20 @@ public class JavabufTranslatorGenerator {
                 .append("   }" + LS + LS);
         sb.append("   private static AssignFromJavabuf fromJavabuf(Class<?> javaClass, FieldDescriptor fd) {" + LS)
                 .append("      try {" + LS)
+                .append("         if (ReferenceScope.isReferenceField(fd)) {" + LS)
+                .append("            return (message, object) -> {" + LS)
+                .append("            };" + LS)
+                .append("         }" + LS)
+                .append("         if (isPolymorphic(fd)) {" + LS)
+                .append("            return polymorphicFromJavabuf(javaClass, fd);" + LS)
+                .append("         }" + LS)
+                .append("         if (isDictionary(fd)) {" + LS)
+                .append("            return dictionaryFromJavabuf(javaClass, fd);" + LS)
+                .append("         }" + LS)
+                .append("         AssignFromJavabuf wellKnown = wellKnownFromJavabuf(javaClass, fd);" + LS)
+                .append("         if (wellKnown != null) {" + LS)
+                .append("            return wellKnown;" + LS)
+                .append("         }" + LS)
                 .append("         AssignFromJavabuf assignFromJavabuf = (message, object) -> {" + LS)
                 .append("            try {" + LS)
                 .append("               final Field field = Utility.getField(javaClass, javabufClassToJavaClass(fd.getName()));"
@@ -1925,6 +2550,10 @@ public class JavabufTranslatorGenerator {
                 .append("                     Object array = toPrimitiveJavaArray(list, clazz);" + LS)
                 .append("                     Utility.setField(field, object, array, INSTANCE);" + LS)
                 .append("                  }" + LS)
+                .append("               } else if (Descriptors.FieldDescriptor.JavaType.ENUM.equals(fd.getJavaType())) {" + LS)
+                .append("                  int number = ((Descriptors.EnumValueDescriptor) message.getField(fd)).getNumber();" + LS)
+                .append("                  Utility.setField(field, object, EnumConstants.forNumber(field.getType(), number), INSTANCE);"
+                        + LS)
                 .append("               } else if (Descriptors.FieldDescriptor.Type.MESSAGE.equals(fd.getType())" + LS)
                 .append("                     && fromJavabufMap.keySet().contains(fd.getMessageType().getName())) {" + LS)
                 .append("                  if (message.hasField(fd)) {" + LS)
@@ -1946,7 +2575,7 @@ public class JavabufTranslatorGenerator {
                 .append("                     int i = ((Integer)ooo).intValue();" + LS)
                 .append("                     Utility.setField(field, object, Character.toChars(i)[0], INSTANCE);" + LS)
                 .append("                  } else if (ooo instanceof ByteString) {" + LS)
-                .append("                     Utility.setField(field, object, ((ByteString) ooo).newInput().readAllBytes(), INSTANCE);"
+                .append("                     Utility.setField(field, object, ((ByteString) ooo).toByteArray(), INSTANCE);"
                         + LS)
                 .append("                  } else {" + LS)
                 .append("                     Utility.setField(field, object, ooo, INSTANCE);" + LS)
@@ -1961,6 +2590,165 @@ public class JavabufTranslatorGenerator {
                 .append("         throw new RuntimeException(e);" + LS)
                 .append("      }" + LS)
                 .append("   }" + LS + LS);
+        sb.append("   // The conversion of a java.time, BigInteger, etc., field is chosen once, when assignList is built" + LS)
+                .append("   private static AssignToJavabuf wellKnownToJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
+                .append("      final Field field = Utility.getField(clazz, fd.getName());" + LS)
+                .append("      final java.util.function.Function<Object, Object> converter = field == null ? null" + LS)
+                .append("            : WellKnownTypes.toJavabufConverter(field.getType());" + LS)
+                .append("      if (converter == null) {" + LS)
+                .append("         return null;" + LS)
+                .append("      }" + LS)
+                .append("      field.setAccessible(true);" + LS)
+                .append("      return (obj, messageBuilder) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Object value = obj == null ? null : field.get(obj);" + LS)
+                .append("            if (value != null) {" + LS)
+                .append("               messageBuilder.setField(fd, converter.apply(value));" + LS)
+                .append("            }" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   // The protobuf enum values, indexed by the ordinals of the Java constants, are looked up once" + LS)
+                .append("   private static AssignToJavabuf enumToJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
+                .append("      final Field field = Utility.getField(clazz, fd.getName());" + LS)
+                .append("      field.setAccessible(true);" + LS)
+                .append("      final Descriptors.EnumValueDescriptor[] values = EnumConstants.values(fd.getEnumType());" + LS)
+                .append("      return (obj, messageBuilder) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Object value = obj == null ? null : field.get(obj);" + LS)
+                .append("            if (value != null) {" + LS)
+                .append("               messageBuilder.setField(fd, values[((Enum<?>) value).ordinal()]);" + LS)
+                .append("            }" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static AssignFromJavabuf wellKnownFromJavabuf(Class<?> javaClass, FieldDescriptor fd) {" + LS)
+                .append("      final Field field = Utility.getField(javaClass, javabufClassToJavaClass(fd.getName()));" + LS)
+                .append("      final java.util.function.Function<Object, Object> converter = field == null ? null" + LS)
+                .append("            : WellKnownTypes.fromJavabufConverter(field.getType());" + LS)
+                .append("      if (converter == null) {" + LS)
+                .append("         return null;" + LS)
+                .append("      }" + LS)
+                .append("      field.setAccessible(true);" + LS)
+                .append("      final boolean presence = fd.hasPresence();" + LS)
+                .append("      return (message, object) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Object value = presence && !message.hasField(fd) ? null : converter.apply(message.getField(fd));"
+                        + LS)
+                .append("            Utility.setField(field, object, value, INSTANCE);" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static boolean isPolymorphic(FieldDescriptor fd) {" + LS)
+                .append("      OneofDescriptor oneof = fd.getRealContainingOneof();" + LS)
+                .append("      return oneof != null && oneof.getName().endsWith(\"").append(JavaToProtobufGenerator.POLYMORPHIC_ONEOF_SUFFIX)
+                .append("\");" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   // A polymorphic field is assigned by the first member of its oneof" + LS)
+                .append("   private static AssignToJavabuf polymorphicToJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
+                .append("      OneofDescriptor oneof = fd.getRealContainingOneof();" + LS)
+                .append("      if (fd != oneof.getField(0)) {" + LS)
+                .append("         return (obj, messageBuilder) -> {" + LS)
+                .append("         };" + LS)
+                .append("      }" + LS)
+                .append("      final Field field = Utility.getField(clazz, fd.getName());" + LS)
+                .append("      field.setAccessible(true);" + LS)
+                .append("      final AssignToJavabuf setter = ONEOF_TO_JAVABUF.get(oneof.getFullName());" + LS)
+                .append("      return (obj, messageBuilder) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Object value = obj == null ? null : field.get(obj);" + LS)
+                .append("            if (value != null) {" + LS)
+                .append("               setter.assign(value, messageBuilder);" + LS)
+                .append("            }" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static AssignFromJavabuf polymorphicFromJavabuf(Class<?> javaClass, FieldDescriptor fd) {" + LS)
+                .append("      OneofDescriptor oneof = fd.getRealContainingOneof();" + LS)
+                .append("      if (fd != oneof.getField(0)) {" + LS)
+                .append("         return (message, object) -> {" + LS)
+                .append("         };" + LS)
+                .append("      }" + LS)
+                .append("      final Field field = Utility.getField(javaClass, fd.getName());" + LS)
+                .append("      final TranslateFromJavabuf getter = ONEOF_FROM_JAVABUF.get(oneof.getFullName());" + LS)
+                .append("      return (message, object) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Utility.setField(field, object, getter.assignFromJavabuf(message), INSTANCE);" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static boolean isDictionary(FieldDescriptor fd) {" + LS)
+                .append("      OneofDescriptor oneof = fd.getRealContainingOneof();" + LS)
+                .append("      return oneof != null && oneof.getName().endsWith(\"").append(JavaToProtobufGenerator.DICTIONARY_ONEOF_SUFFIX)
+                .append("\");" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   // A dictionary encoded field is assigned by the first member of its oneof, which holds the value" + LS)
+                .append("   private static AssignToJavabuf dictionaryToJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
+                .append("      if (fd != fd.getRealContainingOneof().getField(0)) {" + LS)
+                .append("         return (obj, messageBuilder) -> {" + LS)
+                .append("         };" + LS)
+                .append("      }" + LS)
+                .append("      final Field field = Utility.getField(clazz, fd.getName());" + LS)
+                .append("      field.setAccessible(true);" + LS)
+                .append("      return (obj, messageBuilder) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Object value = obj == null ? null : field.get(obj);" + LS)
+                .append("            if (value != null) {" + LS)
+                .append("               setDictionary(messageBuilder, fd, (String) value);" + LS)
+                .append("            }" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static AssignFromJavabuf dictionaryFromJavabuf(Class<?> javaClass, FieldDescriptor fd) {" + LS)
+                .append("      if (fd != fd.getRealContainingOneof().getField(0)) {" + LS)
+                .append("         return (message, object) -> {" + LS)
+                .append("         };" + LS)
+                .append("      }" + LS)
+                .append("      final Field field = Utility.getField(javaClass, fd.getName());" + LS)
+                .append("      return (message, object) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            Utility.setField(field, object, getDictionary(message, fd), INSTANCE);" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static void setDictionary(Message.Builder builder, FieldDescriptor fd, String s) {" + LS)
+                .append("      ReferenceScope scope = ReferenceScope.current();" + LS)
+                .append("      int index = scope == null ? 0 : scope.stringIndex(s);" + LS)
+                .append("      if (index > 0) {" + LS)
+                .append("         builder.setField(fd.getRealContainingOneof().getField(1), index);" + LS)
+                .append("      } else {" + LS)
+                .append("         builder.setField(fd, s);" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static String getDictionary(Message message, FieldDescriptor fd) {" + LS)
+                .append("      FieldDescriptor set = message.getOneofFieldDescriptor(fd.getRealContainingOneof());" + LS)
+                .append("      if (set == null) {" + LS)
+                .append("         return null;" + LS)
+                .append("      }" + LS)
+                .append("      if (set != fd) {" + LS)
+                .append("         return ReferenceScope.current().resolveString((Integer) message.getField(set));" + LS)
+                .append("      }" + LS)
+                .append("      String s = (String) message.getField(fd);" + LS)
+                .append("      ReferenceScope scope = ReferenceScope.current();" + LS)
+                .append("      if (scope != null) {" + LS)
+                .append("         scope.bindString(s);" + LS)
+                .append("      }" + LS)
+                .append("      return s;" + LS)
+                .append("   }" + LS + LS);
         sb.append("   private static String javabufClassToJavaClass(String fieldName) {" + LS)
                 .append("      int pos = fieldName.lastIndexOf(\"___\");" + LS)
                 .append("      if (pos >= 0) {" + LS)
@@ -1978,6 +2766,33 @@ public class JavabufTranslatorGenerator {
                 .append("      }" + LS)
                 .append("      return javabufToJava(s);" + LS)
                 .append("   }" + LS + LS);
+        // ttj is the translator of the declared type of fd, looked up once by messageTranslator(), if any
+        sb.append("   private static TranslateToJavabuf messageTranslator(FieldDescriptor fd) {" + LS)
+                .append("      return toJavabufMap.get(getTypeName(fd));" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static void setMessage(Message.Builder builder, FieldDescriptor fd, TranslateToJavabuf ttj, Object obj) {"
+                + LS)
+                .append("      if (ttj == null) {" + LS)
+                .append("         ttj = toJavabufMap.get(obj.getClass().getTypeName());" + LS)
+                .append("      }" + LS)
+                .append("      if (ttj == null) {" + LS)
+                .append("         throw Messages.MESSAGES.dontRecognizeType(obj.getClass().getName());" + LS)
+                .append("      }" + LS)
+                .append("      Message message = ttj.assignToJavabuf(obj);" + LS)
+                .append("      if (message != null) {" + LS)
+                .append("         builder.setField(fd, message);" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static Message packMatrix(Object x) {" + LS)
+                .append("      Object[] rows = (Object[]) x;" + LS)
+                .append("      dev_resteasy_grpc_arrays___ArrayHolder___WArray.Builder builder = dev_resteasy_grpc_arrays___ArrayHolder___WArray.newBuilder();"
+                        + LS)
+                .append("      for (int i = 0; i < rows.length; i++) {" + LS)
+                .append("         builder.addRowLengths(rows[i] == null ? -1 : Array.getLength(rows[i]));" + LS)
+                .append("      }" + LS)
+                .append("      return builder.setPackedValues(PackedMatrices.pack(rows))" + LS)
+                .append("            .setComponentType(x.getClass().getComponentType().getName()).build();" + LS)
+                .append("   }" + LS + LS);
         sb.append("   private static String javabufToJava(String name) {" + LS)
                 .append("      if (name.contains(\"___\")) {" + LS)
                 .append("         name = name.replace(\"___\", \".\");" + LS)
@@ -2163,7 +2978,7 @@ public class JavabufTranslatorGenerator {
             } else if (JAVA_WRAPPER_TYPES.contains(javaComponentClass)) {
                 if (isWrapper) {
                     sb.append(String.format(ArrayPrimitiveWrapperBuilderClass, javaComponentClass, javabufComponentClass,
-                            javaComponentClass));
+                            javaComponentClass, WRAPPER_DEFAULTS.get(javaComponentClass)));
                 } else {
                     String primitiveClass = WRAPPER_TO_PRIMITIVE.get(javaComponentClass);
                     methodClass = primitiveClass.substring(0, 1).toUpperCase() + primitiveClass.substring(1);
@@ -2174,7 +2989,8 @@ public class JavabufTranslatorGenerator {
                         sb.append(String.format(ArrayWrapperBuilderClassForCharArrays, primitiveClass, javaComponentClass,
                                 methodClass));
                     } else
-                        sb.append(String.format(ArrayPrimitiveBuilderClass, primitiveClass, javaComponentClass, methodClass));
+                        sb.append(String.format(ArrayPrimitiveBuilderClass, primitiveClass, javaComponentClass, methodClass,
+                                rawArrayToJavabuf(primitiveClass)));
                 }
             } else if ("dev_resteasy_grpc_arrays___Any".equals(javabufComponentClass)) {
                 sb.append(String.format(ARRAY_WRAPPER_BUILDER_FOR_ANY_WRAPPERS_TO_JAVABUF));
@@ -2186,41 +3002,9 @@ public class JavabufTranslatorGenerator {
                 sb.append(String.format(ArrayWrapperBuilderClass, javaComponentClass, javabufComponentClass, methodClass));
             }
         } else if (LISTS.containsKey(clazz.getSimpleName())) {
-            String assignment = null;
-            if (JAVA_WRAPPER_TYPES.contains(COLLECTION_TYPE.get(clazz.getSimpleName()))) {
-                assignment = "element";
-            } else if ("java.lang.Object".equals(COLLECTION_TYPE.get(clazz.getSimpleName()))) {
-                assignment = "Any.pack(INSTANCE.translateToJavabuf(element))";
-            } else if (LISTS.get(clazz.getSimpleName()).contains("<")) {
-                String generic = LISTS.get(clazz.getSimpleName());
-                int start = generic.indexOf('<');
-                generic = generic.substring(start + 1, generic.lastIndexOf('>'));
-                assignment = "INSTANCE.translateToJavabuf(element, new GenericType<" + generic + ">(){})";
-            } else {
-                assignment = "INSTANCE.translateToJavabuf(element)";
-            }
-            sb.append(String.format(ListOrSetToJavabuf,
-                    clazz.getSimpleName(),
-                    LISTS.get(clazz.getSimpleName()),
-                    assignment));
+            createListOrSetToJavabuf(clazz, LISTS.get(clazz.getSimpleName()), sb);
         } else if (SETS.containsKey(clazz.getSimpleName())) {
-            String assignment = null;
-            if (JAVA_WRAPPER_TYPES.contains(COLLECTION_TYPE.get(clazz.getSimpleName()))) {
-                assignment = "element";
-            } else if ("java.lang.Object".equals(COLLECTION_TYPE.get(clazz.getSimpleName()))) {
-                assignment = "Any.pack(INSTANCE.translateToJavabuf(element))";
-            } else if (SETS.get(clazz.getSimpleName()).contains("<")) {
-                String generic = SETS.get(clazz.getSimpleName());
-                int start = generic.indexOf('<');
-                generic = generic.substring(start + 1, generic.lastIndexOf('>'));
-                assignment = "INSTANCE.translateToJavabuf(element, new GenericType<" + generic + ">(){})";
-            } else {
-                assignment = "INSTANCE.translateToJavabuf(element)";
-            }
-            sb.append(String.format(ListOrSetToJavabuf,
-                    clazz.getSimpleName(),
-                    SETS.get(clazz.getSimpleName()),
-                    assignment));
+            createListOrSetToJavabuf(clazz, SETS.get(clazz.getSimpleName()), sb);
         } else if (MULTIMAPS.containsKey(clazz.getSimpleName())) {
             sb.append(String.format(MULTIMAP_TO_JAVABUF,
                     KEY_TYPE_JAVA.get(clazz.getSimpleName()),
@@ -2228,6 +3012,8 @@ public class JavabufTranslatorGenerator {
                     clazz.getSimpleName(),
                     getMultimapKeyAssignmentToJavabuf(clazz.getSimpleName(), KEY_TYPE_JAVA, KEY_TYPE_JAVABUF, "Key"),
                     getMultimapValueAssignmentToJavabuf(clazz.getSimpleName(), VALUE_TYPE_JAVA, VALUE_TYPE_JAVABUF)));
+        } else if (NATIVE_MAPS.contains(clazz.getSimpleName())) {
+            createNativeMapToJavabuf(clazz, sb);
         } else if (MAPS.containsKey(clazz.getSimpleName())) {
             sb.append(String.format(MAP_TO_JAVABUF,
                     KEY_TYPE_JAVA.get(clazz.getSimpleName()),
@@ -2235,10 +3021,22 @@ public class JavabufTranslatorGenerator {
                     clazz.getSimpleName(),
                     getMapAssignmentToJavabuf(clazz.getSimpleName(), KEY_TYPE_JAVA, KEY_TYPE_JAVABUF, "Key"),
                     getMapAssignmentToJavabuf(clazz.getSimpleName(), VALUE_TYPE_JAVA, VALUE_TYPE_JAVABUF, "Value")));
+        } else if (RECORDS.containsKey(clazz.getSimpleName())) {
+            createRecordToJavabuf(clazz, sb);
+        } else if ("java_math___BigDecimal".equals(clazz.getSimpleName())) {
+            sb.append(String.format(BIG_DECIMAL_TO_JAVABUF));
+        } else if ("java_util___UUID".equals(clazz.getSimpleName())) {
+            sb.append(String.format(UUID_TO_JAVABUF));
         } else {
             sb.append("      private static Descriptor descriptor = ").append(clazz.getCanonicalName())
-                    .append(".getDescriptor();" + LS)
-                    .append("      private static List<AssignToJavabuf> assignList = new ArrayList<AssignToJavabuf>();" + LS
+                    .append(".getDescriptor();" + LS);
+            builderPool(fqnify(clazz.getSimpleName()), sb);
+            boolean referenced = hasReferenceFields(clazz);
+            if (referenced) {
+                referenceFields(sb);
+            }
+            sb.append("      private static List<AssignToJavabuf> assignList = new ArrayList<AssignToJavabuf>();" + LS)
+                    .append("      private static List<FieldDescriptor> fieldList = new ArrayList<FieldDescriptor>();" + LS
                             + LS)
                     .append("      static {" + LS)
                     .append("         for (FieldDescriptor f : descriptor.getFields()) {" + LS)
@@ -2249,6 +3047,7 @@ public class JavabufTranslatorGenerator {
                     .append("            assignList.add(toJavabuf(")
                     .append(getJavabufClassValue(clazz.getSimpleName(), false, true));
             sb.append(", descriptor.findFieldByName(name)));" + LS)
+                    .append("            fieldList.add(f);" + LS)
                     .append("         }" + LS)
                     .append("      }" + LS + LS)
                     .append("      @Override" + LS)
@@ -2256,8 +3055,23 @@ public class JavabufTranslatorGenerator {
                     .append("         if (c1 == null) {" + LS)
                     .append("            return null;" + LS)
                     .append("         }" + LS)
-                    .append("         ").append(fqnify(clazz.getSimpleName())).append(".Builder builder = ")
-                    .append(fqnify(clazz.getSimpleName())).append(".newBuilder();" + LS)
+                    .append("         ").append(fqnify(clazz.getSimpleName())).append(".Builder builder = BUILDERS.acquire();" + LS);
+            if (referenced) {
+                sb.append("         ReferenceScope scope = ReferenceScope.current();" + LS)
+                        .append("         if (scope != null && TranslationOptions.PRESERVE_REFERENCES) {" + LS)
+                        .append("            int to = scope.reference(c1);" + LS)
+                        .append("            if (to > 0) {" + LS)
+                        .append("               builder.setField(REFERENCE_TO, to);" + LS)
+                        .append("               return BUILDERS.build(builder);" + LS)
+                        .append("            }" + LS)
+                        .append("            builder.setField(REFERENCE_ID, scope.idOf(c1));" + LS)
+                        .append("         }" + LS);
+            }
+            sb.append("         FieldSelection selection = FieldSelection.current();" + LS)
+                    .append("         if (selection != null) {" + LS)
+                    .append("            FieldSelection.assign(c1, builder, selection, fieldList, assignList);" + LS)
+                    .append("            return BUILDERS.build(builder);" + LS)
+                    .append("         }" + LS)
                     .append("         for (AssignToJavabuf assignTo : assignList) {" + LS)
                     .append("            try {" + LS)
                     .append("               assignTo.assign(c1, builder);" + LS)
@@ -2265,7 +3079,7 @@ public class JavabufTranslatorGenerator {
                     .append("               throw new RuntimeException(e);" + LS)
                     .append("            }" + LS)
                     .append("         }" + LS)
-                    .append("         return builder.build();" + LS)
+                    .append("         return BUILDERS.build(builder);" + LS)
                     .append("      }" + LS);
         }
         sb.append("   }" + LS + LS);
@@ -2322,7 +3136,7 @@ public class JavabufTranslatorGenerator {
                 String s1 = s.substring(s.lastIndexOf("___") + 3); // Integer
                 String s2 = JAVA_WRAPPER_MAP.get(s1); // int
                 String s3 = s2.substring(0, 1).toUpperCase() + s2.substring(1); // Int
-                sb.append(String.format(ArrayHolderPrimitiveFromJavabuf, s1, s2, s3));
+                sb.append(String.format(ArrayHolderPrimitiveFromJavabuf, s1, s2, s3, rawArrayFromJavabuf(s2)));
             }
             return;
         }
@@ -2370,69 +3184,9 @@ public class JavabufTranslatorGenerator {
                         .append("      }" + LS);
             }
         } else if (LISTS.containsKey(clazz.getSimpleName())) {
-            String javaclassName = LISTS.get(clazz.getSimpleName());
-            int i = javaclassName.indexOf("<");
-            if (i >= 0) {
-                javaclassName = javaclassName.substring(0, i);
-            }
-            Class<?> javaclass = Class.forName(javaclassName);
-            String s = AGGREGATES_INV.get(COLLECTION_TYPE.get(clazz.getSimpleName()));
-            String t = null;
-            if ("java.lang.Object".equals(COLLECTION_TYPE.get(clazz.getSimpleName()))) {
-                s = "Any";
-                t = "INSTANCE.translateFromJavabuf(l.unpack((Class) Utility.extractClassFromAny(l, INSTANCE)))";
-            } else if (s == null) {
-                s = COLLECTION_TYPE.get(clazz.getSimpleName());
-                t = "l";
-            } else {
-                t = String.format("(%1$s) INSTANCE.translateFromJavabuf(l)",
-                        COLLECTION_TYPE.get(clazz.getSimpleName()));
-            }
-            if (javaclass.isInterface()) {
-                sb.append(String.format(ListOrSetFromJavabuf_fromInterface,
-                        clazz.getSimpleName(),
-                        LISTS.get(clazz.getSimpleName()),
-                        s,
-                        t));
-            } else {
-                sb.append(String.format(ListOrSetFromJavabuf_fromClass,
-                        clazz.getSimpleName(),
-                        LISTS.get(clazz.getSimpleName()),
-                        s,
-                        t));
-            }
+            createListOrSetFromJavabuf(clazz, LISTS.get(clazz.getSimpleName()), sb);
         } else if (SETS.containsKey(clazz.getSimpleName())) {
-            String javaclassName = SETS.get(clazz.getSimpleName());
-            int i = javaclassName.indexOf("<");
-            if (i >= 0) {
-                javaclassName = javaclassName.substring(0, i);
-            }
-            Class<?> javaclass = Class.forName(javaclassName);
-            String s = AGGREGATES_INV.get(COLLECTION_TYPE.get(clazz.getSimpleName()));
-            String t = null;
-            if ("java.lang.Object".equals(COLLECTION_TYPE.get(clazz.getSimpleName()))) {
-                s = "Any";
-                t = "INSTANCE.translateFromJavabuf(l.unpack((Class) Utility.extractClassFromAny(l, INSTANCE)))";
-            } else if (s == null) {
-                s = COLLECTION_TYPE.get(clazz.getSimpleName());
-                t = "l";
-            } else {
-                t = String.format("(%1$s) INSTANCE.translateFromJavabuf(l)",
-                        COLLECTION_TYPE.get(clazz.getSimpleName()));
-            }
-            if (javaclass.isInterface()) {
-                sb.append(String.format(ListOrSetFromJavabuf_fromInterface,
-                        clazz.getSimpleName(),
-                        SETS.get(clazz.getSimpleName()),
-                        s,
-                        t));
-            } else {
-                sb.append(String.format(ListOrSetFromJavabuf_fromClass,
-                        clazz.getSimpleName(),
-                        SETS.get(clazz.getSimpleName()),
-                        s,
-                        t));
-            }
+            createListOrSetFromJavabuf(clazz, SETS.get(clazz.getSimpleName()), sb);
         } else if (MULTIMAPS.containsKey(clazz.getSimpleName())) {
             sb.append(String.format(MULTIMAP_FROM_JAVABUF,
                     clazz.getSimpleName(),
@@ -2440,6 +3194,8 @@ public class JavabufTranslatorGenerator {
                     VALUE_TYPE_JAVA.get(clazz.getSimpleName()),
                     getMultimapAssignmentFromJavabuf(clazz.getSimpleName(), KEY_TYPE_JAVA, "pair.getKey()"),
                     getMultimapAssignmentFromJavabuf(clazz.getSimpleName(), VALUE_TYPE_JAVA, "pair.getValue()")));
+        } else if (NATIVE_MAPS.contains(clazz.getSimpleName())) {
+            createNativeMapFromJavabuf(clazz, sb);
         } else if (MAPS.containsKey(clazz.getSimpleName())) {
             sb.append(String.format(MAP_FROM_JAVABUF,
                     clazz.getSimpleName(),
@@ -2448,32 +3204,11 @@ public class JavabufTranslatorGenerator {
                     getMapAssignmentFromJavabuf(clazz.getSimpleName(), KEY_TYPE_JAVA, "Key"),
                     getMapAssignmentFromJavabuf(clazz.getSimpleName(), VALUE_TYPE_JAVA, "Value")));
         } else if (RECORDS.containsKey(clazz.getSimpleName())) {
-            String javaClassString = RECORDS.get(clazz.getSimpleName());
-            String javaClassStringSimple = javaClassString.contains("<")
-                    ? javaClassString.substring(0, javaClassString.indexOf("<"))
-                    : javaClassString;
-            Class<?> javaClass = Class.forName(javaClassStringSimple);
-            StringBuilder sb0 = new StringBuilder(); // generate parameter values
-            Constructor<?> cons = javaClass.getConstructors()[0];
-            Parameter[] params = cons.getParameters();
-            int i = 0;
-            boolean first = true;
-            for (Field field : javaClass.getDeclaredFields()) {
-                if (!first) {
-                    sb0.append(", ");
-                }
-                first = false;
-                sb0.append("(")
-                        .append(field.getType().getSimpleName())
-                        .append(") map.get(")
-                        .append("\"" + params[i].getName() + "\")");
-                i++;
-            }
-            sb.append(String.format(RECORD_FROM_JAVABUF,
-                    clazz.getSimpleName(),
-                    javaClass.getSimpleName(),
-                    javaClass.getDeclaredFields().length,
-                    sb0.toString()));
+            createRecordFromJavabuf(clazz, sb);
+        } else if ("java_math___BigDecimal".equals(clazz.getSimpleName())) {
+            sb.append(String.format(BIG_DECIMAL_FROM_JAVABUF));
+        } else if ("java_util___UUID".equals(clazz.getSimpleName())) {
+            sb.append(String.format(UUID_FROM_JAVABUF));
         } else {
             Constructor<?> cons = null;
             try {
@@ -2489,7 +3224,12 @@ public class JavabufTranslatorGenerator {
                     .append("_FromJavabuf implements TranslateFromJavabuf {" + LS)
                     .append("      private static Descriptor descriptor = ").append(clazz.getCanonicalName())
                     .append(".getDescriptor();" + LS);
-            sb.append("      private static List<AssignFromJavabuf> assignList = new ArrayList<AssignFromJavabuf>();" + LS + LS)
+            boolean referenced = hasReferenceFields(clazz);
+            if (referenced) {
+                referenceFields(sb);
+            }
+            sb.append("      private static List<AssignFromJavabuf> assignList = new ArrayList<AssignFromJavabuf>();" + LS)
+                    .append("      private static List<FieldDescriptor> fieldList = new ArrayList<FieldDescriptor>();" + LS + LS)
                     .append("      static {" + LS)
                     .append("         for (FieldDescriptor f : descriptor.getFields()) {" + LS)
                     .append("            String name = f.getName();" + LS)
@@ -2499,18 +3239,26 @@ public class JavabufTranslatorGenerator {
                     .append("            assignList.add(fromJavabuf(")
                     .append(getJavabufClassValue(clazz.getSimpleName(), false, true))
                     .append(", descriptor.findFieldByName(name)));" + LS)
+                    .append("            fieldList.add(f);" + LS)
                     .append("         }" + LS)
                     .append("      }" + LS + LS);
             if (clazz.getName().contains("_HIDDEN_") || !Modifier.isPublic(cons.getModifiers())) {
                 sb.append("      @Override" + LS)
                         .append("      public Object assignFromJavabuf(Message message) {" + LS)
-                        .append("         try {" + LS)
-                        .append("            Object obj = getConstructor(\"")
+                        .append("         try {" + LS);
+                if (referenced) {
+                    resolveReference("            ", "", sb);
+                }
+                sb.append("            Object obj = getConstructor(\"")
                         .append(originalInnerClassName(clazz.getSimpleName()))
                         .append("\").newInstance(");
                 writeArguments(cons, true, sb);
-                sb.append(");" + LS)
-                        .append("            for (AssignFromJavabuf assignFrom : assignList) {" + LS)
+                sb.append(");" + LS);
+                if (referenced) {
+                    bindReference("            ", sb);
+                }
+                selectedFromJavabuf("            ", sb);
+                sb.append("            for (AssignFromJavabuf assignFrom : assignList) {" + LS)
                         .append("               assignFrom.assign(message, obj);" + LS)
                         .append("            }" + LS)
                         .append("            return obj;" + LS)
@@ -2523,9 +3271,16 @@ public class JavabufTranslatorGenerator {
                     sb.append("      @Override" + LS)
                             .append("      public ").append(disambiguateClassname(originalName))
                             .append(" assignFromJavabuf(Message message) {" + LS);
+                    if (referenced) {
+                        resolveReference("         ", "(" + disambiguateClassname(originalName) + ") ", sb);
+                    }
                     writeConstructor(con, originalName, sb);
-                    sb.append(");" + LS)
-                            .append("         for (AssignFromJavabuf assignFrom : assignList) {" + LS)
+                    sb.append(");" + LS);
+                    if (referenced) {
+                        bindReference("         ", sb);
+                    }
+                    selectedFromJavabuf("         ", sb);
+                    sb.append("         for (AssignFromJavabuf assignFrom : assignList) {" + LS)
                             .append("            try {" + LS)
                             .append("               assignFrom.assign(message, obj);" + LS)
                             .append("            } catch (Exception e) {" + LS)
@@ -2544,6 +3299,18 @@ public class JavabufTranslatorGenerator {
         sb.append("   }" + LS + LS);
     }
 
+    /*
+     * If a FieldSelection is in effect, e.g., for a partial update, only the selected fields are assigned.
+     * FieldSelection.assign() reads the others too, so that they bind their reference ids and dictionary entries.
+     */
+    private static void selectedFromJavabuf(String indent, StringBuilder sb) {
+        sb.append(indent).append("FieldSelection selection = FieldSelection.current();" + LS)
+                .append(indent).append("if (selection != null) {" + LS)
+                .append(indent).append("   FieldSelection.assign(message, obj, selection, fieldList, assignList);" + LS)
+                .append(indent).append("   return obj;" + LS)
+                .append(indent).append("}" + LS);
+    }
+
     private static void createArrayHolderTranslatorFromJavabuf(String[] args, Class<?> clazz, StringBuilder sb) {
         sb.append("   /******************************************************************************************" + LS)
                 .append("      TranslateToJavabuf and TranslateFromJavabuf for: X1" + LS)
@@ -2703,6 +3470,65 @@ public class JavabufTranslatorGenerator {
         }
     }
 
+    private static boolean hasReferenceFields(Class<?> clazz) {
+        try {
+            Descriptor descriptor = (Descriptor) clazz.getMethod("getDescriptor").invoke(null);
+            return descriptor.findFieldByName(ReferenceScope.ID_FIELD) != null;
+        } catch (Exception e) {
+            // not a message class
+            return false;
+        }
+    }
+
+    private static boolean hasDictionaryFields(Class<?> clazz) {
+        try {
+            Descriptor descriptor = (Descriptor) clazz.getMethod("getDescriptor").invoke(null);
+            for (OneofDescriptor oneof : descriptor.getRealOneofs()) {
+                if (oneof.getName().endsWith(JavaToProtobufGenerator.DICTIONARY_ONEOF_SUFFIX)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (Exception e) {
+            // not a message class
+            return false;
+        }
+    }
+
+    /*
+     * True if the generated translator holds a ReferenceScope for the duration of each translation.
+     */
+    private static boolean isScoped() {
+        return references || dictionaries;
+    }
+
+    private static void referenceFields(StringBuilder sb) {
+        sb.append("      private static final FieldDescriptor REFERENCE_ID = descriptor.findFieldByName(ReferenceScope.ID_FIELD);"
+                + LS)
+                .append("      private static final FieldDescriptor REFERENCE_TO = descriptor.findFieldByName(ReferenceScope.TO_FIELD);"
+                        + LS);
+    }
+
+    /*
+     * A message holding only a reference resolves to the object read earlier with the same id.
+     */
+    private static void resolveReference(String indent, String cast, StringBuilder sb) {
+        sb.append(indent).append("int to = (Integer) message.getField(REFERENCE_TO);" + LS)
+                .append(indent).append("if (to > 0) {" + LS)
+                .append(indent).append("   return ").append(cast).append("ReferenceScope.current().resolve(to);" + LS)
+                .append(indent).append("}" + LS);
+    }
+
+    /*
+     * The new object is bound to its id before its fields are read, so that cycles can be restored.
+     */
+    private static void bindReference(String indent, StringBuilder sb) {
+        sb.append(indent).append("int id = (Integer) message.getField(REFERENCE_ID);" + LS)
+                .append(indent).append("if (id > 0) {" + LS)
+                .append(indent).append("   ReferenceScope.current().bind(id, obj);" + LS)
+                .append(indent).append("}" + LS);
+    }
+
     private static void writeConstructor(Constructor<?> con, String originalName, StringBuilder sb) {
         sb.append("         ").append(originalName).append(" obj = new ").append(originalName).append("(");
         writeArguments(con, true, sb);
@@ -2791,6 +3617,571 @@ public class JavabufTranslatorGenerator {
         }
     }
 
+    /*
+     * Records are translated with typed code: the accessors of the record are read directly,
+     * and the canonical constructor is called with values taken from the typed getters of the
+     * javabuf class. Only components with no typed representation, e.g., arrays, fall back to the
+     * reflective AssignToJavabuf and AssignFromJavabuf functions.
+     */
+    private static void createRecordToJavabuf(Class<?> clazz, StringBuilder sb) throws Exception {
+        Class<?> javaClass = getRecordClass(clazz);
+        Map<String, FieldDescriptor> fields = getRecordFields(clazz);
+        Class<?> builderClass = clazz.getMethod("newBuilder").getReturnType();
+        StringBuilder fds = new StringBuilder();
+        StringBuilder fallback = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        for (RecordComponent rc : javaClass.getRecordComponents()) {
+            FieldDescriptor fd = fields.get(rc.getName());
+            if (fd == null) {
+                continue;
+            }
+            String accessor = "r." + rc.getAccessor().getName() + "()";
+            Method getter = getJavabufGetter(clazz, fd);
+            String setter = getter == null ? null : "set" + getter.getName().substring(3);
+            if (setter != null && !hasMethod(builderClass, setter, getter.getReturnType())) {
+                setter = null;
+            }
+            Class<?> type = rc.getType();
+            String assignment = null;
+            if (isDictionary(fd)) {
+                String fdName = "FD_" + rc.getName();
+                fds.append("      private static final FieldDescriptor ").append(fdName)
+                        .append(" = descriptor.findFieldByName(\"").append(dictionaryValueField(fd).getName()).append("\");" + LS);
+                assignment = "setDictionary(builder, " + fdName + ", " + accessor + ")";
+            } else if (isPolymorphic(fd)) {
+                assignment = oneofSetter(clazz, fd.getRealContainingOneof()) + "(builder, " + accessor + ")";
+            } else if (setter == null || fd.isRepeated()) {
+                // handled by fallback
+            } else if (WELL_KNOWN_TO_JAVABUF.containsKey(type)) {
+                assignment = "builder." + setter + "(" + String.format(WELL_KNOWN_TO_JAVABUF.get(type), accessor) + ")";
+            } else if (JavaType.ENUM.equals(fd.getJavaType())) {
+                // protobuf enum values are numbered by ordinal plus one; 0 stands for null
+                String valueSetter = setter + "Value";
+                if (type.isEnum() && hasMethod(builderClass, valueSetter, int.class)) {
+                    assignment = "builder." + valueSetter + "(" + accessor + ".ordinal() + 1)";
+                }
+            } else if (JavaType.MESSAGE.equals(fd.getJavaType())) {
+                if (type.isPrimitive()) {
+                    // handled by fallback
+                } else if ("google.protobuf.Any".equals(fd.getMessageType().getFullName())) {
+                    assignment = "builder." + setter + "(" + accessor + " instanceof Any ? (Any) " + accessor
+                            + " : Any.pack(INSTANCE.translateToJavabuf(" + accessor + ")))";
+                } else {
+                    String fdName = "FD_" + rc.getName();
+                    String ttjName = "TTJ_" + rc.getName();
+                    // toJavabufMap may still be filling up when this class is initialized, so ttjName is set on first use
+                    fds.append("      private static final FieldDescriptor ").append(fdName)
+                            .append(" = descriptor.findFieldByName(\"").append(fd.getName()).append("\");" + LS)
+                            .append("      private static volatile TranslateToJavabuf ").append(ttjName).append(";" + LS);
+                    assignment = "setMessage(builder, " + fdName + ", " + ttjName + " != null ? " + ttjName + " : ("
+                            + ttjName + " = messageTranslator(" + fdName + ")), " + accessor + ")";
+                }
+            } else if (isScalarCompatible(type, fd.getJavaType())) {
+                if (byte[].class.equals(type)) {
+                    assignment = "builder." + setter + "(ZeroCopy.wrap(" + accessor + "))";
+                } else if (JavaType.STRING.equals(fd.getJavaType()) && !String.class.equals(type)) {
+                    assignment = "builder." + setter + "(String.valueOf(" + accessor + "))";
+                } else {
+                    assignment = "builder." + setter + "(" + accessor + ")";
+                }
+            }
+            if (assignment == null) {
+                fallback.append("         assignList.add(toJavabuf(")
+                        .append(getJavabufClassValue(clazz.getSimpleName(), false, true))
+                        .append(", descriptor.findFieldByName(\"").append(fd.getName()).append("\")));" + LS);
+            } else if (type.isPrimitive()) {
+                body.append("         ").append(assignment).append(";" + LS);
+            } else {
+                body.append("         if (").append(accessor).append(" != null) {" + LS)
+                        .append("            ").append(assignment).append(";" + LS)
+                        .append("         }" + LS);
+            }
+        }
+        sb.append("      private static Descriptor descriptor = ").append(clazz.getSimpleName())
+                .append(".getDescriptor();" + LS)
+                .append(fds);
+        builderPool(clazz.getSimpleName(), sb);
+        if (fallback.length() > 0) {
+            sb.append("      private static List<AssignToJavabuf> assignList = new ArrayList<AssignToJavabuf>();" + LS + LS)
+                    .append("      static {" + LS)
+                    .append(fallback)
+                    .append("      }" + LS);
+        }
+        // used instead of the generated assignments when a FieldSelection is in effect
+        sb.append("      private static List<AssignToJavabuf> selectionList = new ArrayList<AssignToJavabuf>();" + LS + LS)
+                .append("      static {" + LS)
+                .append("         for (FieldDescriptor f : descriptor.getFields()) {" + LS)
+                .append("            selectionList.add(toJavabuf(")
+                .append(getJavabufClassValue(clazz.getSimpleName(), false, true)).append(", f));" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS);
+        sb.append(LS)
+                .append("      @Override" + LS)
+                .append("      public Message assignToJavabuf(Object x) {" + LS)
+                .append("         if (x == null) {" + LS)
+                .append("            return null;" + LS)
+                .append("         }" + LS)
+                .append("         ").append(javaClass.getSimpleName()).append(" r = (")
+                .append(javaClass.getSimpleName()).append(") x;" + LS)
+                .append("         ").append(clazz.getSimpleName()).append(".Builder builder = BUILDERS.acquire();" + LS)
+                .append("         FieldSelection selection = FieldSelection.current();" + LS)
+                .append("         if (selection != null) {" + LS)
+                .append("            FieldSelection.assign(x, builder, selection, descriptor.getFields(), selectionList);" + LS)
+                .append("            return BUILDERS.build(builder);" + LS)
+                .append("         }" + LS);
+        // same order as the FromJavabuf translator, which reads the fallback fields first
+        if (fallback.length() > 0) {
+            sb.append("         for (AssignToJavabuf assignTo : assignList) {" + LS)
+                    .append("            try {" + LS)
+                    .append("               assignTo.assign(x, builder);" + LS)
+                    .append("            } catch (Exception e) {" + LS)
+                    .append("               throw new RuntimeException(e);" + LS)
+                    .append("            }" + LS)
+                    .append("         }" + LS);
+        }
+        sb.append(body)
+                .append("         return BUILDERS.build(builder);" + LS)
+                .append("      }" + LS);
+    }
+
+    private static void builderPool(String javabufClass, StringBuilder sb) {
+        sb.append("      private static final BuilderPool<").append(javabufClass).append(".Builder> BUILDERS = new BuilderPool<")
+                .append(javabufClass).append(".Builder>(").append(javabufClass).append("::newBuilder);" + LS);
+    }
+
+    private static void createRecordFromJavabuf(Class<?> clazz, StringBuilder sb) throws Exception {
+        Class<?> javaClass = getRecordClass(clazz);
+        Map<String, FieldDescriptor> fields = getRecordFields(clazz);
+        StringBuilder oneofs = new StringBuilder();
+        StringBuilder fallback = new StringBuilder();
+        StringBuilder args = new StringBuilder();
+        for (RecordComponent rc : javaClass.getRecordComponents()) {
+            if (args.length() > 0) {
+                args.append("," + LS + "               ");
+            }
+            Class<?> type = rc.getType();
+            FieldDescriptor fd = fields.get(rc.getName());
+            if (fd == null) {
+                args.append(PRIMITIVE_DEFAULTS.containsKey(type) ? PRIMITIVE_DEFAULTS.get(type) : "null");
+                continue;
+            }
+            if (isDictionary(fd)) {
+                String fdName = "FD_" + rc.getName();
+                oneofs.append("      private static final FieldDescriptor ").append(fdName)
+                        .append(" = descriptor.findFieldByName(\"").append(dictionaryValueField(fd).getName()).append("\");" + LS);
+                args.append("getDictionary(m, ").append(fdName).append(")");
+                continue;
+            }
+            if (isPolymorphic(fd)) {
+                args.append("(").append(type.getCanonicalName()).append(") ")
+                        .append(oneofGetter(clazz, fd.getRealContainingOneof())).append("(m)");
+                continue;
+            }
+            String value = recordComponentFromJavabuf(clazz, type, fd);
+            if (value == null) {
+                fallback.append("         assignList.add(fromJavabuf(").append(javaClass.getSimpleName())
+                        .append(".class, descriptor.findFieldByName(\"").append(fd.getName()).append("\")));" + LS);
+                value = "(" + type.getCanonicalName() + ") map.get(\"" + rc.getName() + "\")";
+            }
+            args.append(value);
+        }
+        sb.append("   public static class ").append(clazz.getSimpleName()).append("_FromJavabuf implements TranslateFromJavabuf {"
+                + LS);
+        if (fallback.length() > 0 || oneofs.length() > 0) {
+            sb.append("      private static Descriptor descriptor = ").append(clazz.getSimpleName())
+                    .append(".getDescriptor();" + LS)
+                    .append(oneofs);
+        }
+        if (fallback.length() > 0) {
+            sb.append("      private static List<AssignFromJavabuf> assignList = new ArrayList<AssignFromJavabuf>();" + LS
+                            + LS)
+                    .append("      static {" + LS)
+                    .append(fallback)
+                    .append("      }" + LS);
+        }
+        sb.append(LS)
+                .append("      @Override" + LS)
+                .append("      public ").append(javaClass.getSimpleName()).append(" assignFromJavabuf(Message message) {" + LS)
+                .append("         try {" + LS)
+                .append("            ").append(clazz.getSimpleName()).append(" m = (").append(clazz.getSimpleName())
+                .append(") message;" + LS);
+        if (fallback.length() > 0) {
+            sb.append("            HolderMap map = new HolderMap();" + LS)
+                    .append("            for (AssignFromJavabuf assignFrom : assignList) {" + LS)
+                    .append("               assignFrom.assign(message, map);" + LS)
+                    .append("            }" + LS);
+        }
+        sb.append("            return new ").append(javaClass.getSimpleName()).append("(").append(args).append(");" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS);
+    }
+
+    /*
+     * Returns an expression that reads the value of a record component from the javabuf message "m",
+     * or null if the component has to be read by the reflective AssignFromJavabuf function.
+     */
+    private static String recordComponentFromJavabuf(Class<?> clazz, Class<?> type, FieldDescriptor fd)
+            throws Exception {
+        Method getter = getJavabufGetter(clazz, fd);
+        if (getter == null || fd.isRepeated()) {
+            return null;
+        }
+        String value = "m." + getter.getName() + "()";
+        String typeName = type.getCanonicalName();
+        if (WELL_KNOWN_FROM_JAVABUF.containsKey(type)) {
+            String has = "has" + getter.getName().substring(3);
+            String translation = String.format(WELL_KNOWN_FROM_JAVABUF.get(type), value);
+            if (hasMethod(clazz, has)) {
+                return "(m." + has + "() ? " + translation + " : null)";
+            }
+            return translation;
+        }
+        switch (fd.getJavaType()) {
+            case ENUM:
+                if (!type.isEnum() || !hasMethod(clazz, getter.getName() + "Value")) {
+                    return null;
+                }
+                return "EnumConstants.forNumber(" + typeName + ".class, m." + getter.getName() + "Value())";
+            case MESSAGE:
+                if (type.isPrimitive()) {
+                    return null;
+                }
+                if ("google.protobuf.Any".equals(fd.getMessageType().getFullName())) {
+                    if (Any.class.equals(type)) {
+                        return value;
+                    }
+                    return "(" + value + ".getSerializedSize() == 0 ? null : (" + typeName
+                            + ") INSTANCE.translateFromJavabuf(ANY_TYPES.unpack(" + value + ")))";
+                }
+                String has = "has" + getter.getName().substring(3);
+                if (!hasMethod(clazz, has)) {
+                    return null;
+                }
+                return "(m." + has + "() ? (" + typeName + ") INSTANCE.translateFromJavabuf(" + value + ") : null)";
+            case INT:
+                if (byte.class.equals(type) || Byte.class.equals(type)) {
+                    return "(byte) " + value;
+                } else if (short.class.equals(type) || Short.class.equals(type)) {
+                    return "(short) " + value;
+                } else if (char.class.equals(type) || Character.class.equals(type)) {
+                    return "(char) " + value;
+                }
+                return isScalarCompatible(type, fd.getJavaType()) ? value : null;
+            case STRING:
+                if (char.class.equals(type) || Character.class.equals(type)) {
+                    return "(" + value + ".isEmpty() ? (char) 0 : " + value + ".charAt(0))";
+                }
+                return isScalarCompatible(type, fd.getJavaType()) ? value : null;
+            case BYTE_STRING:
+                return byte[].class.equals(type) ? value + ".toByteArray()" : null;
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case BOOLEAN:
+                return isScalarCompatible(type, fd.getJavaType()) ? value : null;
+            default:
+                return null;
+        }
+    }
+
+    /*
+     * A member of a oneof generated by JavaToProtobufGenerator for a field declared as an
+     * interface or abstract class.
+     */
+    private static boolean isPolymorphic(FieldDescriptor fd) {
+        OneofDescriptor oneof = fd.getRealContainingOneof();
+        return oneof != null && oneof.getName().endsWith(JavaToProtobufGenerator.POLYMORPHIC_ONEOF_SUFFIX);
+    }
+
+    /*
+     * A member of a oneof generated by JavaToProtobufGenerator for a String field annotated with
+     * @DictionaryEncoded. The first member holds the value, the second one the index.
+     */
+    private static boolean isDictionary(FieldDescriptor fd) {
+        OneofDescriptor oneof = fd.getRealContainingOneof();
+        return oneof != null && oneof.getName().endsWith(JavaToProtobufGenerator.DICTIONARY_ONEOF_SUFFIX);
+    }
+
+    private static FieldDescriptor dictionaryValueField(FieldDescriptor fd) {
+        return fd.getRealContainingOneof().getField(0);
+    }
+
+    private static Class<?> getRecordClass(Class<?> clazz) throws ClassNotFoundException {
+        String javaClassString = RECORDS.get(clazz.getSimpleName());
+        if (javaClassString.contains("<")) {
+            javaClassString = javaClassString.substring(0, javaClassString.indexOf("<"));
+        }
+        return Class.forName(javaClassString);
+    }
+
+    /*
+     * Maps the names of the record components to the fields of the javabuf class. Field names
+     * made unique by JavaToProtobufGenerator end with "___" and a number.
+     */
+    private static Map<String, FieldDescriptor> getRecordFields(Class<?> clazz) throws Exception {
+        Descriptor descriptor = (Descriptor) clazz.getMethod("getDescriptor").invoke(null);
+        Map<String, FieldDescriptor> fields = new HashMap<String, FieldDescriptor>();
+        for (FieldDescriptor fd : descriptor.getFields()) {
+            String name = fd.getName();
+            int pos = name.lastIndexOf("___");
+            fields.put(pos >= 0 ? name.substring(0, pos) : name, fd);
+        }
+        return fields;
+    }
+
+    /*
+     * Returns the getter protoc generates for a singular field, or null if it can't be found.
+     */
+    private static Method getJavabufGetter(Class<?> clazz, FieldDescriptor fd) {
+        StringBuilder sb = new StringBuilder("get");
+        boolean capitalize = true;
+        for (char c : fd.getName().toCharArray()) {
+            if (Character.isLetter(c)) {
+                sb.append(capitalize ? Character.toUpperCase(c) : c);
+                capitalize = false;
+            } else if (Character.isDigit(c)) {
+                sb.append(c);
+                capitalize = true;
+            } else {
+                capitalize = true;
+            }
+        }
+        try {
+            return clazz.getMethod(sb.toString());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            clazz.getMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isScalarCompatible(Class<?> type, JavaType javaType) {
+        switch (javaType) {
+            case INT:
+                return int.class.equals(type) || Integer.class.equals(type)
+                        || byte.class.equals(type) || Byte.class.equals(type)
+                        || short.class.equals(type) || Short.class.equals(type)
+                        || char.class.equals(type) || Character.class.equals(type);
+            case LONG:
+                return long.class.equals(type) || Long.class.equals(type);
+            case FLOAT:
+                return float.class.equals(type) || Float.class.equals(type);
+            case DOUBLE:
+                return double.class.equals(type) || Double.class.equals(type);
+            case BOOLEAN:
+                return boolean.class.equals(type) || Boolean.class.equals(type);
+            case STRING:
+                return String.class.equals(type) || char.class.equals(type) || Character.class.equals(type);
+            case BYTE_STRING:
+                return byte[].class.equals(type);
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * int[], long[], float[] and double[] above RawArrays.isRaw() are sent in the bytes field raw_field.
+     */
+    private static String rawArrayToJavabuf(String primitiveClass) {
+        if (!RAW_ARRAY_TYPES.containsKey(primitiveClass)) {
+            return "";
+        }
+        return "         if (RawArrays.isRaw(aa.length)) {" + LS
+                + "            return arrayBuilder.setRawField(RawArrays.toBytes(aa)).build();" + LS
+                + "         }" + LS;
+    }
+
+    private static String rawArrayFromJavabuf(String primitiveClass) {
+        if (!RAW_ARRAY_TYPES.containsKey(primitiveClass)) {
+            return "";
+        }
+        return "         if (!array.getRawField().isEmpty()) {" + LS
+                + "            return RawArrays.to" + RAW_ARRAY_TYPES.get(primitiveClass) + "(array.getRawField());" + LS
+                + "         }" + LS;
+    }
+
+    private static void createListOrSetToJavabuf(Class<?> clazz, String javaType, StringBuilder sb) throws Exception {
+        String elementType = COLLECTION_TYPE.get(clazz.getSimpleName());
+        String dataType = getDataElementClass(clazz).getCanonicalName();
+        if (isDirectWrapper(elementType, dataType)) {
+            sb.append(String.format(ListOrSetToJavabuf_addAll, clazz.getSimpleName(), javaType));
+            return;
+        }
+        String assignment = null;
+        if (JAVA_WRAPPER_TYPES.contains(elementType)) {
+            // byte, short and char values travel as int32
+            assignment = "Character".equals(simpleWrapperName(elementType))
+                    ? "(int) ((Character) element).charValue()"
+                    : "((Number) element).intValue()";
+        } else if ("java.lang.Object".equals(elementType)) {
+            sb.append(String.format(ObjectListOrSetToJavabuf, clazz.getSimpleName(), javaType));
+            return;
+        } else if (javaType.contains("<")) {
+            String generic = javaType.substring(javaType.indexOf('<') + 1, javaType.lastIndexOf('>'));
+            assignment = "(" + dataType + ") INSTANCE.translateToJavabuf(element, new GenericType<" + generic + ">(){})";
+        } else {
+            assignment = "(" + dataType + ") INSTANCE.translateToJavabuf(element)";
+        }
+        sb.append(String.format(ListOrSetToJavabuf, clazz.getSimpleName(), javaType, assignment));
+    }
+
+    private static void createListOrSetFromJavabuf(Class<?> clazz, String javaType, StringBuilder sb) throws Exception {
+        String javaclassName = javaType.contains("<") ? javaType.substring(0, javaType.indexOf('<')) : javaType;
+        Class<?> javaclass = Class.forName(javaclassName);
+        String target = javaclass.isInterface() ? "m.getClassname()" : "\"" + javaclassName + "\"";
+        // Only a List declared as java.util.List can be replaced by a LazyList
+        boolean lazy = List.class.equals(javaclass);
+        String elementType = COLLECTION_TYPE.get(clazz.getSimpleName());
+        String dataType = getDataElementClass(clazz).getCanonicalName();
+        if (isDirectWrapper(elementType, dataType)) {
+            String boxed = "java.lang." + simpleWrapperName(elementType);
+            sb.append(String.format(ListOrSetFromJavabuf_addAll, clazz.getSimpleName(), javaType, target,
+                    lazy ? lazyListTranslation(boxed, "l") : ""));
+            return;
+        }
+        String s = null;
+        String t = null;
+        if (JAVA_WRAPPER_TYPES.contains(elementType)) {
+            s = "java.lang.Integer";
+            t = "(" + WRAPPER_TO_PRIMITIVE.get(simpleWrapperName(elementType)) + ") l.intValue()";
+        } else if ("java.lang.Object".equals(elementType)) {
+            // Elements that are messages are translated lazily only if they need no ReferenceScope
+            lazy &= !isScoped();
+            sb.append(String.format(ObjectListOrSetFromJavabuf, clazz.getSimpleName(), javaType, target,
+                    lazy ? lazyPayloadTranslation() : "",
+                    lazy ? lazyListTranslation("Any", "INSTANCE.translateFromJavabuf(ANY_TYPES.unpack(l))") : ""));
+            return;
+        } else {
+            lazy &= !isScoped();
+            s = dataType;
+            t = String.format("(%1$s) INSTANCE.translateFromJavabuf(l)", elementType);
+        }
+        sb.append(String.format(ListOrSetFromJavabuf, clazz.getSimpleName(), javaType, s, t, target,
+                lazy ? lazyListTranslation(s, t) : ""));
+    }
+
+    private static String lazyPayloadTranslation() {
+        return "            if (TranslationOptions.LAZY) {" + LS
+                + "               return new LazyList<ByteString, Object>(m.getPayloadList(), l -> INSTANCE.translateFromJavabuf(entry.parse(l)));"
+                + LS
+                + "            }" + LS;
+    }
+
+    private static String lazyListTranslation(String javabufElementType, String translation) {
+        return "         if (TranslationOptions.LAZY) {" + LS
+                + "            return new LazyList<" + javabufElementType + ", Object>(m.getDataList(), l -> " + translation
+                + ");" + LS
+                + "         }" + LS;
+    }
+
+    /*
+     * Returns the javabuf type of the elements of the repeated field "data" of a List, Set,
+     * Map, or Multimap javabuf class.
+     */
+    private static Class<?> getDataElementClass(Class<?> clazz) throws Exception {
+        return clazz.getMethod("getData", int.class).getReturnType();
+    }
+
+    /*
+     * A wrapper type whose javabuf representation is the corresponding primitive type can be
+     * copied in bulk with addAllData() and addAll().
+     */
+    private static boolean isDirectWrapper(String elementType, String dataType) {
+        if (!JAVA_WRAPPER_TYPES.contains(elementType)) {
+            return false;
+        }
+        String primitive = WRAPPER_TO_PRIMITIVE.get(simpleWrapperName(elementType));
+        return primitive.equals(dataType) || ("String".equals(primitive) && "java.lang.String".equals(dataType));
+    }
+
+    private static String simpleWrapperName(String wrapperType) {
+        return wrapperType.startsWith("java.lang.") ? wrapperType.substring("java.lang.".length()) : wrapperType;
+    }
+
+    /*
+     * A Map whose javabuf class has a native protobuf map field "data". If the Java key and value types
+     * are the boxed javabuf types, entries are copied with putAll(). Otherwise, each entry is translated.
+     * A map with a null key or value is rejected before anything is copied.
+     */
+    private static void createNativeMapToJavabuf(Class<?> clazz, StringBuilder sb) throws Exception {
+        String javabufName = clazz.getSimpleName();
+        Class<?>[] types = getNativeMapTypes(clazz);
+        String keyType = KEY_TYPE_JAVA.get(javabufName);
+        String valueType = VALUE_TYPE_JAVA.get(javabufName);
+        String entries = null;
+        if (keyType.equals(types[0].getCanonicalName()) && valueType.equals(types[1].getCanonicalName())) {
+            entries = "           builder.putAllData(map);" + LS;
+        } else {
+            entries = "           for (java.util.Map.Entry<" + keyType + ", " + valueType + "> entry : map.entrySet()) {" + LS
+                    + "              builder.putData(" + nativeMapElementToJavabuf(keyType, types[0], "entry.getKey()") + ", "
+                    + nativeMapElementToJavabuf(valueType, types[1], "entry.getValue()") + ");" + LS
+                    + "           }" + LS;
+        }
+        sb.append(String.format(NATIVE_MAP_TO_JAVABUF, keyType, valueType, javabufName, entries));
+    }
+
+    private static void createNativeMapFromJavabuf(Class<?> clazz, StringBuilder sb) throws Exception {
+        String javabufName = clazz.getSimpleName();
+        Class<?>[] types = getNativeMapTypes(clazz);
+        String keyType = KEY_TYPE_JAVA.get(javabufName);
+        String valueType = VALUE_TYPE_JAVA.get(javabufName);
+        String entries = null;
+        if (keyType.equals(types[0].getCanonicalName()) && valueType.equals(types[1].getCanonicalName())) {
+            entries = "            map.putAll(m.getDataMap());" + LS;
+        } else {
+            entries = "            for (Map.Entry<" + types[0].getCanonicalName() + ", " + types[1].getCanonicalName()
+                    + "> entry : m.getDataMap().entrySet()) {" + LS
+                    + "               map.put(" + nativeMapElementFromJavabuf(keyType, "entry.getKey()") + ", "
+                    + nativeMapElementFromJavabuf(valueType, "entry.getValue()") + ");" + LS
+                    + "            }" + LS;
+        }
+        sb.append(String.format(NATIVE_MAP_FROM_JAVABUF, javabufName, keyType, valueType, entries));
+    }
+
+    /*
+     * Returns the javabuf key and value classes of the native map field "data".
+     */
+    private static Class<?>[] getNativeMapTypes(Class<?> clazz) throws Exception {
+        ParameterizedType type = (ParameterizedType) clazz.getMethod("getDataMap").getGenericReturnType();
+        return new Class<?>[] { (Class<?>) type.getActualTypeArguments()[0], (Class<?>) type.getActualTypeArguments()[1] };
+    }
+
+    private static String nativeMapElementToJavabuf(String javaType, Class<?> javabufType, String element) {
+        if ("java.lang.Byte".equals(javaType) || "java.lang.Short".equals(javaType)) {
+            return element + ".intValue()";
+        } else if ("java.lang.Character".equals(javaType)) {
+            return "(int) " + element + ".charValue()";
+        } else if (JAVA_WRAPPER_TYPES.contains(javaType)) {
+            return element;
+        } else if (javaType.contains("<")) {
+            return "(" + javabufType.getCanonicalName() + ") INSTANCE.translateToJavabuf(" + element + ", new GenericType<"
+                    + javaType + ">(){})";
+        }
+        return "(" + javabufType.getCanonicalName() + ") INSTANCE.translateToJavabuf(" + element + ")";
+    }
+
+    private static String nativeMapElementFromJavabuf(String javaType, String element) {
+        if ("java.lang.Byte".equals(javaType)) {
+            return element + ".byteValue()";
+        } else if ("java.lang.Short".equals(javaType)) {
+            return element + ".shortValue()";
+        } else if ("java.lang.Character".equals(javaType)) {
+            return "(char) " + element + ".intValue()";
+        } else if (JAVA_WRAPPER_TYPES.contains(javaType)) {
+            return element;
+        }
+        return "(" + javaType + ") INSTANCE.translateFromJavabuf(" + element + ")";
+    }
+
     private static String getMapAssignmentToJavabuf(String javabufName, Map<String, String> javaMap,
             Map<String, String> javabufMap, String field) {
         String assignment = null;
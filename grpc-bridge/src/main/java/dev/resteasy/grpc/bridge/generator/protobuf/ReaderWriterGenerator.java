@@ -18,6 +18,8 @@
  */
 package dev.resteasy.grpc.bridge.generator.protobuf;
 
+import static dev.resteasy.grpc.bridge.runtime.Constants.RPC_REQUEST;
+import static dev.resteasy.grpc.bridge.runtime.Constants.RPC_RESPONSE;
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.WRITE;
@@ -36,6 +38,11 @@ import java.util.Set;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 
+import dev.resteasy.grpc.bridge.runtime.FieldSelection;
+import dev.resteasy.grpc.bridge.runtime.FieldUsageProfile;
+import dev.resteasy.grpc.bridge.runtime.TranslationCache;
+import dev.resteasy.grpc.bridge.runtime.ZeroCopy;
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
 import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletResponseImpl;
 
 /**
@@ -56,6 +63,7 @@ public class ReaderWriterGenerator {
     private static String ENTITY_MAP_SETUP;
     private static String JAVA_TO_JAVABUF_NAME;
     private static String GET_PARSER;
+    private static String SCALARS;
 
     static {
         primitives.put("gBoolean", "boolean");
@@ -159,7 +167,68 @@ public class ReaderWriterGenerator {
                 + "   }%n%n";
 
         GET_PARSER = "    private static Method getParser(String classname) throws Exception {%n"
-                + "       return Class.forName(classname).getDeclaredMethod(\"parseFrom\", InputStream.class);%n"
+                + "       return Class.forName(classname).getDeclaredMethod(\"parseFrom\", CodedInputStream.class);%n"
+                + "    }%n%n";
+
+        // Primitive, wrapper and String entities bypass ENTITY_MAP and the translator. The gBoolean, gInteger, etc.,
+        // messages that carry them in GeneralEntityMessage and GeneralReturnMessage hold the value in field 1,
+        // which is read and written directly, without building a wrapper message.
+        SCALARS = "    private static Object readScalar(Class type, CodedInputStream input) throws IOException {%n"
+                + "        int expected = SCALAR_TAGS.get(type);%n"
+                + "        Object value = null;%n"
+                + "        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {%n"
+                + "            if (tag != expected) {%n"
+                + "                input.skipField(tag);%n"
+                + "            } else if (type == int.class || type == Integer.class) {%n"
+                + "                value = input.readInt32();%n"
+                + "            } else if (type == String.class) {%n"
+                + "                value = input.readStringRequireUtf8();%n"
+                + "            } else if (type == long.class || type == Long.class) {%n"
+                + "                value = input.readInt64();%n"
+                + "            } else if (type == boolean.class || type == Boolean.class) {%n"
+                + "                value = input.readBool();%n"
+                + "            } else if (type == double.class || type == Double.class) {%n"
+                + "                value = input.readDouble();%n"
+                + "            } else if (type == float.class || type == Float.class) {%n"
+                + "                value = input.readFloat();%n"
+                + "            } else if (type == short.class || type == Short.class) {%n"
+                + "                value = (short) input.readInt32();%n"
+                + "            } else if (type == byte.class || type == Byte.class) {%n"
+                + "                value = (byte) input.readInt32();%n"
+                + "            } else {%n"
+                + "                String s = input.readStringRequireUtf8();%n"
+                + "                value = s.isEmpty() ? null : s.charAt(0);%n"
+                + "            }%n"
+                + "        }%n"
+                + "        if (value != null || type == Character.class) {%n"
+                + "            return value;%n"
+                + "        }%n"
+                + "        if (type == char.class) {%n"
+                + "            throw Messages.MESSAGES.emptyCharacter();%n"
+                + "        }%n"
+                + "        return SCALAR_DEFAULTS.get(type);%n"
+                + "    }%n%n"
+                + "    private static void writeScalar(Object t, CodedOutputStream output) throws IOException {%n"
+                + "        if (t instanceof Integer) {%n"
+                + "            output.writeInt32(1, (Integer) t);%n"
+                + "        } else if (t instanceof String) {%n"
+                + "            output.writeString(1, (String) t);%n"
+                + "        } else if (t instanceof Long) {%n"
+                + "            output.writeInt64(1, (Long) t);%n"
+                + "        } else if (t instanceof Boolean) {%n"
+                + "            output.writeBool(1, (Boolean) t);%n"
+                + "        } else if (t instanceof Double) {%n"
+                + "            output.writeDouble(1, (Double) t);%n"
+                + "        } else if (t instanceof Float) {%n"
+                + "            output.writeFloat(1, (Float) t);%n"
+                + "        } else if (t instanceof Short) {%n"
+                + "            output.writeInt32(1, (Short) t);%n"
+                + "        } else if (t instanceof Byte) {%n"
+                + "            output.writeInt32(1, (Byte) t);%n"
+                + "        } else {%n"
+                + "            output.writeString(1, t.toString());%n"
+                + "        }%n"
+                + "        output.flush();%n"
                 + "    }%n%n";
 
         JAVA_TO_JAVABUF_NAME = ""
@@ -237,6 +306,8 @@ public class ReaderWriterGenerator {
 
     private static void imports(Class<?>[] wrappedClasses, String rootClass, String rootPackage, StringBuilder sb) {
         sb.append("import static dev.resteasy.grpc.bridge.runtime.Constants.ANY;" + LS)
+                .append("import static dev.resteasy.grpc.bridge.runtime.Constants.FIELD_MASK;" + LS)
+                .append("import static dev.resteasy.grpc.bridge.runtime.Constants.UPDATE_MASK;" + LS)
                 .append("import java.io.BufferedReader;" + LS)
                 .append("import java.io.ByteArrayOutputStream;" + LS)
                 .append("import java.io.File;" + LS)
@@ -252,9 +323,11 @@ public class ReaderWriterGenerator {
                 .append("import java.nio.file.Path;" + LS)
                 .append("import java.util.Map;" + LS)
                 .append("import java.util.HashMap;" + LS)
+                .append("import java.util.Set;" + LS)
                 .append("import jakarta.annotation.Priority;" + LS)
                 .append("import jakarta.ws.rs.Consumes;" + LS)
                 .append("import jakarta.ws.rs.core.GenericType;" + LS)
+                .append("import jakarta.ws.rs.core.HttpHeaders;" + LS)
                 .append("import jakarta.ws.rs.Produces;" + LS)
                 .append("import jakarta.ws.rs.WebApplicationException;" + LS)
                 .append("import jakarta.ws.rs.core.MediaType;" + LS)
@@ -264,6 +337,7 @@ public class ReaderWriterGenerator {
                 .append("import jakarta.ws.rs.ext.Provider;" + LS)
                 .append("import com.google.protobuf.GeneratedMessage;" + LS)
                 .append("import com.google.protobuf.Any;" + LS)
+                .append("import com.google.protobuf.ByteString;" + LS)
                 .append("import com.google.protobuf.Message;" + LS)
                 .append("import com.google.protobuf.CodedInputStream;" + LS)
                 .append("import com.google.protobuf.CodedOutputStream;" + LS)
@@ -272,14 +346,19 @@ public class ReaderWriterGenerator {
                 .append("import ").append("dev.resteasy.grpc.bridge.runtime.Utility;" + LS)
                 .append("import ").append("dev.resteasy.grpc.arrays.Array_proto;" + LS)
                 .append("import ").append("dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;" + LS)
-                .append("import " + rootPackage + "." + rootClass + "_proto.GeneralEntityMessage;" + LS)
-                .append("import " + rootPackage + "." + rootClass + "_proto.GeneralReturnMessage;" + LS)
                 .append("import ").append(OutboundSseEventImpl.class.getCanonicalName()).append(";" + LS)
                 .append("import ").append(HttpServletResponseImpl.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(FieldUsageProfile.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(FieldSelection.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(ZeroCopy.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(TranslationCache.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(Messages.class.getCanonicalName()).append(";" + LS)
                 .append("import org.jboss.resteasy.core.ResteasyContext;" + LS);
         for (Class<?> wrappedClass : wrappedClasses) {
             if (wrappedClass.isInterface()
                     || internalClasses.contains(wrappedClass.getSimpleName())
+                    || wrappedClass.getSimpleName().endsWith(RPC_REQUEST)
+                    || wrappedClass.getSimpleName().endsWith(RPC_RESPONSE)
                     || wrappedClass.getSimpleName().endsWith("_wrapper")) {
                 continue;
             }
@@ -327,8 +406,37 @@ public class ReaderWriterGenerator {
                 .append("   private static Map<String, Method> ENTITY_MAP = new HashMap<String, Method>();" + LS)
                 .append("   private static Map<String, String> PRIMITIVE_ARRAY_MAP = new HashMap<String, String>();" + LS)
                 .append("   private static Map<String, String> PRIMITIVE_MAP = new HashMap<String, String>();" + LS)
-                .append("   private static Map<String, String> PRIMITIVE_WRAPPER_MAP = new HashMap<String, String>();" + LS
+                .append("   private static Map<String, String> PRIMITIVE_WRAPPER_MAP = new HashMap<String, String>();" + LS)
+                .append("   private static final Set<Class<?>> SCALAR_TYPES = Set.of(boolean.class, Boolean.class, byte.class, Byte.class,"
+                        + LS)
+                .append("         short.class, Short.class, int.class, Integer.class, long.class, Long.class, float.class, Float.class,"
+                        + LS)
+                .append("         double.class, Double.class, char.class, Character.class, String.class);" + LS)
+                .append("   // tags of field 1 of gBoolean, gInteger, etc.: varint 8, fixed64 9, length delimited 10 and fixed32 13"
+                        + LS)
+                .append("   private static final Map<Class<?>, Integer> SCALAR_TAGS = Map.ofEntries(Map.entry(boolean.class, 8),"
+                        + LS)
+                .append("         Map.entry(Boolean.class, 8), Map.entry(byte.class, 8), Map.entry(Byte.class, 8), Map.entry(short.class, 8),"
+                        + LS)
+                .append("         Map.entry(Short.class, 8), Map.entry(int.class, 8), Map.entry(Integer.class, 8), Map.entry(long.class, 8),"
+                        + LS)
+                .append("         Map.entry(Long.class, 8), Map.entry(float.class, 13), Map.entry(Float.class, 13), Map.entry(double.class, 9),"
+                        + LS)
+                .append("         Map.entry(Double.class, 9), Map.entry(char.class, 10), Map.entry(Character.class, 10),"
+                        + LS)
+                .append("         Map.entry(String.class, 10));" + LS)
+                .append("   // the values of absent fields, except for char and Character" + LS)
+                .append("   private static final Map<Class<?>, Object> SCALAR_DEFAULTS = Map.ofEntries(Map.entry(boolean.class, false),"
+                        + LS)
+                .append("         Map.entry(Boolean.class, false), Map.entry(byte.class, (byte) 0), Map.entry(Byte.class, (byte) 0),"
+                        + LS)
+                .append("         Map.entry(short.class, (short) 0), Map.entry(Short.class, (short) 0), Map.entry(int.class, 0),"
+                        + LS)
+                .append("         Map.entry(Integer.class, 0), Map.entry(long.class, 0L), Map.entry(Long.class, 0L),"
                         + LS)
+                .append("         Map.entry(float.class, 0.0f), Map.entry(Float.class, 0.0f), Map.entry(double.class, 0.0d),"
+                        + LS)
+                .append("         Map.entry(Double.class, 0.0d), Map.entry(String.class, \"\"));" + LS + LS)
                 .append(String.format(READER_WRITER_MAPS, args[1] + "_proto"))
                 .append(String.format(ENTITY_MAP_SETUP, args[3], args[5] + "." + args[2]).replace("\\", "\\\\"))
                 .append("   @Override" + LS)
@@ -353,29 +461,41 @@ public class ReaderWriterGenerator {
                 .append("         if (\"application/grpc-part\".equals(mediaType.toString())) {" + LS)
                 .append("            return new String(entityStream.readAllBytes());" + LS)
                 .append("         } else if (type.isInterface() || httpHeaders.getFirst(ANY) != null) {" + LS)
-                .append("            Any any =  Any.parseFrom(CodedInputStream.newInstance(entityStream));" + LS)
-                .append("            Class clazz = Utility.extractTypeFromAny(any, getClass().getClassLoader(), \"")
-                .append(args[2]).append("_proto\");" + LS)
-                .append("            Message m = any.unpack(clazz);" + LS)
+                .append("            Any any =  Any.parseFrom(ZeroCopy.input(entityStream));" + LS)
+                .append("            Message m = translator.getAnyTypeRegistry().unpack(any);" + LS)
+                .append("            FieldUsageProfile.record(m);" + LS)
                 .append("            return ")
                 .append("translator.translateFromJavabuf(m);" + LS)
+                .append("         } else if (SCALAR_TYPES.contains(type)) {" + LS)
+                .append("            return readScalar(type, ZeroCopy.input(entityStream));" + LS)
                 .append("         }" + LS)
+                .append("         FieldSelection selection = FieldSelection.parse((String) httpHeaders.getFirst(UPDATE_MASK));" + LS)
                 .append("         Type nType = translator.normalize(genericType);" + LS)
                 .append("         String gt = nType.getTypeName().replace(\"class \", \"\").replace(\"interface \", \"\").replace(\" \", \"\").replace(\"$\", \".\");"
                         + LS)
                 .append("         if (ENTITY_MAP.containsKey(gt)) {" + LS)
-                .append("            GeneratedMessage message = (GeneratedMessage) ENTITY_MAP.get(gt).invoke(null, entityStream);"
+                .append("            GeneratedMessage message = (GeneratedMessage) ENTITY_MAP.get(gt).invoke(null, ZeroCopy.input(entityStream));"
                         + LS)
-                .append("            return translator.translateFromJavabuf(message);" + LS)
+                .append("            FieldUsageProfile.record(message);" + LS)
+                .append("            return translateFromJavabuf(message, selection);" + LS)
                 .append("         } else {" + LS)
-                .append("            GeneratedMessage message = (GeneratedMessage) ENTITY_MAP.get(type.getName()).invoke(null, entityStream);"
+                .append("            GeneratedMessage message = (GeneratedMessage) ENTITY_MAP.get(type.getName()).invoke(null, ZeroCopy.input(entityStream));"
                         + LS)
-                .append("            return translator.translateFromJavabuf(message);" + LS)
+                .append("            FieldUsageProfile.record(message);" + LS)
+                .append("            return translateFromJavabuf(message, selection);" + LS)
                 .append("         }" + LS)
                 .append("      } catch (Exception e) {" + LS)
                 .append("         throw new RuntimeException(e);" + LS)
                 .append("      }" + LS)
                 .append("   }" + LS + LS)
+                .append("   private Object translateFromJavabuf(Message message, FieldSelection selection) {" + LS)
+                .append("      FieldSelection previous = FieldSelection.select(selection);" + LS)
+                .append("      try {" + LS)
+                .append("         return translator.translateFromJavabuf(message);" + LS)
+                .append("      } finally {" + LS)
+                .append("         FieldSelection.restore(previous);" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS)
                 .append("   @Override" + LS)
                 .append("   public boolean isWriteable(Class type, Type genericType, Annotation[] annotations, MediaType mediaType) {"
                         + LS)
@@ -395,22 +515,23 @@ public class ReaderWriterGenerator {
                     .append("         t = convertSseEvent((OutboundSseEventImpl) t);" + LS)
                     .append("      }" + LS);
         }
-        sb.append("      Message message = null;" + LS)
-                .append("      if (genericType != null) {" + LS)
-                .append("         GenericType gt =  new GenericType(genericType);" + LS)
-                .append("         if (gt.getRawType().isInterface()) {" + LS)
-                .append("            message = translator.translateToJavabuf(t);" + LS)
+        sb.append("      HttpServletResponse servletResponse = ResteasyContext.getContextData(HttpServletResponse.class);"
+                + LS)
+                .append("      boolean any = (servletResponse != null && servletResponse.getHeader(ANY) != null)" + LS)
+                .append("            || (genericType != null && new GenericType(genericType).getRawType().isInterface());" + LS)
+                .append("      if (!any && t != null && SCALAR_TYPES.contains(t.getClass())) {" + LS)
+                .append("         if (servletResponse.getOutputStream() instanceof AsyncMockServletOutputStream) {" + LS)
+                .append("            ByteArrayOutputStream baos = new ByteArrayOutputStream();" + LS)
+                .append("            writeScalar(t, CodedOutputStream.newInstance(baos));" + LS)
+                .append("            ((AsyncMockServletOutputStream) servletResponse.getOutputStream()).release(baos);" + LS)
                 .append("         } else {" + LS)
-                .append("            message = translator.translateToJavabuf(t, gt);" + LS)
+                .append("            writeScalar(t, CodedOutputStream.newInstance(entityStream));" + LS)
                 .append("         }" + LS)
-                .append("      } else {" + LS)
-                .append("         message = translator.translateToJavabuf(t);" + LS)
+                .append("         return;" + LS)
                 .append("      }" + LS)
-                .append("      HttpServletResponse servletResponse = ResteasyContext.getContextData(HttpServletResponse.class);"
-                        + LS)
-                .append("      if ((servletResponse != null && servletResponse.getHeader(ANY) != null)" + LS)
-                .append("            || (genericType != null && new GenericType(genericType).getRawType().isInterface())) {"
-                        + LS)
+                .append("      Message message = translateToJavabuf(t, genericType);" + LS)
+                .append("      FieldUsageProfile.record(message);" + LS)
+                .append("      if (any) {" + LS)
                 .append("         if (servletResponse instanceof HttpServletResponseImpl) {" + LS)
                 .append("            ((HttpServletResponseImpl) servletResponse).removeHeader(ANY);" + LS)
                 .append("         }" + LS)
@@ -424,18 +545,45 @@ public class ReaderWriterGenerator {
                 .append("         }" + LS)
                 .append("         return;" + LS)
                 .append("      }" + LS)
+                .append("      ByteString encoded = TranslationCache.encoded(t, message);" + LS)
                 .append("      if (servletResponse.getOutputStream() instanceof AsyncMockServletOutputStream) {" + LS)
                 .append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) servletResponse.getOutputStream();"
                         + LS)
                 .append("         ByteArrayOutputStream baos = new ByteArrayOutputStream();" + LS)
-                .append("         message.writeTo(baos);" + LS)
+                .append("         if (encoded != null) {" + LS)
+                .append("            encoded.writeTo(baos);" + LS)
+                .append("         } else {" + LS)
+                .append("            message.writeTo(baos);" + LS)
+                .append("         }" + LS)
                 .append("         amsos.release(baos);" + LS)
                 .append("      } else {" + LS)
                 .append("         CodedOutputStream cos = CodedOutputStream.newInstance(entityStream);" + LS)
-                .append("         message.writeTo(cos);" + LS)
+                .append("         if (encoded != null) {" + LS)
+                .append("            cos.writeRawBytes(encoded);" + LS)
+                .append("         } else {" + LS)
+                .append("            message.writeTo(cos);" + LS)
+                .append("         }" + LS)
                 .append("         cos.flush();" + LS)
                 .append("      }" + LS)
                 .append("   }" + LS + LS) // Turn into switch
+                .append("   private Message translateToJavabuf(Object t, Type genericType) {" + LS)
+                .append("      HttpHeaders requestHeaders = ResteasyContext.getContextData(HttpHeaders.class);" + LS)
+                .append("      FieldSelection previous = FieldSelection.select(requestHeaders == null ? null" + LS)
+                .append("            : FieldSelection.parse(requestHeaders.getHeaderString(FIELD_MASK)));" + LS)
+                .append("      try {" + LS)
+                .append("         if (genericType != null) {" + LS)
+                .append("            GenericType gt =  new GenericType(genericType);" + LS)
+                .append("            if (gt.getRawType().isInterface()) {" + LS)
+                .append("               return translator.translateToJavabuf(t);" + LS)
+                .append("            }" + LS)
+                .append("            return translator.translateToJavabuf(t, gt);" + LS)
+                .append("         }" + LS)
+                .append("         return translator.translateToJavabuf(t);" + LS)
+                .append("      } finally {" + LS)
+                .append("         FieldSelection.restore(previous);" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS)
+                .append(String.format(SCALARS))
                 .append(String.format(GET_PARSER))
                 .append(String.format(JAVA_TO_JAVABUF_NAME, args[1]));
         if (hasSSE) {
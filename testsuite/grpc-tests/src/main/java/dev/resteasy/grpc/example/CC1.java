@@ -43,6 +43,7 @@ import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.MatrixParam;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -52,6 +53,7 @@ import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.NewCookie;
 import jakarta.ws.rs.core.Response;
@@ -62,6 +64,10 @@ import jakarta.ws.rs.sse.SseEventSink;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import dev.resteasy.grpc.bridge.runtime.PartialUpdate;
 import dev.resteasy.grpc.example.InnerClasses.InnerClassHolder;
 import dev.resteasy.grpc.example.InnerClasses.PublicPrivate;
 import dev.resteasy.grpc.example.InnerClasses.PublicPublic;
@@ -69,6 +75,8 @@ import dev.resteasy.grpc.example.InnerClasses.PublicPublic;
 @Path("p")
 public class CC1 {
 
+    private static final Label LABEL = new Label("fragile", 3);
+
     @SuppressWarnings("rawtypes")
     @Path("set")
     @GET
@@ -186,6 +194,66 @@ public class CC1 {
         return s.toUpperCase();
     }
 
+    @Path("echo/boolean")
+    @POST
+    public boolean echoBoolean(boolean x) {
+        return x;
+    }
+
+    @Path("echo/byte")
+    @POST
+    public byte echoByte(byte x) {
+        return x;
+    }
+
+    @Path("echo/short")
+    @POST
+    public short echoShort(short x) {
+        return x;
+    }
+
+    @Path("echo/int")
+    @POST
+    public int echoInt(int x) {
+        return x;
+    }
+
+    @Path("echo/long")
+    @POST
+    public long echoLong(long x) {
+        return x;
+    }
+
+    @Path("echo/float")
+    @POST
+    public float echoFloat(float x) {
+        return x;
+    }
+
+    @Path("echo/double")
+    @POST
+    public double echoDouble(double x) {
+        return x;
+    }
+
+    @Path("echo/char")
+    @POST
+    public char echoChar(char x) {
+        return x;
+    }
+
+    @Path("echo/string")
+    @POST
+    public String echoString(String x) {
+        return x;
+    }
+
+    @Path("echo/Character")
+    @POST
+    public Character echoCharacter(Character x) {
+        return x;
+    }
+
     @Path("constructor")
     @GET
     public CC9 constructor() {
@@ -717,6 +785,61 @@ public class CC1 {
         return r;
     }
 
+    @POST
+    @Path("record/parcel")
+    public RecordParcel recordParcel(RecordParcel r) {
+        return r;
+    }
+
+    @POST
+    @Path("drawing")
+    public Drawing drawing(Drawing d) {
+        return d;
+    }
+
+    @POST
+    @Path("sketch")
+    public Sketch sketch(Sketch s) {
+        return s;
+    }
+
+    @POST
+    @Path("task")
+    public Task task(Task t) {
+        return t;
+    }
+
+    @POST
+    @Path("task/record")
+    public TaskRecord taskRecord(TaskRecord t) {
+        return t;
+    }
+
+    // com.google.protobuf.Struct is a protobuf message, which is passed through untranslated
+    @POST
+    @Path("struct")
+    public Struct struct(Struct s) {
+        return s.toBuilder().putFields("seen", Value.newBuilder().setBoolValue(true).build()).build();
+    }
+
+    @POST
+    @Path("measurement")
+    public Measurement measurement(Measurement m) {
+        return m;
+    }
+
+    @POST
+    @Path("measurement/record")
+    public MeasurementRecord measurementRecord(MeasurementRecord m) {
+        return m;
+    }
+
+    @POST
+    @Path("reading")
+    public Reading reading(Reading r) {
+        return r;
+    }
+
     @POST
     @Path("record/variable/wildcard")
     public RecordVariable<?> recordVariableWildcard(RecordVariable<?> r) {
@@ -777,6 +900,30 @@ public class CC1 {
         return ta;
     }
 
+    @POST
+    @Path("node")
+    public Node node(Node node) {
+        return node;
+    }
+
+    @POST
+    @Path("shipment")
+    public Shipment shipment(Shipment shipment) {
+        return shipment;
+    }
+
+    @PATCH
+    @Path("shipment/update")
+    public Shipment updateShipment(Shipment partial, @Context HttpHeaders headers) {
+        return PartialUpdate.merge(headers, partial, new Shipment("NL", "US", "OPEN", "fragile"));
+    }
+
+    @GET
+    @Path("label")
+    public Label label() {
+        return LABEL;
+    }
+
     @GET
     @Path("onlyReturnType")
     public CC12 returnCC12() {
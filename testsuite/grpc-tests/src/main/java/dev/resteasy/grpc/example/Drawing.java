@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+import java.util.Objects;
+
+/**
+ * A class with fields declared as an interface.
+ */
+public class Drawing {
+
+    public String name;
+    public Shape shape;
+    public Shape background;
+
+    public Drawing() {
+    }
+
+    public Drawing(final String name, final Shape shape, final Shape background) {
+        this.name = name;
+        this.shape = shape;
+        this.background = background;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Drawing)) {
+            return false;
+        }
+        Drawing d = (Drawing) other;
+        return Objects.equals(name, d.name) && Objects.equals(shape, d.shape) && Objects.equals(background, d.background);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, shape, background);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+/**
+ * A subclass of another implementation of {@link Shape}.
+ */
+public class Ellipse extends Circle {
+
+    public double radius2;
+
+    public Ellipse() {
+    }
+
+    public Ellipse(final double radius, final double radius2) {
+        super(radius);
+        this.radius2 = radius2;
+    }
+
+    @Override
+    public double area() {
+        return Math.PI * radius * radius2;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return super.equals(other) && radius2 == ((Ellipse) other).radius2;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Double.hashCode(radius2);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+import dev.resteasy.grpc.bridge.runtime.Memoized;
+
+/**
+ * A {@code @Memoized} class. Instances are never modified once they have been translated.
+ */
+@Memoized
+public class Label {
+
+    public String text;
+    public int priority;
+
+    public Label(String text, int priority) {
+        this.text = text;
+        this.priority = priority;
+    }
+
+    public Label() {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+public class Measurement {
+
+    public UUID id;
+    public Instant taken;
+    public Duration elapsed;
+    public LocalDate day;
+    public BigInteger count;
+    public BigDecimal value;
+
+    public Measurement() {
+    }
+
+    public Measurement(final UUID id, final Instant taken, final Duration elapsed, final LocalDate day,
+            final BigInteger count, final BigDecimal value) {
+        this.id = id;
+        this.taken = taken;
+        this.elapsed = elapsed;
+        this.day = day;
+        this.count = count;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Measurement)) {
+            return false;
+        }
+        Measurement m = (Measurement) other;
+        return Objects.equals(id, m.id)
+                && Objects.equals(taken, m.taken)
+                && Objects.equals(elapsed, m.elapsed)
+                && Objects.equals(day, m.day)
+                && Objects.equals(count, m.count)
+                && Objects.equals(value, m.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, taken, elapsed, day, count, value);
+    }
+
+    @Override
+    public String toString() {
+        return "Measurement[" + id + ", " + taken + ", " + elapsed + ", " + day + ", " + count + ", " + value + "]";
+    }
+}
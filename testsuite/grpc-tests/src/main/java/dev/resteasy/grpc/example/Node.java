@@ -0,0 +1,37 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+/**
+ * A graph node for the reference preservation tests: {@code next} and {@code other} may point
+ * back to the node itself, to an ancestor, or to the same node.
+ */
+public class Node {
+
+    public String name;
+    public Node next;
+    public Node other;
+
+    public Node(String name) {
+        this.name = name;
+    }
+
+    public Node() {
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+import java.util.Objects;
+
+import dev.resteasy.grpc.bridge.runtime.IntegerEncoding;
+import dev.resteasy.grpc.bridge.runtime.IntegerEncoding.Kind;
+
+public class Reading {
+
+    @IntegerEncoding(IntegerEncoding.Kind.ZIGZAG)
+    public int delta;
+
+    @IntegerEncoding(value = Kind.FIXED)
+    public long hash;
+
+    @IntegerEncoding(value = IntegerEncoding.Kind.FIXED)
+    public Integer id;
+
+    @IntegerEncoding(value = Kind.FIXED)
+    public short small;
+
+    public long plain;
+
+    public Reading() {
+    }
+
+    public Reading(final int delta, final long hash, final Integer id, final short small, final long plain) {
+        this.delta = delta;
+        this.hash = hash;
+        this.id = id;
+        this.small = small;
+        this.plain = plain;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Reading)) {
+            return false;
+        }
+        Reading r = (Reading) other;
+        return delta == r.delta && hash == r.hash && Objects.equals(id, r.id) && small == r.small && plain == r.plain;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(delta, hash, id, small, plain);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import dev.resteasy.grpc.bridge.runtime.AggregateFactory;
+
+/**
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class AggregateFactoryTest {
+
+    private static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+
+    public static class CustomList extends ArrayList<Object> {
+        private static final long serialVersionUID = 1L;
+
+        public CustomList() {
+        }
+    }
+
+    public static class NotAnAggregate {
+        static {
+            INITIALIZED.set(true);
+        }
+
+        public NotAnAggregate() {
+        }
+    }
+
+    @Test
+    public void testWellKnownClasses() {
+        Collection<Object> list = AggregateFactory.newCollection(ArrayList.class.getName(), 10);
+        Assertions.assertEquals(ArrayList.class, list.getClass());
+        Collection<Object> set = AggregateFactory.newCollection(TreeSet.class.getName(), 10);
+        Assertions.assertEquals(TreeSet.class, set.getClass());
+        Map<Object, Object> map = AggregateFactory.newMap(HashMap.class.getName(), 10);
+        Assertions.assertEquals(HashMap.class, map.getClass());
+        MultivaluedMap<Object, Object> mmap = AggregateFactory.newMultivaluedMap(MultivaluedHashMap.class.getName(), 10);
+        Assertions.assertEquals(MultivaluedHashMap.class, mmap.getClass());
+    }
+
+    @Test
+    public void testNoArgConstructor() {
+        List<Object> list = AggregateFactory.newCollection(CustomList.class.getName(), 3);
+        Assertions.assertEquals(CustomList.class, list.getClass());
+        Assertions.assertNotSame(list, AggregateFactory.newCollection(CustomList.class.getName(), 3));
+    }
+
+    @Test
+    public void testWrongKind() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AggregateFactory.newMap(ArrayList.class.getName(), 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AggregateFactory.newCollection(HashMap.class.getName(), 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AggregateFactory.newMultivaluedMap(HashMap.class.getName(), 1));
+    }
+
+    /**
+     * A class named by a peer is checked before it is initialized or instantiated.
+     */
+    @Test
+    public void testNotAnAggregate() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AggregateFactory.newCollection(NotAnAggregate.class.getName(), 1));
+        Assertions.assertFalse(INITIALIZED.get());
+    }
+
+    @Test
+    public void testUnknownClass() {
+        Assertions.assertThrows(RuntimeException.class,
+                () -> AggregateFactory.newCollection("org.example.NoSuchList", 1));
+    }
+
+    @Test
+    public void testCapacity() {
+        Assertions.assertEquals(1, AggregateFactory.capacity(0));
+        Assertions.assertEquals(3, AggregateFactory.capacity(2));
+        Assertions.assertEquals(14, AggregateFactory.capacity(10));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.GenericType;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+
+import dev.resteasy.grpc.bridge.runtime.BuilderPool;
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.Utility;
+import dev.resteasy.grpc.example.CC1JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.gHeader;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Reuse of javabuf builders. The translation-modes surefire execution and the translation-modes container
+ * both set dev.resteasy.grpc.translation.reuseBuilders and a pool size of 2.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class BuilderPoolModeTest {
+
+    private static CC1JavabufTranslator translator = new CC1JavabufTranslator();
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return GrpcMapTest.deploy();
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        GrpcMapTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testReuse() {
+        Assertions.assertTrue(TranslationOptions.REUSE_BUILDERS);
+        BuilderPool<StringValue.Builder> pool = new BuilderPool<StringValue.Builder>(StringValue::newBuilder);
+        StringValue.Builder builder = pool.acquire();
+        builder.setValue("abc");
+        Message message = pool.build(builder);
+        Assertions.assertEquals(StringValue.of("abc"), message);
+
+        // the released builder is handed out again, cleared
+        StringValue.Builder again = pool.acquire();
+        Assertions.assertSame(builder, again);
+        Assertions.assertEquals("", again.getValue());
+
+        // and a builder in use is not
+        Assertions.assertNotSame(again, pool.acquire());
+    }
+
+    @Test
+    public void testPoolSize() {
+        Assertions.assertEquals(2, TranslationOptions.BUILDER_POOL_SIZE);
+        BuilderPool<StringValue.Builder> pool = new BuilderPool<StringValue.Builder>(StringValue::newBuilder);
+        Map<StringValue.Builder, Boolean> released = new IdentityHashMap<StringValue.Builder, Boolean>();
+        for (int i = 0; i < 3; i++) {
+            released.put(pool.acquire(), Boolean.TRUE);
+        }
+        for (StringValue.Builder builder : released.keySet()) {
+            pool.release(builder);
+        }
+        int reused = 0;
+        for (int i = 0; i < 3; i++) {
+            if (released.containsKey(pool.acquire())) {
+                reused++;
+            }
+        }
+        Assertions.assertEquals(2, reused);
+    }
+
+    /**
+     * A map translated with a reused builder holds none of the entries of the previous map.
+     */
+    @Test
+    public void testMaps() throws Exception {
+        GenericType<Map<String, String>> type = new GenericType<Map<String, String>>() {
+        };
+        for (int size = 4; size >= 0; size--) {
+            Map<String, String> map = new HashMap<String, String>();
+            for (int i = 0; i < size; i++) {
+                map.put("k" + size + i, "v" + i);
+            }
+            Message m = translator.translateToJavabuf(map, type);
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setAnyField(Any.pack(m)).build();
+            GeneralReturnMessage response = blockingStub.mapStringString(gem);
+            Message result = Utility.unpack(response.getAnyField(), translator);
+            Assertions.assertEquals(map, translator.translateFromJavabuf(result));
+        }
+    }
+
+    /**
+     * The headers and cookies of a response are built with reused builders, so they must not carry over
+     * to the next response.
+     */
+    @Test
+    public void testResponses() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            GeneralReturnMessage response = blockingStub.serverHeaders(GeneralEntityMessage.newBuilder().build());
+            Assertions.assertEquals(gHeader.newBuilder().addValues("v1a").addValues("v1b").build(),
+                    response.getHeadersMap().get("h1"));
+            Assertions.assertEquals(gHeader.newBuilder().addValues("v2").build(), response.getHeadersMap().get("h2"));
+            Assertions.assertEquals(0, response.getCookiesCount());
+
+            response = blockingStub.serverCookies(GeneralEntityMessage.newBuilder().build());
+            Assertions.assertEquals(2, response.getCookiesCount());
+            Assertions.assertFalse(response.getHeadersMap().containsKey("h1"));
+            Assertions.assertEquals("cookies", response.getGStringField().getValue());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import dev.resteasy.grpc.bridge.generator.protobuf.FieldNumbering;
+
+/**
+ * Profile guided field numbering by the generator.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class FieldNumberingTest {
+
+    private static final String LS = System.lineSeparator();
+
+    @Test
+    public void testProfileOrder() {
+        Map<String, Integer> lock = new TreeMap<String, Integer>();
+        Map<String, Long> profile = new HashMap<String, Long>();
+        profile.put("M.c", 100L);
+        profile.put("M.b", 10L);
+        String body = lines("  string a = 1;", "  int64 b = 2;", "  repeated M c = 3;", "");
+        Assertions.assertEquals(lines("  string a = 3;", "  int64 b = 2;", "  repeated M c = 1;", ""),
+                FieldNumbering.renumber("M", body, lock, profile));
+        Assertions.assertEquals(Map.of("M.a", 3, "M.b", 2, "M.c", 1), lock);
+    }
+
+    @Test
+    public void testLockedNumbersKept() {
+        Map<String, Integer> lock = new TreeMap<String, Integer>();
+        lock.put("M.a", 2);
+        lock.put("N.b", 1);
+        Map<String, Long> profile = Map.of("M.b", 5L);
+        String body = lines("  string a = 1;", "  string b = 2;", "");
+        Assertions.assertEquals(lines("  string a = 2;", "  string b = 1;", ""),
+                FieldNumbering.renumber("M", body, lock, profile));
+        Assertions.assertEquals(1, lock.get("M.b"));
+        Assertions.assertEquals(1, lock.get("N.b"));
+    }
+
+    /**
+     * The number of a locked field that's gone is reserved and isn't given to a new field.
+     */
+    @Test
+    public void testReserved() {
+        Map<String, Integer> lock = new TreeMap<String, Integer>();
+        lock.put("M.a", 1);
+        lock.put("M.gone", 2);
+        lock.put("M.alsoGone", 4);
+        String body = lines("  string a = 1;", "  string b = 2;", "  string c = 3;", "");
+        Assertions.assertEquals(lines("  string a = 1;", "  string b = 3;", "  string c = 5;", "  reserved 2;", "  reserved 4;", ""),
+                FieldNumbering.renumber("M", body, lock, Map.of()));
+        Assertions.assertEquals(2, lock.get("M.gone"));
+        Assertions.assertEquals(5, lock.get("M.c"));
+    }
+
+    /**
+     * Maps, oneofs and nested lines are renumbered in place; lines that aren't fields are kept as they are.
+     */
+    @Test
+    public void testLines() {
+        Map<String, Integer> lock = new TreeMap<String, Integer>();
+        String body = lines("  map<string, int32> m = 1;",
+                "  // a comment = 7;",
+                "  oneof shape___oneof {",
+                "    dev_resteasy_grpc_example___Circle circle = 2;",
+                "    google.protobuf.Any any = 3;",
+                "  }",
+                "  E___VALUE = 4;",
+                "");
+        Map<String, Long> profile = Map.of("M.any", 3L, "M.circle", 2L);
+        Assertions.assertEquals(lines("  map<string, int32> m = 3;",
+                "  // a comment = 7;",
+                "  oneof shape___oneof {",
+                "    dev_resteasy_grpc_example___Circle circle = 2;",
+                "    google.protobuf.Any any = 1;",
+                "  }",
+                "  E___VALUE = 4;",
+                ""),
+                FieldNumbering.renumber("M", body, lock, profile));
+        Assertions.assertEquals(3, lock.size());
+    }
+
+    private static String lines(String... lines) {
+        return String.join(LS, lines);
+    }
+}
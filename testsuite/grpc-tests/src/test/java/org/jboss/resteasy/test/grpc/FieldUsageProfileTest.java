@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Timestamp;
+
+import dev.resteasy.grpc.bridge.runtime.FieldUsageProfile;
+
+/**
+ * The default build runs without dev.resteasy.grpc.translation.fieldProfile, so profiling is off.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class FieldUsageProfileTest {
+
+    @Test
+    public void testDisabled() throws Exception {
+        Assertions.assertFalse(FieldUsageProfile.ENABLED);
+        FieldUsageProfile.record(Timestamp.newBuilder().setSeconds(1).setNanos(2).build());
+        FieldUsageProfile.record(null);
+        FieldUsageProfile.flush();
+
+        Path path = Files.createTempFile("profile", ".properties");
+        try {
+            FieldUsageProfile.write(path);
+            Assertions.assertEquals("", Files.readString(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
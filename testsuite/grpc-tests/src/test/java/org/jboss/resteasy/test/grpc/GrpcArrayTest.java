@@ -1,6 +1,7 @@
 package org.jboss.resteasy.test.grpc;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import jakarta.ws.rs.client.Client;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.wildfly.common.Assert;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 
 import dev.resteasy.grpc.arrays.ArrayResource;
@@ -46,6 +48,7 @@ import dev.resteasy.grpc.arrays.Array_proto.dev_resteasy_grpc_arrays___Long___WA
 import dev.resteasy.grpc.arrays.Array_proto.dev_resteasy_grpc_arrays___Short___Array;
 import dev.resteasy.grpc.arrays.Array_proto.dev_resteasy_grpc_arrays___Short___WArray;
 import dev.resteasy.grpc.arrays.Array_proto.dev_resteasy_grpc_arrays___String___WArray;
+import dev.resteasy.grpc.bridge.runtime.PackedMatrices;
 import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
 import dev.resteasy.grpc.example.CC1;
 import dev.resteasy.grpc.example.CC1ServiceGrpc;
@@ -1174,6 +1177,61 @@ public class GrpcArrayTest {
         Assert.assertTrue(Arrays.deepEquals(array, array2));
     }
 
+    /**
+     * Packing is off in this execution, but a packed array of primitive arrays is still read.
+     */
+    @Test
+    void testPackedMatrixAccepted() throws Exception {
+        int[][] array = new int[][] { { 1, -2, 3 }, null, {}, { Integer.MIN_VALUE } };
+        dev_resteasy_grpc_arrays___ArrayHolder___WArray jbArray = ahwaBuilder
+                .addAllRowLengths(Arrays.asList(3, -1, 0, 1))
+                .setPackedValues(PackedMatrices.pack(array))
+                .setComponentType(int[].class.getName())
+                .build();
+        Assert.assertTrue(Arrays.deepEquals(array, (int[][]) translator.translateFromJavabuf(jbArray)));
+        GeneralEntityMessage gem = gemBuilder.setDevResteasyGrpcArraysArrayHolderWArrayField(jbArray).build();
+        GeneralReturnMessage response = blockingStub.multiIntPrimitive(gem);
+        dev_resteasy_grpc_arrays___ArrayHolder___WArray result = response.getDevResteasyGrpcArraysArrayHolderWArrayField();
+        Assertions.assertEquals(0, result.getRowLengthsCount());
+        Assert.assertTrue(Arrays.deepEquals(array, (int[][]) translator.translateFromJavabuf(result)));
+    }
+
+    @Test
+    void testPackedMatrixValidation() throws Exception {
+        ByteString twoInts = PackedMatrices.pack(new int[][] { { 1, 2 } });
+        Assertions.assertEquals(8, twoInts.size());
+        Assert.assertTrue(Arrays.deepEquals(new int[][] { { 1 }, null, { 2 } },
+                (int[][]) PackedMatrices.unpack(int[].class, Arrays.asList(1, -1, 1), twoInts)));
+
+        // lengths that don't add up to the values
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(int[].class, Arrays.asList(1), twoInts));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(int[].class, Arrays.asList(2, 1), twoInts));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(int[].class, Arrays.asList(4, -2), twoInts));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(long[].class, Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE), twoInts));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(int[].class, Collections.nCopies(3, Integer.MAX_VALUE), twoInts));
+
+        // component types that aren't primitive arrays
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(int.class, Arrays.asList(2), twoInts));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedMatrices.unpack(String[].class, Arrays.asList(2), twoInts));
+
+        // the generated translator reports it as well
+        dev_resteasy_grpc_arrays___ArrayHolder___WArray jbArray = ahwaBuilder
+                .addRowLengths(Integer.MAX_VALUE)
+                .setPackedValues(twoInts)
+                .setComponentType(int[].class.getName())
+                .build();
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class,
+                () -> translator.translateFromJavabuf(jbArray));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
     //============================================================================
     private static void clearBuilders() {
         ahBuilder.clear();
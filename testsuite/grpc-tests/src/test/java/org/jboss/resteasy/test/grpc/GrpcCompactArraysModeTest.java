@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Wrapper arrays in the compact form. The translation-modes surefire execution sets
+ * dev.resteasy.grpc.translation.compactWrapperArrays only in the client, so each request is sent as
+ * values_field plus a NullBitmap in nulls_field, and each response comes back as one wrapper message
+ * per element. The bitmaps of the longer arrays span several bytes.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcCompactArraysModeTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> doDeploy() throws Exception {
+        return GrpcArrayTest.doDeploy();
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        GrpcArrayTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    interface Rpc {
+        GeneralReturnMessage call(CC1ServiceBlockingStub stub, GeneralEntityMessage gem);
+    }
+
+    static Stream<Arguments> arrays() {
+        Integer[] integers = new Integer[70];
+        for (int i = 0; i < integers.length; i++) {
+            integers[i] = i % 7 == 0 || i == 8 || i == 64 ? null : Integer.valueOf(i * 1000);
+        }
+        Rpc singleInteger = CC1ServiceBlockingStub::singleInteger;
+        Rpc singleDouble = CC1ServiceBlockingStub::singleDouble;
+        Rpc singleCharacter = CC1ServiceBlockingStub::singleCharacter;
+        Rpc singleString = CC1ServiceBlockingStub::singleString;
+        return Stream.of(
+                // array, rpc, expected size of nulls_field
+                Arguments.of(new Integer[0], singleInteger, 0),
+                Arguments.of(new Integer[11], singleInteger, 2),
+                Arguments.of(new Integer[] { 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE }, singleInteger, 0),
+                Arguments.of(integers, singleInteger, 9),
+                Arguments.of(new Double[9], singleDouble, 2),
+                Arguments.of(new Double[] { null, 0.0d, -0.0d, Double.NaN, Double.NEGATIVE_INFINITY, null, 1.5d,
+                        Double.MAX_VALUE, null, Double.MIN_VALUE, null }, singleDouble, 2),
+                Arguments.of(new Character[8], singleCharacter, 1),
+                Arguments.of(new Character[] { 'a', null, '\0', '\uffff', null, 'z', 'y', 'x', null, '\u00e9' },
+                        singleCharacter, 2),
+                Arguments.of(new String[3], singleString, 1),
+                // "" and null must stay distinct
+                Arguments.of(new String[] { "", null, "abc", "", null, null, null, null, null, "" }, singleString, 2));
+    }
+
+    @ParameterizedTest
+    @MethodSource("arrays")
+    public void testCompactArray(Object[] array, Rpc rpc, int nullsSize) throws Exception {
+        Message jbArray = translator.translateToJavabuf(array);
+        Descriptor descriptor = jbArray.getDescriptorForType();
+        Assertions.assertEquals(0, jbArray.getRepeatedFieldCount(descriptor.findFieldByName("wrapper_field")));
+        Assertions.assertEquals(array.length, jbArray.getRepeatedFieldCount(descriptor.findFieldByName("values_field")));
+        Assertions.assertEquals(nullsSize, ((ByteString) jbArray.getField(descriptor.findFieldByName("nulls_field"))).size());
+
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setField(fieldFor(GeneralEntityMessage.getDescriptor(), descriptor), jbArray)
+                .build();
+        GeneralReturnMessage response = rpc.call(blockingStub, gem);
+        Message result = (Message) response.getField(fieldFor(GeneralReturnMessage.getDescriptor(), descriptor));
+        Assertions.assertEquals(array.length,
+                result.getRepeatedFieldCount(result.getDescriptorForType().findFieldByName("wrapper_field")));
+        Assertions.assertTrue(Arrays.deepEquals(array, (Object[]) translator.translateFromJavabuf(result)));
+    }
+
+    /**
+     * Finds the field of a GeneralEntityMessage or GeneralReturnMessage that carries messages of type {@code type}.
+     */
+    static FieldDescriptor fieldFor(Descriptor message, Descriptor type) {
+        for (FieldDescriptor fd : message.getFields()) {
+            if (fd.getJavaType() == FieldDescriptor.JavaType.MESSAGE && fd.getMessageType() == type) {
+                return fd;
+            }
+        }
+        throw new IllegalArgumentException(message.getName() + " has no " + type.getName() + " field");
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.OneofDescriptor;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.DictionaryEncoded;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Shipment;
+import dev.resteasy.grpc.example.Shipment;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Round trips of the {@link DictionaryEncoded} fields of {@link Shipment}, which are sent in either build.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcDictionaryTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcDictionaryTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Each distinct value of the {@code @DictionaryEncoded} fields of a chain of shipments is sent in full
+     * once, in either direction, and every other occurrence as an index. The values read back are shared.
+     */
+    @Test
+    public void testShipmentDictionary() throws Exception {
+        Shipment s = new Shipment("NL", "NL", "OPEN", "1");
+        s.next = new Shipment("NL", "US", "OPEN", "2");
+        s.next.next = new Shipment("US", "NL", "CLOSED", "3");
+        dev_resteasy_grpc_example___Shipment m = (dev_resteasy_grpc_example___Shipment) translator.translateToJavabuf(s);
+        int[] counts = new int[2];
+        countDictionaryFields(m, counts);
+        Assertions.assertArrayEquals(new int[] { 4, 5 }, counts);
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(m).build();
+        GeneralReturnMessage response = blockingStub.shipment(gem);
+        counts = new int[2];
+        countDictionaryFields(response.getDevResteasyGrpcExampleShipmentField(), counts);
+        Assertions.assertArrayEquals(new int[] { 4, 5 }, counts);
+        Shipment s2 = (Shipment) translator.translateFromJavabuf(response.getDevResteasyGrpcExampleShipmentField());
+        for (Shipment expected = s, actual = s2; expected != null; expected = expected.next, actual = actual.next) {
+            Assertions.assertEquals(expected.origin, actual.origin);
+            Assertions.assertEquals(expected.destination, actual.destination);
+            Assertions.assertEquals(expected.status, actual.status);
+            Assertions.assertEquals(expected.note, actual.note);
+        }
+        Assertions.assertNull(s2.next.next.next);
+        Assertions.assertSame(s2.origin, s2.destination);
+        Assertions.assertSame(s2.origin, s2.next.next.destination);
+        Assertions.assertSame(s2.status, s2.next.status);
+        Assertions.assertSame(s2.next.destination, s2.next.next.origin);
+    }
+
+    // counts[0] is the number of dictionary encoded values sent in full, counts[1] the number sent as an index
+    private static void countDictionaryFields(Message message, int[] counts) {
+        for (Map.Entry<FieldDescriptor, Object> entry : message.getAllFields().entrySet()) {
+            FieldDescriptor fd = entry.getKey();
+            OneofDescriptor oneof = fd.getRealContainingOneof();
+            if (oneof != null && oneof.getName().endsWith("___dict")) {
+                counts[fd == oneof.getField(0) ? 0 : 1]++;
+            } else if (entry.getValue() instanceof Message) {
+                countDictionaryFields((Message) entry.getValue(), counts);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+
+import dev.resteasy.grpc.bridge.runtime.EnumConstants;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Priority;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Task;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___TaskRecord;
+import dev.resteasy.grpc.example.Priority;
+import dev.resteasy.grpc.example.Task;
+import dev.resteasy.grpc.example.TaskRecord;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Java enums are sent as protobuf enums whose value 0 stands for null, followed by the Java constants
+ * numbered by their ordinals plus one.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcEnumTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcEnumTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testNumbers() {
+        Assertions.assertNull(EnumConstants.forNumber(Priority.class, 0));
+        Assertions.assertNull(EnumConstants.forNumber(Priority.class, -1));
+        Assertions.assertNull(EnumConstants.forNumber(Priority.class, Priority.values().length + 1));
+        EnumValueDescriptor[] values = EnumConstants.values(dev_resteasy_grpc_example___Priority.getDescriptor());
+        Assertions.assertEquals(Priority.values().length, values.length);
+        for (Priority p : Priority.values()) {
+            Assertions.assertSame(p, EnumConstants.forNumber(Priority.class, p.ordinal() + 1));
+            Assertions.assertEquals(p.ordinal() + 1, values[p.ordinal()].getNumber());
+            Assertions.assertEquals("dev_resteasy_grpc_example___Priority___" + p.name(), values[p.ordinal()].getName());
+        }
+
+        // a constant named UNSPECIFIED doesn't take the place of null
+        Assertions.assertEquals("dev_resteasy_grpc_example___Priority___UNSPECIFIED_",
+                dev_resteasy_grpc_example___Priority.getDescriptor().findValueByNumber(0).getName());
+    }
+
+    @Test
+    public void testClass() {
+        for (Priority p : Priority.values()) {
+            Task t = new Task("t", p);
+            dev_resteasy_grpc_example___Task m = (dev_resteasy_grpc_example___Task) translator.translateToJavabuf(t);
+            Assertions.assertEquals(p.ordinal() + 1, m.getPriorityValue());
+            Assertions.assertEquals(t, roundTrip(m));
+        }
+        Task t = new Task("none", null);
+        dev_resteasy_grpc_example___Task m = (dev_resteasy_grpc_example___Task) translator.translateToJavabuf(t);
+        Assertions.assertEquals(0, m.getPriorityValue());
+        Assertions.assertEquals(t, roundTrip(m));
+    }
+
+    @Test
+    public void testRecord() {
+        for (Priority p : new Priority[] { Priority.LOW, Priority.UNSPECIFIED, null }) {
+            TaskRecord t = new TaskRecord("r", p);
+            dev_resteasy_grpc_example___TaskRecord m = (dev_resteasy_grpc_example___TaskRecord) translator
+                    .translateToJavabuf(t);
+            Assertions.assertEquals(p == null ? 0 : p.ordinal() + 1, m.getPriorityValue());
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleTaskRecordField(m)
+                    .setURL("http://localhost:8080/p/task/record").build();
+            GeneralReturnMessage response = blockingStub.taskRecord(gem);
+            Assertions.assertEquals(t, translator.translateFromJavabuf(response.getDevResteasyGrpcExampleTaskRecordField()));
+        }
+    }
+
+    private static Task roundTrip(dev_resteasy_grpc_example___Task m) {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleTaskField(m)
+                .setURL("http://localhost:8080/p/task").build();
+        GeneralReturnMessage response = blockingStub.task(gem);
+        return (Task) translator.translateFromJavabuf(response.getDevResteasyGrpcExampleTaskField());
+    }
+}
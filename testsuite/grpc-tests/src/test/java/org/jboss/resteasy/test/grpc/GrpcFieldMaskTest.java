@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.OneofDescriptor;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.Constants;
+import dev.resteasy.grpc.bridge.runtime.ReferenceScope;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Shipment;
+import dev.resteasy.grpc.example.CC1_proto.gHeader;
+import dev.resteasy.grpc.example.Shipment;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Only the fields of a response selected by the fieldMask field of GeneralEntityMessage, or by the FIELD-MASK
+ * header, are sent back.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcFieldMaskTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcFieldMaskTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFieldMask() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(chain())
+                .setFieldMask(FieldMask.newBuilder().addPaths("status").addPaths("next.origin")).build();
+        checkPruned(blockingStub.shipment(gem));
+    }
+
+    @Test
+    public void testFieldMaskHeader() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(chain())
+                .putHeaders(Constants.FIELD_MASK, gHeader.newBuilder().addValues("status, next.origin").build()).build();
+        checkPruned(blockingStub.shipment(gem));
+    }
+
+    /**
+     * A field selected without a path below it is sent in full.
+     */
+    @Test
+    public void testWholeField() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(chain())
+                .setFieldMask(FieldMask.newBuilder().addPaths("next")).build();
+        GeneralReturnMessage response = blockingStub.shipment(gem);
+        Message m = response.getDevResteasyGrpcExampleShipmentField();
+        Assertions.assertEquals(Set.of("next"), setFields(m));
+        Shipment s = (Shipment) translator.translateFromJavabuf(m);
+        Assertions.assertNull(s.origin);
+        Assertions.assertNull(s.status);
+        Assertions.assertEquals("US", s.next.origin);
+        Assertions.assertEquals("DE", s.next.destination);
+        Assertions.assertEquals("CLOSED", s.next.status);
+        Assertions.assertEquals("second", s.next.note);
+        Assertions.assertEquals("third", s.next.next.note);
+    }
+
+    @Test
+    public void testNoFieldMask() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(chain()).build();
+        Shipment s = (Shipment) translator.translateFromJavabuf(blockingStub.shipment(gem).getDevResteasyGrpcExampleShipmentField());
+        Assertions.assertEquals("NL", s.origin);
+        Assertions.assertEquals("US", s.destination);
+        Assertions.assertEquals("first", s.note);
+        Assertions.assertEquals("third", s.next.next.note);
+    }
+
+    private static void checkPruned(GeneralReturnMessage response) {
+        dev_resteasy_grpc_example___Shipment m = response.getDevResteasyGrpcExampleShipmentField();
+        Assertions.assertEquals(Set.of("status", "next"), setFields(m));
+        Assertions.assertEquals(Set.of("origin"), setFields(m.getNext()));
+        Shipment s = (Shipment) translator.translateFromJavabuf(m);
+        Assertions.assertNull(s.origin);
+        Assertions.assertNull(s.destination);
+        Assertions.assertEquals("OPEN", s.status);
+        Assertions.assertNull(s.note);
+        Assertions.assertEquals("US", s.next.origin);
+        Assertions.assertNull(s.next.destination);
+        Assertions.assertNull(s.next.status);
+        Assertions.assertNull(s.next.note);
+        Assertions.assertNull(s.next.next);
+    }
+
+    private static dev_resteasy_grpc_example___Shipment chain() {
+        Shipment s = new Shipment("NL", "US", "OPEN", "first");
+        s.next = new Shipment("US", "DE", "CLOSED", "second");
+        s.next.next = new Shipment("DE", "NL", "OPEN", "third");
+        return (dev_resteasy_grpc_example___Shipment) translator.translateToJavabuf(s);
+    }
+
+    // names of the Java fields set in m; a dictionary encoded field is set whether it's sent in full or as an index
+    private static Set<String> setFields(Message m) {
+        Set<String> names = new HashSet<String>();
+        for (FieldDescriptor fd : m.getAllFields().keySet()) {
+            if (ReferenceScope.isReferenceField(fd)) {
+                continue;
+            }
+            OneofDescriptor oneof = fd.getRealContainingOneof();
+            String name = oneof == null ? fd.getName() : oneof.getName();
+            names.add(name.contains("___") ? name.substring(0, name.lastIndexOf("___")) : name);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Any;
+
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.java_util___ArrayList;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Raw collections sent as a single type URL and the serialized elements. The translation-modes surefire
+ * execution and the translation-modes container both set dev.resteasy.grpc.translation.homogeneousCollections.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcHomogeneousCollectionsModeTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return GrpcListsAndSetsTest.deploy();
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        GrpcListsAndSetsTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testHomogeneous() {
+        Assertions.assertTrue(TranslationOptions.HOMOGENEOUS_COLLECTIONS);
+        ArrayList<String> coll = new ArrayList<String>();
+        coll.add("abc");
+        coll.add("");
+        coll.add("xyz");
+        java_util___ArrayList m = (java_util___ArrayList) translator.translateToJavabuf(coll, null);
+        Assertions.assertFalse(m.getTypeUrl().isEmpty());
+        Assertions.assertEquals(3, m.getPayloadCount());
+        Assertions.assertEquals(0, m.getDataCount());
+
+        java_util___ArrayList result = roundTrip(m);
+        Assertions.assertEquals(m.getTypeUrl(), result.getTypeUrl());
+        Assertions.assertEquals(coll, translator.translateFromJavabuf(result));
+    }
+
+    @Test
+    public void testMixed() {
+        ArrayList<Object> coll = new ArrayList<Object>();
+        coll.add("abc");
+        coll.add(Integer.valueOf(3));
+        java_util___ArrayList m = (java_util___ArrayList) translator.translateToJavabuf(coll, null);
+        Assertions.assertTrue(m.getTypeUrl().isEmpty());
+        Assertions.assertEquals(2, m.getDataCount());
+        Assertions.assertEquals(coll, translator.translateFromJavabuf(roundTrip(m)));
+    }
+
+    @Test
+    public void testEmpty() {
+        ArrayList<Object> coll = new ArrayList<Object>();
+        java_util___ArrayList m = (java_util___ArrayList) translator.translateToJavabuf(coll, null);
+        Assertions.assertTrue(m.getTypeUrl().isEmpty());
+        Assertions.assertEquals(coll, translator.translateFromJavabuf(roundTrip(m)));
+    }
+
+    /**
+     * A collection with one Any per element, as sent by a peer without homogeneousCollections, is still accepted.
+     */
+    @Test
+    public void testAnyEncoding() {
+        ArrayList<String> coll = new ArrayList<String>();
+        coll.add("abc");
+        coll.add("def");
+        java_util___ArrayList.Builder builder = java_util___ArrayList.newBuilder().setClassname("java.util.ArrayList");
+        for (String s : coll) {
+            builder.addData(Any.pack(translator.translateToJavabuf(s)));
+        }
+        java_util___ArrayList result = roundTrip(builder.build());
+        Assertions.assertEquals(2, result.getPayloadCount());
+        Assertions.assertEquals(coll, translator.translateFromJavabuf(result));
+    }
+
+    private static java_util___ArrayList roundTrip(java_util___ArrayList m) {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setJavaUtilArrayListField(m).build();
+        GeneralReturnMessage response = blockingStub.arrayListTest5(gem);
+        return response.getJavaUtilArrayListField();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.github.javaparser.StaticJavaParser;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.Type;
+
+import dev.resteasy.grpc.bridge.generator.protobuf.JavaToProtobufGenerator;
+import dev.resteasy.grpc.bridge.runtime.IntegerEncoding.Kind;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Reading;
+import dev.resteasy.grpc.example.Reading;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Integer fields annotated with {@code @IntegerEncoding} get the protobuf type it selects.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcIntegerEncodingTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcIntegerEncodingTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFieldTypes() {
+        Descriptor descriptor = dev_resteasy_grpc_example___Reading.getDescriptor();
+        Assertions.assertEquals(Type.SINT32, descriptor.findFieldByName("delta").getType());
+        Assertions.assertEquals(Type.SFIXED64, descriptor.findFieldByName("hash").getType());
+        Assertions.assertEquals(Type.SFIXED32, descriptor.findFieldByName("id").getType());
+        // byte and short fields keep their varint encoding
+        Assertions.assertEquals(Type.INT32, descriptor.findFieldByName("small").getType());
+        Assertions.assertEquals(Type.INT64, descriptor.findFieldByName("plain").getType());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Reading[] readings = {
+                new Reading(-1, Long.MIN_VALUE, Integer.MAX_VALUE, Short.MIN_VALUE, -1L),
+                new Reading(0, 0L, 0, (short) 0, 0L),
+                new Reading(Integer.MIN_VALUE, 0x9E3779B97F4A7C15L, null, Short.MAX_VALUE, Long.MAX_VALUE)
+        };
+        for (Reading reading : readings) {
+            dev_resteasy_grpc_example___Reading m = (dev_resteasy_grpc_example___Reading) translator
+                    .translateToJavabuf(reading);
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleReadingField(m)
+                    .setURL("http://localhost:8080/p/reading").build();
+            GeneralReturnMessage response = blockingStub.reading(gem);
+            Assertions.assertEquals(reading,
+                    translator.translateFromJavabuf(response.getDevResteasyGrpcExampleReadingField()));
+        }
+    }
+
+    @Test
+    public void testAnnotationValues() {
+        Assertions.assertEquals(Kind.FIXED,
+                JavaToProtobufGenerator.integerEncoding(StaticJavaParser.parseAnnotation("@IntegerEncoding(Kind.FIXED)")));
+        Assertions.assertEquals(Kind.ZIGZAG,
+                JavaToProtobufGenerator.integerEncoding(StaticJavaParser.parseAnnotation("@IntegerEncoding(ZIGZAG)")));
+        Assertions.assertEquals(Kind.FIXED, JavaToProtobufGenerator.integerEncoding(
+                StaticJavaParser.parseAnnotation("@IntegerEncoding(value = Kind.FIXED)")));
+        Assertions.assertEquals(Kind.VARINT, JavaToProtobufGenerator.integerEncoding(StaticJavaParser
+                .parseAnnotation("@IntegerEncoding(value = dev.resteasy.grpc.bridge.runtime.IntegerEncoding.Kind.VARINT)")));
+        Assertions.assertNull(JavaToProtobufGenerator.integerEncoding(StaticJavaParser.parseAnnotation("@IntegerEncoding")));
+
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> JavaToProtobufGenerator.integerEncoding(StaticJavaParser.parseAnnotation("@IntegerEncoding(Kind.FIX)")));
+        Assertions.assertTrue(e.getMessage().contains("Kind.FIX"), e.getMessage());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JavaToProtobufGenerator
+                .integerEncoding(StaticJavaParser.parseAnnotation("@IntegerEncoding(value = Kind.fixed)")));
+    }
+}
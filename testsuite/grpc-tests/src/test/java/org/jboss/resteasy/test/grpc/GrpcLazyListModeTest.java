@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.GenericType;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.LazyList;
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Lazy translation of lists. The translation-modes surefire execution and the translation-modes container
+ * both set dev.resteasy.grpc.translation.lazy, so a value declared as java.util.List is read as a
+ * {@link LazyList} on either side, and a value declared as any other collection type is read eagerly.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcLazyListModeTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return GrpcListsAndSetsTest.deploy();
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        GrpcListsAndSetsTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testList() throws Exception {
+        Assertions.assertTrue(TranslationOptions.LAZY);
+        List<String> list = new ArrayList<String>();
+        list.add("abc");
+        list.add("");
+        list.add("xyz");
+        Message m = translator.translateToJavabuf(list, new GenericType<List<String>>() {
+        });
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setAnyField(Any.pack(m)).build();
+        GeneralReturnMessage response = blockingStub.listTest3(gem);
+        Message result = response.getAnyField().unpack(m.getClass());
+        Object list2 = translator.translateFromJavabuf(result);
+        Assertions.assertInstanceOf(LazyList.class, list2);
+        Assertions.assertEquals(list, list2);
+
+        // modifying the list materializes it
+        @SuppressWarnings("unchecked")
+        List<String> lazy = (List<String>) list2;
+        lazy.add("def");
+        lazy.remove(0);
+        Assertions.assertEquals(List.of("", "xyz", "def"), lazy);
+    }
+
+    @Test
+    public void testArrayList() throws Exception {
+        ArrayList<String> list = new ArrayList<String>();
+        list.add("abc");
+        Message m = translator.translateToJavabuf(list, new GenericType<ArrayList<String>>() {
+        });
+        GeneralEntityMessage gem = ((GeneralEntityMessage.Builder) JavabufClassTranslator
+                .getSetter("java.util.ArrayList<java.lang.String>")
+                .invoke(GeneralEntityMessage.newBuilder(), m)).build();
+        GeneralReturnMessage response = blockingStub.arrayListTest3(gem);
+        Message result = (Message) JavabufClassTranslator.getGetter("java.util.ArrayList<java.lang.String>")
+                .invoke(response);
+        Object list2 = translator.translateFromJavabuf(result);
+        Assertions.assertEquals(ArrayList.class, list2.getClass());
+        Assertions.assertEquals(list, list2);
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        Set<String> set = new HashSet<String>();
+        set.add("abc");
+        Message m = translator.translateToJavabuf(set, new GenericType<Set<String>>() {
+        });
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setAnyField(Any.pack(m)).build();
+        GeneralReturnMessage response = blockingStub.setTest3(gem);
+        Message result = response.getAnyField().unpack(m.getClass());
+        Object set2 = translator.translateFromJavabuf(result);
+        Assertions.assertFalse(set2 instanceof LazyList);
+        Assertions.assertEquals(set, set2);
+    }
+}
@@ -237,6 +237,31 @@ public class GrpcListsAndSetsTest {
         Assertions.assertEquals(coll, translator.translateFromJavabuf(result));
     }
 
+    /**
+     * By default a raw collection is sent with one Any per element, and a collection sent as a single
+     * type URL and serialized elements is still accepted.
+     */
+    @Test
+    public void testRawListEncodings() {
+        java.util.ArrayList<String> coll = new java.util.ArrayList<String>();
+        coll.add("abc");
+        coll.add("");
+        java_util___ArrayList m = (java_util___ArrayList) translator.translateToJavabuf(coll, null);
+        Assertions.assertEquals(2, m.getDataCount());
+        Assertions.assertTrue(m.getTypeUrl().isEmpty());
+        Assertions.assertEquals(0, m.getPayloadCount());
+
+        java_util___ArrayList.Builder payload = java_util___ArrayList.newBuilder().setClassname("java.util.ArrayList");
+        for (Any element : m.getDataList()) {
+            payload.setTypeUrl(element.getTypeUrl()).addPayload(element.getValue());
+        }
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setJavaUtilArrayListField(payload.build()).build();
+        GeneralReturnMessage response = blockingStubPlaintext.arrayListTest5(gem);
+        java_util___ArrayList result = response.getJavaUtilArrayListField();
+        Assertions.assertEquals(2, result.getDataCount());
+        Assertions.assertEquals(coll, translator.translateFromJavabuf(result));
+    }
+
     // Client: null
     // Server: ArrayList
     @Test
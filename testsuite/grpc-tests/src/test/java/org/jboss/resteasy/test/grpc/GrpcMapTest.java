@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 //import org.jboss.shrinkwrap.api.exporter.ZipExporter;
@@ -308,6 +309,58 @@ public class GrpcMapTest {
         Assertions.assertEquals(map, translator.translateFromJavabuf(result));
     }
 
+    // Client: java.util.TreeMap<java.lang.String, java.lang.Integer>, native protobuf map
+    // Server: Map<java.lang.String, java.lang.Integer>
+    @Test
+    public void testNativeMapStringInteger() throws Exception {
+        Map<String, Integer> map = new TreeMap<String, Integer>();
+        for (int i = -2; i < 100; i++) {
+            map.put(Integer.toString(i), i * 1000);
+        }
+        map.put("", Integer.MIN_VALUE);
+        GenericType<Map<String, Integer>> type = new GenericType<Map<String, Integer>>() {
+        };
+        Message m = translator.translateToJavabuf(map, type);
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setAnyField(Any.pack(m)).build();
+        GeneralReturnMessage response = blockingStubPlaintext.mapStringInt(gem);
+        Object result = translator.translateFromJavabuf(Utility.unpack(response.getAnyField(), translator));
+        Assertions.assertEquals(TreeMap.class, result.getClass());
+        Assertions.assertEquals(map, result);
+    }
+
+    // Client: empty java.util.Map<java.lang.String, java.lang.String>, native protobuf map
+    // Server: Map<java.lang.String, java.lang.String>
+    @Test
+    public void testNativeMapEmpty() throws Exception {
+        Map<String, String> map = new HashMap<String, String>();
+        GenericType<Map<String, String>> type = new GenericType<Map<String, String>>() {
+        };
+        Message m = translator.translateToJavabuf(map, type);
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setAnyField(Any.pack(m)).build();
+        GeneralReturnMessage response = blockingStubPlaintext.mapStringString(gem);
+        Assertions.assertEquals(map,
+                translator.translateFromJavabuf(Utility.unpack(response.getAnyField(), translator)));
+    }
+
+    /**
+     * A protobuf map can't hold null keys or values, so a map with either is rejected.
+     */
+    @Test
+    public void testNativeMapNull() throws Exception {
+        GenericType<Map<String, String>> type = new GenericType<Map<String, String>>() {
+        };
+        Map<String, String> nullValue = new HashMap<String, String>();
+        nullValue.put("from", "to");
+        nullValue.put("nowhere", null);
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> translator.translateToJavabuf(nullValue, type));
+        Assertions.assertTrue(e.getMessage().contains(HashMap.class.getName()), e.getMessage());
+
+        Map<String, String> nullKey = new HashMap<String, String>();
+        nullKey.put(null, "to");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> translator.translateToJavabuf(nullKey, type));
+    }
+
     // Client: java.util.Map<java.lang.Object, java.lang.Object>
     // Server: Map<java.lang.Object, java.lang.Object>
     @Test
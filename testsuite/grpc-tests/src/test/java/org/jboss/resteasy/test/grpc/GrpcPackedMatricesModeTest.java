@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.resteasy.test.grpc.GrpcCompactArraysModeTest.Rpc;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_arrays___ArrayHolder___WArray;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Arrays of primitive arrays with dev.resteasy.grpc.translation.packedMatrices set by the translation-modes
+ * surefire execution and the translation-modes container, so they're sent as row_lengths and packed_values
+ * in both directions.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcPackedMatricesModeTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> doDeploy() throws Exception {
+        return GrpcArrayTest.doDeploy();
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        Assertions.assertTrue(TranslationOptions.PACKED_MATRICES);
+        GrpcArrayTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static Stream<Arguments> matrices() {
+        Rpc multiBooleanPrimitive = CC1ServiceBlockingStub::multiBooleanPrimitive;
+        Rpc multiIntPrimitive = CC1ServiceBlockingStub::multiIntPrimitive;
+        Rpc multiDoublePrimitive = CC1ServiceBlockingStub::multiDoublePrimitive;
+        Rpc multiCharPrimitive = CC1ServiceBlockingStub::multiCharPrimitive;
+        return Stream.of(
+                Arguments.of(new boolean[][] { { true, false }, null, {}, { true } }, multiBooleanPrimitive),
+                Arguments.of(new int[][] { { Integer.MIN_VALUE, 0, Integer.MAX_VALUE }, null, { -1 } }, multiIntPrimitive),
+                Arguments.of(new int[][] { {}, {} }, multiIntPrimitive),
+                Arguments.of(new double[][] { null, { Double.NaN, -0.0d, 1e300 } }, multiDoublePrimitive),
+                Arguments.of(new char[][] { { 'a', '\0', Character.MAX_VALUE }, null }, multiCharPrimitive));
+    }
+
+    @ParameterizedTest
+    @MethodSource("matrices")
+    public void testPacked(Object[] array, Rpc rpc) throws Exception {
+        dev_resteasy_grpc_arrays___ArrayHolder___WArray jbArray = (dev_resteasy_grpc_arrays___ArrayHolder___WArray) translator
+                .translateToJavabuf(array);
+        Assertions.assertEquals(array.length, jbArray.getRowLengthsCount());
+        Assertions.assertEquals(0, jbArray.getWrapperFieldCount());
+
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcArraysArrayHolderWArrayField(jbArray)
+                .build();
+        GeneralReturnMessage response = rpc.call(blockingStub, gem);
+        dev_resteasy_grpc_arrays___ArrayHolder___WArray result = response.getDevResteasyGrpcArraysArrayHolderWArrayField();
+        Assertions.assertEquals(array.length, result.getRowLengthsCount());
+        Assertions.assertTrue(Objects.deepEquals(array, translator.translateFromJavabuf(result)));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.FieldMask;
+
+import dev.resteasy.grpc.bridge.runtime.Constants;
+import dev.resteasy.grpc.bridge.runtime.FieldSelection;
+import dev.resteasy.grpc.bridge.runtime.PartialUpdate;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Shipment;
+import dev.resteasy.grpc.example.CC1_proto.gHeader;
+import dev.resteasy.grpc.example.Priority;
+import dev.resteasy.grpc.example.Shipment;
+import dev.resteasy.grpc.example.Task;
+import dev.resteasy.grpc.example.TaskRecord;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Partial updates, which read only the fields of the request entity named by the updateMask field of
+ * GeneralEntityMessage, or by the UPDATE-MASK header, and merge them into the current state with
+ * {@link PartialUpdate}.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcPartialUpdateTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcPartialUpdateTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Only the fields named by the UPDATE-MASK header are read from the partial entity and merged into
+     * the current state.
+     */
+    @Test
+    public void testShipmentUpdateMask() throws Exception {
+        Shipment partial = new Shipment(null, null, "CLOSED", "ignored");
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(toJavabuf(partial))
+                .putHeaders(Constants.UPDATE_MASK, gHeader.newBuilder().addValues("status").build()).build();
+        Shipment s = update(gem);
+        Assertions.assertEquals("NL", s.origin);
+        Assertions.assertEquals("US", s.destination);
+        Assertions.assertEquals("CLOSED", s.status);
+        Assertions.assertEquals("fragile", s.note);
+    }
+
+    @Test
+    public void testShipmentUpdateMaskField() throws Exception {
+        Shipment partial = new Shipment("ignored", "DE", null, "ignored");
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(toJavabuf(partial))
+                .setUpdateMask(FieldMask.newBuilder().addPaths("destination")).build();
+        Shipment s = update(gem);
+        Assertions.assertEquals("NL", s.origin);
+        Assertions.assertEquals("DE", s.destination);
+        Assertions.assertEquals("OPEN", s.status);
+        Assertions.assertEquals("fragile", s.note);
+    }
+
+    /**
+     * The second "NL" is sent as an index into the dictionary, so the unselected origin has to be read
+     * to resolve the selected destination.
+     */
+    @Test
+    public void testUnselectedDictionaryEntry() throws Exception {
+        Shipment partial = new Shipment("NL", "NL", null, null);
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleShipmentField(toJavabuf(partial))
+                .setUpdateMask(FieldMask.newBuilder().addPaths("destination")).build();
+        Shipment s = update(gem);
+        Assertions.assertEquals("NL", s.origin);
+        Assertions.assertEquals("NL", s.destination);
+        Assertions.assertEquals("OPEN", s.status);
+        Assertions.assertEquals("fragile", s.note);
+    }
+
+    @Test
+    public void testUnknownField() throws Exception {
+        FieldSelection selection = FieldSelection.parse("title,deadline");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PartialUpdate.merge(selection, new Task("b", Priority.HIGH), new Task("a", Priority.LOW)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PartialUpdate.merge(selection, new TaskRecord("b", Priority.HIGH), new TaskRecord("a", Priority.LOW)));
+    }
+
+    @Test
+    public void testRecord() throws Exception {
+        TaskRecord merged = PartialUpdate.merge(FieldSelection.parse("priority"), new TaskRecord("b", Priority.HIGH),
+                new TaskRecord("a", Priority.LOW));
+        Assertions.assertEquals(new TaskRecord("a", Priority.HIGH), merged);
+    }
+
+    private static dev_resteasy_grpc_example___Shipment toJavabuf(Shipment s) {
+        return (dev_resteasy_grpc_example___Shipment) translator.translateToJavabuf(s);
+    }
+
+    private static Shipment update(GeneralEntityMessage gem) {
+        GeneralReturnMessage response = blockingStub.updateShipment(gem);
+        return (Shipment) translator.translateFromJavabuf(response.getDevResteasyGrpcExampleShipmentField());
+    }
+}
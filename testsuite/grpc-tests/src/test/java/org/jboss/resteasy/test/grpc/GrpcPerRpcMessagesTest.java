@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.shrinkwrap.resolver.api.maven.Maven;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.arrays.ArrayResource;
+import dev.resteasy.grpc.arrays.Array_proto;
+import dev.resteasy.grpc.example.CC1;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_Server;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___CC2;
+import dev.resteasy.grpc.example.CC1_proto.gHeader;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import dev.resteasy.grpc.example.CC1_proto.getInteger___rpcRequest;
+import dev.resteasy.grpc.example.CC1_proto.getInteger___rpcResponse;
+import dev.resteasy.grpc.example.CC1_proto.getString___rpcRequest;
+import dev.resteasy.grpc.example.CC1_proto.getString___rpcResponse;
+import dev.resteasy.grpc.example.CC1_proto.inheritance___rpcRequest;
+import dev.resteasy.grpc.example.CC1_proto.inheritance___rpcResponse;
+import dev.resteasy.grpc.example.CC1_proto.queryParams___rpcRequest;
+import dev.resteasy.grpc.example.CC1_proto.queryParams___rpcResponse;
+import dev.resteasy.grpc.example.CC1_proto.serverHeaders___rpcRequest;
+import dev.resteasy.grpc.example.CC1_proto.serverHeaders___rpcResponse;
+import dev.resteasy.grpc.example.sub.CC8;
+import dev.resteasy.grpc.lists.sets.DD1;
+import dev.resteasy.grpc.maps.MapResource;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * Runs against the .proto file and service generated with -DperRpcMessages=true, that is, with the
+ * per-rpc-messages profile: each rpc has its own request and response message in place of
+ * GeneralEntityMessage and GeneralReturnMessage.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcPerRpcMessagesTest {
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        final var resolver = Maven.resolver()
+                .loadPomFromFile("pom.xml");
+        return ShrinkWrap.create(WebArchive.class, GrpcPerRpcMessagesTest.class.getSimpleName() + ".war")
+                .addPackage(CC1_Server.class.getPackage())
+                .addPackage(CC1.class.getPackage())
+                .addPackage(CC8.class.getPackage())
+                .addPackage(DD1.class.getPackage())
+                .addPackage(ArrayResource.class.getPackage())
+                .addPackage(MapResource.class.getPackage())
+                .addAsLibrary(resolver.resolve("dev.resteasy.grpc:grpc-bridge-runtime")
+                        .withoutTransitivity()
+                        .asSingleFile())
+                .addClass(Array_proto.class)
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .addAsManifestResource("MANIFEST.MF", "MANIFEST.MF")
+                .addAsWebInfResource("web.xml");
+    }
+
+    private static ManagedChannel channelPlaintext;
+
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStubPlaintext;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        try (
+                Client client = ClientBuilder.newClient();
+                var response = client.target("http://localhost:8080/grpc-test/grpcToJakartaRest/grpcserver/context")
+                        .request()
+                        .get()) {
+            final var message = response.getStatus() + ": " + response.readEntity(String.class);
+            Assertions.assertEquals(204, response.getStatus(), message);
+        }
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStubPlaintext = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testInteger() throws Exception {
+        gInteger n = gInteger.newBuilder().setValue(3).build();
+        getInteger___rpcRequest request = getInteger___rpcRequest.newBuilder().setGIntegerField(n).build();
+        try {
+            getInteger___rpcResponse response = blockingStubPlaintext.getInteger(request);
+            Assertions.assertEquals(gInteger.newBuilder().setValue(4).build(), response.getGIntegerField());
+        } catch (StatusRuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void testString() throws Exception {
+        gString n = gString.newBuilder().setValue("abc").build();
+        getString___rpcRequest request = getString___rpcRequest.newBuilder()
+                .setURL("http://localhost:8080/p/string")
+                .setGStringField(n)
+                .build();
+        try {
+            getString___rpcResponse response = blockingStubPlaintext.getString(request);
+            Assertions.assertEquals(gString.newBuilder().setValue("ABC").build(), response.getGStringField());
+        } catch (StatusRuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void testInheritance() throws Exception {
+        dev_resteasy_grpc_example___CC2 cc2 = dev_resteasy_grpc_example___CC2.newBuilder()
+                .setJ(17)
+                .setS("thag")
+                .build();
+        inheritance___rpcRequest request = inheritance___rpcRequest.newBuilder()
+                .setURL("http://localhost:8080/p/inheritance")
+                .setDevResteasyGrpcExampleCC2Field(cc2)
+                .build();
+        try {
+            inheritance___rpcResponse response = blockingStubPlaintext.inheritance(request);
+            cc2 = dev_resteasy_grpc_example___CC2.newBuilder().setJ(18).setS("xthagy").build();
+            Assertions.assertEquals(cc2, response.getDevResteasyGrpcExampleCC2Field());
+        } catch (StatusRuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void testQueryParams() throws Exception {
+        queryParams___rpcRequest request = queryParams___rpcRequest.newBuilder()
+                .setURL("http://localhost:8080/p/query?q1=a&q2=b")
+                .build();
+        try {
+            queryParams___rpcResponse response = blockingStubPlaintext.queryParams(request);
+            Assertions.assertEquals(gString.newBuilder().setValue("xaybz").build(), response.getGStringField());
+        } catch (StatusRuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void testServerHeaders() throws Exception {
+        serverHeaders___rpcRequest request = serverHeaders___rpcRequest.newBuilder().build();
+        try {
+            serverHeaders___rpcResponse response = blockingStubPlaintext.serverHeaders(request);
+            Map<String, gHeader> headers = response.getHeadersMap();
+            Assertions.assertEquals(gHeader.newBuilder().addValues("v1a").addValues("v1b").build(), headers.get("h1"));
+            Assertions.assertEquals(gHeader.newBuilder().addValues("v2").build(), headers.get("h2"));
+            Assertions.assertEquals("headers", response.getGStringField().getValue());
+        } catch (StatusRuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private static void fail(StatusRuntimeException e) throws Exception {
+        try (StringWriter writer = new StringWriter()) {
+            e.printStackTrace(new PrintWriter(writer));
+            Assertions.fail(writer.toString());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Drawing;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Sketch;
+import dev.resteasy.grpc.example.Circle;
+import dev.resteasy.grpc.example.Drawing;
+import dev.resteasy.grpc.example.Ellipse;
+import dev.resteasy.grpc.example.Sketch;
+import dev.resteasy.grpc.example.Square;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Fields declared as an interface are sent as a oneof with a member for each implementation.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcPolymorphicTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcPolymorphicTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testDrawing() {
+        Drawing d = new Drawing("d1", new Circle(1.5), new Square(2.0));
+        dev_resteasy_grpc_example___Drawing m = (dev_resteasy_grpc_example___Drawing) translator.translateToJavabuf(d);
+        Assertions.assertEquals("shape___Circle", member(m, "shape___oneof").getName());
+        Assertions.assertEquals("background___Square", member(m, "background___oneof").getName());
+        Assertions.assertEquals(d, roundTrip(m));
+    }
+
+    /**
+     * A subclass of an implementation gets its own member, not that of its superclass.
+     */
+    @Test
+    public void testSubclass() {
+        Drawing d = new Drawing("d2", new Ellipse(1.0, 3.0), new Circle(4.0));
+        dev_resteasy_grpc_example___Drawing m = (dev_resteasy_grpc_example___Drawing) translator.translateToJavabuf(d);
+        Assertions.assertEquals("shape___Ellipse", member(m, "shape___oneof").getName());
+        Assertions.assertEquals("background___Circle", member(m, "background___oneof").getName());
+        Drawing d2 = roundTrip(m);
+        Assertions.assertEquals(Ellipse.class, d2.shape.getClass());
+        Assertions.assertEquals(d, d2);
+    }
+
+    @Test
+    public void testNull() {
+        Drawing d = new Drawing("d3", null, new Square(0.0));
+        dev_resteasy_grpc_example___Drawing m = (dev_resteasy_grpc_example___Drawing) translator.translateToJavabuf(d);
+        Assertions.assertNull(member(m, "shape___oneof"));
+        Assertions.assertEquals(d, roundTrip(m));
+    }
+
+    @Test
+    public void testRecord() {
+        for (Sketch s : new Sketch[] { new Sketch("s1", new Square(5.0)), new Sketch("s2", new Ellipse(1.0, 2.0)),
+                new Sketch("s3", null) }) {
+            Message m = translator.translateToJavabuf(s);
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                    .setDevResteasyGrpcExampleSketchField((dev_resteasy_grpc_example___Sketch) m)
+                    .setURL("http://localhost:8080/p/sketch").build();
+            GeneralReturnMessage response = blockingStub.sketch(gem);
+            Assertions.assertEquals(s, translator.translateFromJavabuf(response.getDevResteasyGrpcExampleSketchField()));
+        }
+    }
+
+    private static FieldDescriptor member(Message m, String oneof) {
+        return m.getOneofFieldDescriptor(m.getDescriptorForType().findOneofByName(oneof));
+    }
+
+    private static Drawing roundTrip(dev_resteasy_grpc_example___Drawing m) {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleDrawingField(m)
+                .setURL("http://localhost:8080/p/drawing").build();
+        GeneralReturnMessage response = blockingStub.drawing(gem);
+        return (Drawing) translator.translateFromJavabuf(response.getDevResteasyGrpcExampleDrawingField());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * A resource method that consumes and produces a protobuf message, here {@code com.google.protobuf.Struct},
+ * which is declared by the imported {@code google/protobuf/struct.proto} and passed through untranslated.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcProtobufMessageTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcProtobufMessageTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testImported() throws Exception {
+        boolean imported = false;
+        for (FileDescriptor fd : GeneralEntityMessage.getDescriptor().getFile().getDependencies()) {
+            imported |= Struct.getDescriptor().getFile().getName().equals(fd.getName());
+        }
+        Assertions.assertTrue(imported);
+        Assertions.assertEquals(Struct.getDescriptor(),
+                GeneralEntityMessage.getDescriptor().findFieldByName("Struct_field").getMessageType());
+        Assertions.assertEquals(Struct.getDescriptor(),
+                GeneralReturnMessage.getDescriptor().findFieldByName("Struct_field").getMessageType());
+    }
+
+    @Test
+    public void testPassedThrough() throws Exception {
+        Struct struct = struct();
+        Assertions.assertTrue(translator.handlesToJavabuf(Struct.class, Struct.class));
+        Assertions.assertTrue(translator.handlesFromJavabuf(Struct.class, Struct.class));
+        Assertions.assertSame(struct, translator.translateToJavabuf(struct));
+        Assertions.assertSame(struct, translator.translateFromJavabuf(struct));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setStructField(struct()).build();
+        GeneralReturnMessage response = blockingStub.struct(gem);
+        Struct expected = struct().toBuilder().putFields("seen", Value.newBuilder().setBoolValue(true).build()).build();
+        Assertions.assertEquals(expected, response.getStructField());
+    }
+
+    private static Struct struct() {
+        return Struct.newBuilder()
+                .putFields("name", Value.newBuilder().setStringValue("abc").build())
+                .putFields("size", Value.newBuilder().setNumberValue(3).build())
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.resteasy.test.grpc.GrpcCompactArraysModeTest.Rpc;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.arrays.Array_proto.dev_resteasy_grpc_arrays___Integer___Array;
+import dev.resteasy.grpc.bridge.runtime.RawArrays;
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Primitive arrays on either side of the raw array threshold. The translation-modes surefire execution and the
+ * translation-modes container both set dev.resteasy.grpc.translation.rawArrayThreshold, so an array one element
+ * short of the threshold is sent in the repeated field and an array exactly at the threshold is sent in
+ * raw_field, in both directions.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcRawArraysModeTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> doDeploy() throws Exception {
+        return GrpcArrayTest.doDeploy();
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        GrpcArrayTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static Stream<Arguments> arrays() {
+        IntFunction<Object> ints = n -> {
+            int[] array = new int[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = i * 31 - 7;
+            }
+            array[n - 1] = Integer.MIN_VALUE;
+            return array;
+        };
+        IntFunction<Object> longs = n -> {
+            long[] array = new long[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = i * 1_000_000_007L - 3;
+            }
+            array[n - 1] = Long.MAX_VALUE;
+            return array;
+        };
+        IntFunction<Object> floats = n -> {
+            float[] array = new float[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = i * 0.5f - 1;
+            }
+            array[n - 1] = Float.NaN;
+            return array;
+        };
+        IntFunction<Object> doubles = n -> {
+            double[] array = new double[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = i * 2.5d;
+            }
+            array[n - 1] = Double.NEGATIVE_INFINITY;
+            return array;
+        };
+        Rpc singlePrimitiveInt = CC1ServiceBlockingStub::singlePrimitiveInt;
+        Rpc singlePrimitiveLong = CC1ServiceBlockingStub::singlePrimitiveLong;
+        Rpc singlePrimitiveFloat = CC1ServiceBlockingStub::singlePrimitiveFloat;
+        Rpc singlePrimitiveDouble = CC1ServiceBlockingStub::singlePrimitiveDouble;
+        int threshold = TranslationOptions.RAW_ARRAY_THRESHOLD;
+        return Stream.of(
+                // array, rpc, sent in raw_field
+                Arguments.of(ints.apply(threshold - 1), singlePrimitiveInt, false),
+                Arguments.of(ints.apply(threshold), singlePrimitiveInt, true),
+                Arguments.of(longs.apply(threshold - 1), singlePrimitiveLong, false),
+                Arguments.of(longs.apply(threshold), singlePrimitiveLong, true),
+                Arguments.of(floats.apply(threshold - 1), singlePrimitiveFloat, false),
+                Arguments.of(floats.apply(threshold), singlePrimitiveFloat, true),
+                Arguments.of(doubles.apply(threshold - 1), singlePrimitiveDouble, false),
+                Arguments.of(doubles.apply(threshold), singlePrimitiveDouble, true));
+    }
+
+    @ParameterizedTest
+    @MethodSource("arrays")
+    public void testRawThreshold(Object array, Rpc rpc, boolean raw) throws Exception {
+        Message jbArray = translator.translateToJavabuf(array);
+        Assertions.assertEquals(raw, hasRawField(jbArray));
+
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setField(GrpcCompactArraysModeTest.fieldFor(GeneralEntityMessage.getDescriptor(),
+                        jbArray.getDescriptorForType()), jbArray)
+                .build();
+        GeneralReturnMessage response = rpc.call(blockingStub, gem);
+        Message result = (Message) response.getField(GrpcCompactArraysModeTest.fieldFor(GeneralReturnMessage.getDescriptor(),
+                jbArray.getDescriptorForType()));
+        Assertions.assertEquals(raw, hasRawField(result));
+        Assertions.assertTrue(Objects.deepEquals(array, translator.translateFromJavabuf(result)));
+    }
+
+    @Test
+    public void testTruncatedRawField() throws Exception {
+        ByteString bytes = ByteString.copyFrom(new byte[] { 1, 0, 0, 0, 2 });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RawArrays.toInts(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RawArrays.toLongs(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RawArrays.toFloats(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RawArrays.toDoubles(bytes));
+
+        // the generated translator reports it as well
+        Message jbArray = dev_resteasy_grpc_arrays___Integer___Array.newBuilder().setRawField(bytes).build();
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class,
+                () -> translator.translateFromJavabuf(jbArray));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    private static boolean hasRawField(Message jbArray) {
+        FieldDescriptor fd = jbArray.getDescriptorForType().findFieldByName("raw_field");
+        return !((ByteString) jbArray.getField(fd)).isEmpty();
+    }
+}
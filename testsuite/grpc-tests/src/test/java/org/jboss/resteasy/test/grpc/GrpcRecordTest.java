@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___RecordParcel;
+import dev.resteasy.grpc.example.CC2;
+import dev.resteasy.grpc.example.RecordParcel;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Round trips of records through the generated record translators, whose message components are
+ * assigned with a translator looked up once per component.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcRecordTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcRecordTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRecord() throws Exception {
+        RecordParcel r = new RecordParcel("p1", 1234567890123L, new CC2("Bill", 19), new CC2("Sue", 20));
+        Assertions.assertEquals(r, roundTrip(r));
+    }
+
+    @Test
+    public void testNullComponents() throws Exception {
+        RecordParcel r = new RecordParcel("p2", -1L, new CC2("Bill", 19), null);
+        dev_resteasy_grpc_example___RecordParcel m = (dev_resteasy_grpc_example___RecordParcel) translator
+                .translateToJavabuf(r);
+        Assertions.assertTrue(m.hasContents());
+        Assertions.assertFalse(m.hasWrapping());
+        Assertions.assertEquals(r, roundTrip(r));
+
+        r = new RecordParcel("p3", 0L, null, null);
+        Assertions.assertEquals(r, roundTrip(r));
+    }
+
+    /**
+     * The translators of the message components are looked up by the first translation and reused by the rest.
+     */
+    @Test
+    public void testRepeated() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            RecordParcel r = new RecordParcel("p" + i, i, new CC2("Bill", i), i % 2 == 0 ? null : new CC2("Sue", i));
+            Assertions.assertEquals(r, roundTrip(r));
+        }
+    }
+
+    private static RecordParcel roundTrip(RecordParcel r) throws Exception {
+        Message m = translator.translateToJavabuf(r);
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setDevResteasyGrpcExampleRecordParcelField((dev_resteasy_grpc_example___RecordParcel) m)
+                .setURL("http://localhost:8080/p/record/parcel").build();
+        GeneralReturnMessage response = blockingStub.recordParcel(gem);
+        return (RecordParcel) translator.translateFromJavabuf(response.getDevResteasyGrpcExampleRecordParcelField());
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.ReferenceScope;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Node;
+import dev.resteasy.grpc.example.Node;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Round trips of object graphs with shared and cyclic references, which are kept by a {@link ReferenceScope}.
+ * <p>
+ * The tests of shared and cyclic graphs need the messages generated with {@code -Dreferences=true},
+ * and run only with the references profile, {@code mvn verify -Dreferences=true}. The others run in
+ * either build.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcReferencesTest {
+
+    private static final String PRESERVE_REFERENCES = "dev.resteasy.grpc.translation.preserveReferences";
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        Class<?> clazz;
+        try {
+            clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcReferencesTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * A graph without sharing is sent the same way with or without references.
+     */
+    @Test
+    public void testNodeChain() throws Exception {
+        Node a = new Node("a");
+        a.next = new Node("b");
+        a.next.next = new Node("c");
+        Node a2 = roundTrip(a);
+        Assertions.assertEquals("a", a2.name);
+        Assertions.assertEquals("b", a2.next.name);
+        Assertions.assertEquals("c", a2.next.next.name);
+        Assertions.assertNull(a2.next.next.next);
+        Assertions.assertNull(a2.other);
+    }
+
+    /**
+     * A node that points to itself is sent once, followed by a reference to its own id.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = PRESERVE_REFERENCES, matches = "true")
+    public void testNodeSelfCycle() throws Exception {
+        Node a = new Node("a");
+        a.next = a;
+        dev_resteasy_grpc_example___Node m = (dev_resteasy_grpc_example___Node) translator.translateToJavabuf(a);
+        int id = (Integer) getField(m, ReferenceScope.ID_FIELD);
+        Assertions.assertTrue(id > 0);
+        Assertions.assertEquals(id, getField((Message) getField(m, "next"), ReferenceScope.TO_FIELD));
+        Node a2 = roundTrip(a);
+        Assertions.assertEquals("a", a2.name);
+        Assertions.assertSame(a2, a2.next);
+        Assertions.assertNull(a2.other);
+    }
+
+    /**
+     * A node reachable through two fields is sent once, and is shared again after each translation.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = PRESERVE_REFERENCES, matches = "true")
+    public void testNodeShared() throws Exception {
+        Node root = new Node("root");
+        Node shared = new Node("shared");
+        root.next = shared;
+        root.other = shared;
+        dev_resteasy_grpc_example___Node m = (dev_resteasy_grpc_example___Node) translator.translateToJavabuf(root);
+        Message next = (Message) getField(m, "next");
+        Message other = (Message) getField(m, "other");
+        Assertions.assertEquals(getField(next, ReferenceScope.ID_FIELD), getField(other, ReferenceScope.TO_FIELD));
+        Assertions.assertEquals("", getField(other, "name"));
+        Node root2 = roundTrip(root);
+        Assertions.assertEquals("root", root2.name);
+        Assertions.assertEquals("shared", root2.next.name);
+        Assertions.assertSame(root2.next, root2.other);
+    }
+
+    /**
+     * A cycle through two nodes, with a node that also points to itself.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = PRESERVE_REFERENCES, matches = "true")
+    public void testNodeCycle() throws Exception {
+        Node a = new Node("a");
+        Node b = new Node("b");
+        a.next = b;
+        b.next = a;
+        b.other = b;
+        Node a2 = roundTrip(a);
+        Node b2 = a2.next;
+        Assertions.assertEquals("a", a2.name);
+        Assertions.assertEquals("b", b2.name);
+        Assertions.assertSame(a2, b2.next);
+        Assertions.assertSame(b2, b2.other);
+        Assertions.assertNull(a2.other);
+    }
+
+    /**
+     * Ids are bound in the order they're read, so an id that skips ahead, or repeats, is rejected.
+     */
+    @Test
+    public void testForgedId() throws Exception {
+        ReferenceScope.enter();
+        try {
+            ReferenceScope scope = ReferenceScope.current();
+            scope.bind(1, "a");
+            Assertions.assertThrows(RuntimeException.class, () -> scope.bind(3, "c"));
+            Assertions.assertThrows(RuntimeException.class, () -> scope.bind(1, "b"));
+            Assertions.assertThrows(RuntimeException.class, () -> scope.bind(0, "b"));
+            Assertions.assertThrows(RuntimeException.class, () -> scope.bind(-1, "b"));
+            scope.bind(2, "b");
+            Assertions.assertEquals("a", scope.resolve(1));
+            Assertions.assertEquals("b", scope.resolve(2));
+            Assertions.assertThrows(RuntimeException.class, () -> scope.resolve(3));
+        } finally {
+            ReferenceScope.exit();
+        }
+    }
+
+    /**
+     * A message whose nested object claims an id other than the next one isn't translated.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = PRESERVE_REFERENCES, matches = "true")
+    public void testForgedNodeId() throws Exception {
+        Node a = new Node("a");
+        a.next = new Node("b");
+        dev_resteasy_grpc_example___Node m = (dev_resteasy_grpc_example___Node) translator.translateToJavabuf(a);
+        Message next = (Message) getField(m, "next");
+        FieldDescriptor id = next.getDescriptorForType().findFieldByName(ReferenceScope.ID_FIELD);
+        Message forgedNext = next.toBuilder().setField(id, 1000).build();
+        Message forged = m.toBuilder().setField(m.getDescriptorForType().findFieldByName("next"), forgedNext).build();
+        Assertions.assertThrows(RuntimeException.class, () -> translator.translateFromJavabuf(forged));
+    }
+
+    private static Node roundTrip(Node node) {
+        dev_resteasy_grpc_example___Node m = (dev_resteasy_grpc_example___Node) translator.translateToJavabuf(node);
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleNodeField(m).build();
+        GeneralReturnMessage response = blockingStub.node(gem);
+        return (Node) translator.translateFromJavabuf(response.getDevResteasyGrpcExampleNodeField());
+    }
+
+    private static Object getField(Message message, String name) {
+        return message.getField(message.getDescriptorForType().findFieldByName(name));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.gBoolean;
+import dev.resteasy.grpc.example.CC1_proto.gByte;
+import dev.resteasy.grpc.example.CC1_proto.gCharacter;
+import dev.resteasy.grpc.example.CC1_proto.gDouble;
+import dev.resteasy.grpc.example.CC1_proto.gFloat;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import dev.resteasy.grpc.example.CC1_proto.gLong;
+import dev.resteasy.grpc.example.CC1_proto.gShort;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Round trips of primitive, wrapper and String entities, which the generated MessageBodyReaderWriter reads
+ * and writes directly from and to the value field of the gBoolean, gInteger, etc., messages.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcScalarTest {
+
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcScalarTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testBoolean() throws Exception {
+        for (boolean b : new boolean[] { true, false }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGBooleanField(gBoolean.newBuilder().setValue(b))
+                    .build();
+            Assertions.assertEquals(b, blockingStub.echoBoolean(gem).getGBooleanField().getValue());
+        }
+    }
+
+    @Test
+    public void testByte() throws Exception {
+        for (byte b : new byte[] { Byte.MIN_VALUE, -1, 0, 1, Byte.MAX_VALUE }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGByteField(gByte.newBuilder().setValue(b)).build();
+            Assertions.assertEquals(b, blockingStub.echoByte(gem).getGByteField().getValue());
+        }
+    }
+
+    @Test
+    public void testShort() throws Exception {
+        for (short s : new short[] { Short.MIN_VALUE, -1, 0, 1, Short.MAX_VALUE }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGShortField(gShort.newBuilder().setValue(s))
+                    .build();
+            Assertions.assertEquals(s, blockingStub.echoShort(gem).getGShortField().getValue());
+        }
+    }
+
+    @Test
+    public void testInt() throws Exception {
+        for (int i : new int[] { Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGIntegerField(gInteger.newBuilder().setValue(i))
+                    .build();
+            Assertions.assertEquals(i, blockingStub.echoInt(gem).getGIntegerField().getValue());
+        }
+    }
+
+    @Test
+    public void testLong() throws Exception {
+        for (long l : new long[] { Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGLongField(gLong.newBuilder().setValue(l)).build();
+            Assertions.assertEquals(l, blockingStub.echoLong(gem).getGLongField().getValue());
+        }
+    }
+
+    @Test
+    public void testFloat() throws Exception {
+        for (float f : new float[] { -1.5f, -0.0f, 0.0f, Float.MIN_VALUE, Float.MAX_VALUE, Float.NaN,
+                Float.NEGATIVE_INFINITY }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGFloatField(gFloat.newBuilder().setValue(f))
+                    .build();
+            Assertions.assertEquals(f, blockingStub.echoFloat(gem).getGFloatField().getValue());
+        }
+    }
+
+    @Test
+    public void testDouble() throws Exception {
+        for (double d : new double[] { -1.5d, -0.0d, 0.0d, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN,
+                Double.POSITIVE_INFINITY }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGDoubleField(gDouble.newBuilder().setValue(d))
+                    .build();
+            Assertions.assertEquals(d, blockingStub.echoDouble(gem).getGDoubleField().getValue());
+        }
+    }
+
+    @Test
+    public void testChar() throws Exception {
+        for (char c : new char[] { 'a', '\0', 'é', '中' }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                    .setGCharacterField(gCharacter.newBuilder().setValue(String.valueOf(c))).build();
+            Assertions.assertEquals(String.valueOf(c), blockingStub.echoChar(gem).getGCharacterField().getValue());
+            Assertions.assertEquals(String.valueOf(c), blockingStub.echoCharacter(gem).getGCharacterField().getValue());
+        }
+    }
+
+    @Test
+    public void testString() throws Exception {
+        for (String s : new String[] { "", "abc", "héllo 中文 😀" }) {
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGStringField(gString.newBuilder().setValue(s))
+                    .build();
+            Assertions.assertEquals(s, blockingStub.echoString(gem).getGStringField().getValue());
+        }
+    }
+
+    /**
+     * An empty gCharacter is a null Character, which comes back as an empty gCharacter, but it isn't a char.
+     */
+    @Test
+    public void testNullCharacter() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGCharacterField(gCharacter.getDefaultInstance())
+                .build();
+        GeneralReturnMessage response = blockingStub.echoCharacter(gem);
+        Assertions.assertEquals(204, response.getStatus());
+        Assertions.assertEquals("", response.getGCharacterField().getValue());
+
+        response = blockingStub.echoChar(gem);
+        Assertions.assertTrue(response.getStatus() >= 400, "status " + response.getStatus());
+    }
+
+    /**
+     * An absent value is the protobuf default.
+     */
+    @Test
+    public void testDefaults() throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setGIntegerField(gInteger.getDefaultInstance()).build();
+        Assertions.assertEquals(0, blockingStub.echoInt(gem).getGIntegerField().getValue());
+        gem = GeneralEntityMessage.newBuilder().setGStringField(gString.getDefaultInstance()).build();
+        Assertions.assertEquals("", blockingStub.echoString(gem).getGStringField().getValue());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.Timestamp;
+
+import dev.resteasy.grpc.bridge.runtime.WellKnownTypes;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Measurement;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___MeasurementRecord;
+import dev.resteasy.grpc.example.Measurement;
+import dev.resteasy.grpc.example.MeasurementRecord;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Instants, Durations, LocalDates, BigIntegers, BigDecimals and UUIDs have built-in protobuf representations.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcWellKnownTypesTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(GrpcWellKnownTypesTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testDurationSigns() {
+        Duration[] durations = { Duration.ZERO, Duration.ofMillis(1500), Duration.ofMillis(-1500),
+                Duration.ofNanos(-1), Duration.ofSeconds(-3), Duration.ofSeconds(Long.MIN_VALUE),
+                Duration.ofSeconds(Long.MAX_VALUE, 999_999_999) };
+        for (Duration d : durations) {
+            com.google.protobuf.Duration pd = WellKnownTypes.toJavabufDuration(d);
+            Assertions.assertTrue(pd.getSeconds() <= 0 && pd.getNanos() <= 0 || pd.getSeconds() >= 0 && pd.getNanos() >= 0,
+                    d.toString());
+            Assertions.assertEquals(d, WellKnownTypes.toDuration(pd));
+        }
+        com.google.protobuf.Duration pd = WellKnownTypes.toJavabufDuration(Duration.ofMillis(-1500));
+        Assertions.assertEquals(-1, pd.getSeconds());
+        Assertions.assertEquals(-500_000_000, pd.getNanos());
+    }
+
+    @Test
+    public void testTimestamps() {
+        Instant[] instants = { Instant.EPOCH, Instant.ofEpochSecond(-1, 1), Instant.ofEpochSecond(1_700_000_000, 123_456_789),
+                Instant.ofEpochMilli(-1500) };
+        for (Instant i : instants) {
+            Timestamp t = WellKnownTypes.toTimestamp(i);
+            Assertions.assertTrue(t.getNanos() >= 0, i.toString());
+            Assertions.assertEquals(i, WellKnownTypes.toInstant(t));
+        }
+    }
+
+    @Test
+    public void testClass() {
+        Measurement[] measurements = {
+                new Measurement(UUID.randomUUID(), Instant.ofEpochSecond(1_700_000_000, 123_456_789), Duration.ofMillis(1500),
+                        LocalDate.of(2025, 1, 31), new BigInteger("123456789012345678901234567890"), new BigDecimal("3.14159")),
+                new Measurement(new UUID(-1L, Long.MIN_VALUE), Instant.ofEpochMilli(-1500), Duration.ofMillis(-1500),
+                        LocalDate.of(1900, 2, 28), new BigInteger("-98765432109876543210"), new BigDecimal("-0.000001")),
+                new Measurement(new UUID(0L, 0L), Instant.EPOCH, Duration.ZERO, LocalDate.ofEpochDay(0), BigInteger.ZERO,
+                        new BigDecimal("0.00")),
+                new Measurement(null, null, null, null, null, null)
+        };
+        for (Measurement measurement : measurements) {
+            dev_resteasy_grpc_example___Measurement m = (dev_resteasy_grpc_example___Measurement) translator
+                    .translateToJavabuf(measurement);
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleMeasurementField(m)
+                    .setURL("http://localhost:8080/p/measurement").build();
+            GeneralReturnMessage response = blockingStub.measurement(gem);
+            Measurement result = (Measurement) translator
+                    .translateFromJavabuf(response.getDevResteasyGrpcExampleMeasurementField());
+            Assertions.assertEquals(measurement, result);
+            if (measurement.value != null) {
+                Assertions.assertEquals(measurement.value.scale(), result.value.scale());
+            }
+        }
+    }
+
+    @Test
+    public void testRecord() {
+        MeasurementRecord[] records = {
+                new MeasurementRecord(UUID.randomUUID(), Instant.ofEpochSecond(-1, 1), Duration.ofNanos(-1),
+                        LocalDate.of(1969, 12, 31), new BigInteger("-1"), new BigDecimal("-12345.6789")),
+                new MeasurementRecord(new UUID(0L, 0L), Instant.EPOCH, Duration.ZERO, LocalDate.ofEpochDay(0),
+                        BigInteger.ZERO, BigDecimal.ZERO),
+                new MeasurementRecord(null, null, null, null, null, null)
+        };
+        for (MeasurementRecord record : records) {
+            dev_resteasy_grpc_example___MeasurementRecord m = (dev_resteasy_grpc_example___MeasurementRecord) translator
+                    .translateToJavabuf(record);
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().setDevResteasyGrpcExampleMeasurementRecordField(m)
+                    .setURL("http://localhost:8080/p/measurement/record").build();
+            GeneralReturnMessage response = blockingStub.measurementRecord(gem);
+            Assertions.assertEquals(record,
+                    translator.translateFromJavabuf(response.getDevResteasyGrpcExampleMeasurementRecordField()));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import dev.resteasy.grpc.bridge.runtime.LazyList;
+
+/**
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class LazyListTest {
+
+    @Test
+    public void testTranslatedOnFirstRead() {
+        AtomicInteger translations = new AtomicInteger();
+        List<String> list = new LazyList<Integer, String>(List.of(1, 2, 3), i -> {
+            translations.incrementAndGet();
+            return "#" + i;
+        });
+        Assertions.assertEquals(3, list.size());
+        Assertions.assertEquals(0, translations.get());
+
+        Assertions.assertEquals("#2", list.get(1));
+        Assertions.assertEquals("#2", list.get(1));
+        Assertions.assertEquals(1, translations.get());
+
+        Assertions.assertEquals(List.of("#1", "#2", "#3"), list);
+        Assertions.assertEquals(3, translations.get());
+    }
+
+    @Test
+    public void testModificationMaterializes() {
+        AtomicInteger translations = new AtomicInteger();
+        List<String> list = new LazyList<Integer, String>(List.of(1, 2, 3), i -> {
+            translations.incrementAndGet();
+            return "#" + i;
+        });
+        list.set(0, "first");
+        Assertions.assertEquals(3, translations.get());
+        list.add("last");
+        list.remove(1);
+        Assertions.assertEquals(List.of("first", "#3", "last"), list);
+        list.clear();
+        Assertions.assertTrue(list.isEmpty());
+        Assertions.assertEquals(3, translations.get());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        List<String> list = new LazyList<Integer, String>(List.of(1, 2, 3, 4), i -> "#" + i);
+        for (Iterator<String> it = list.iterator(); it.hasNext();) {
+            if (it.next().equals("#2")) {
+                it.remove();
+            }
+        }
+        Assertions.assertEquals(new ArrayList<String>(List.of("#1", "#3", "#4")), list);
+    }
+
+    @Test
+    public void testTranslationFailure() {
+        List<String> list = new LazyList<Integer, String>(List.of(1), i -> {
+            throw new IOException("bad element");
+        });
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, () -> list.get(0));
+        Assertions.assertEquals("bad element", e.getCause().getMessage());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import dev.resteasy.grpc.bridge.runtime.ParallelTranslation;
+
+/**
+ * The tasks of a parallel translation run with the thread context of the caller.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class ParallelTranslationTest {
+
+    private static final int SIZE = 64 * 1024;
+
+    static final class Marker {
+    }
+
+    @Test
+    public void testOrder() {
+        List<Integer> source = new ArrayList<Integer>();
+        for (int i = 0; i < SIZE; i++) {
+            source.add(i);
+        }
+        List<String> results = ParallelTranslation.translate(source, i -> Integer.toString(i));
+        Assertions.assertEquals(SIZE, results.size());
+        for (int i = 0; i < SIZE; i++) {
+            Assertions.assertEquals(Integer.toString(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void testCallerContext() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        Marker marker = new Marker();
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], original);
+                ResteasyContext.CloseableContext c = ResteasyContext.addCloseableContextDataLevel()) {
+            ResteasyContext.pushContext(Marker.class, marker);
+            thread.setContextClassLoader(loader);
+            Integer[] source = new Integer[SIZE];
+            List<Object> results = ParallelTranslation.translate(source, i -> {
+                Assertions.assertSame(loader, Thread.currentThread().getContextClassLoader());
+                return ResteasyContext.getContextData(Marker.class);
+            });
+            for (Object result : results) {
+                Assertions.assertSame(marker, result);
+            }
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+
+        // the pool threads get their own context back
+        for (int i = 0; i < 16; i++) {
+            Object[] context = ForkJoinPool.commonPool().submit(() -> new Object[] {
+                    Thread.currentThread().getContextClassLoader(), ResteasyContext.getContextData(Marker.class) }).get();
+            Assertions.assertFalse(context[0] instanceof URLClassLoader);
+            Assertions.assertNull(context[1]);
+        }
+    }
+}
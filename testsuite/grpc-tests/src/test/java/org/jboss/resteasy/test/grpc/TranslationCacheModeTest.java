@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.GenericType;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+
+import dev.resteasy.grpc.bridge.runtime.TranslationCache;
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___Label;
+import dev.resteasy.grpc.example.Label;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Memoized translations with their serialized form. The translation-modes surefire execution and the
+ * translation-modes container both set dev.resteasy.grpc.translation.memoize.bytes.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class TranslationCacheModeTest {
+
+    private static JavabufTranslator translator;
+    private static ManagedChannel channelPlaintext;
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    static {
+        try {
+            Class<?> clazz = Class.forName("dev.resteasy.grpc.example.CC1JavabufTranslator");
+            translator = (JavabufTranslator) clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Deployment
+    static Archive<?> deploy() throws Exception {
+        return AbstractGrpcToJakartaRESTTest.doDeploy(TranslationCacheModeTest.class.getSimpleName());
+    }
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        AbstractGrpcToJakartaRESTTest.accessServletContexts();
+        channelPlaintext = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channelPlaintext);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channelPlaintext != null) {
+            channelPlaintext.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testMemoizeBytes() {
+        Assertions.assertTrue(TranslationOptions.MEMOIZE_BYTES);
+        TranslationCacheTest.Constant c = new TranslationCacheTest.Constant("jkl");
+        Message message = StringValue.of("jkl");
+
+        // nothing to encode before the message is kept
+        Assertions.assertNull(TranslationCache.encoded(c, message));
+
+        TranslationCache.put(c, TranslationCacheTest.TRANSLATOR, null, message);
+        ByteString bytes = TranslationCache.encoded(c, message);
+        Assertions.assertEquals(message.toByteString(), bytes);
+        Assertions.assertSame(bytes, TranslationCache.encoded(c, message));
+
+        // not the memoized message
+        Assertions.assertNull(TranslationCache.encoded(c, StringValue.of("jkl")));
+    }
+
+    /**
+     * The generated translator memoizes a {@code @Memoized} object separately for each type it is translated as.
+     */
+    @Test
+    public void testGeneratedTranslator() {
+        Label label = new Label("fragile", 3);
+        Message message = translator.translateToJavabuf(label);
+        Assertions.assertSame(message, translator.translateToJavabuf(label));
+        Assertions.assertEquals(message.toByteString(), TranslationCache.encoded(label, message));
+
+        GenericType<Label> type = new GenericType<Label>(Label.class);
+        Message typed = translator.translateToJavabuf(label, type);
+        Assertions.assertNotSame(message, typed);
+        Assertions.assertEquals(message, typed);
+        Assertions.assertSame(typed, translator.translateToJavabuf(label, type));
+        Assertions.assertSame(message, translator.translateToJavabuf(label));
+
+        // another object with the same fields has its own message
+        Assertions.assertNotSame(message, translator.translateToJavabuf(new Label("fragile", 3)));
+    }
+
+    /**
+     * The resource returns the same {@code @Memoized} object each time, and the second response is
+     * written from the bytes kept with the first.
+     */
+    @Test
+    public void testMemoizedResponse() {
+        for (int i = 0; i < 2; i++) {
+            GeneralReturnMessage response = blockingStub.label(GeneralEntityMessage.newBuilder().build());
+            dev_resteasy_grpc_example___Label result = response.getDevResteasyGrpcExampleLabelField();
+            Label label = (Label) translator.translateFromJavabuf(result);
+            Assertions.assertEquals("fragile", label.text);
+            Assertions.assertEquals(3, label.priority);
+        }
+    }
+}
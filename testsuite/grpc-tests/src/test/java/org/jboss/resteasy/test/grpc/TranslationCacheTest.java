@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.ws.rs.core.GenericType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+
+import dev.resteasy.grpc.bridge.runtime.Memoized;
+import dev.resteasy.grpc.bridge.runtime.TranslationCache;
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+
+/**
+ * Runs in the client JVM. See TranslationCacheModeTest for dev.resteasy.grpc.translation.memoize.bytes.
+ *
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class TranslationCacheTest {
+
+    // Proxies of distinct classes, which stand for two generated translators
+    static final JavabufTranslator TRANSLATOR = translator(JavabufTranslator.class);
+    static final JavabufTranslator OTHER_TRANSLATOR = translator(JavabufTranslator.class, Cloneable.class);
+
+    static JavabufTranslator translator(Class<?>... interfaces) {
+        return (JavabufTranslator) Proxy.newProxyInstance(TranslationCacheTest.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> null);
+    }
+
+    @Memoized
+    static final class Constant {
+        private final String s;
+
+        Constant(final String s) {
+            this.s = s;
+        }
+    }
+
+    static final class Value {
+        private final String s;
+
+        Value(final String s) {
+            this.s = s;
+        }
+    }
+
+    @Test
+    public void testMemoizedClass() {
+        Constant c = new Constant("abc");
+        Message message = StringValue.of(c.s);
+        Assertions.assertTrue(TranslationCache.isMemoized(c));
+        Assertions.assertNull(TranslationCache.get(c, TRANSLATOR, null));
+        Assertions.assertSame(message, TranslationCache.put(c, TRANSLATOR, null, message));
+        Assertions.assertSame(message, TranslationCache.get(c, TRANSLATOR, null));
+
+        // memoized by identity, not by equality
+        Assertions.assertNull(TranslationCache.get(new Constant("abc"), TRANSLATOR, null));
+    }
+
+    @Test
+    public void testUnannotatedClass() {
+        Value v = new Value("abc");
+        Message message = StringValue.of(v.s);
+        Assertions.assertFalse(TranslationCache.isMemoized(v));
+        Assertions.assertSame(message, TranslationCache.put(v, TRANSLATOR, null, message));
+        Assertions.assertNull(TranslationCache.get(v, TRANSLATOR, null));
+        Assertions.assertNull(TranslationCache.encoded(v, message));
+    }
+
+    @Test
+    public void testRegisterUnregister() {
+        Value v = new Value("def");
+        Value other = new Value("def");
+        Message message = StringValue.of(v.s);
+
+        TranslationCache.register(v);
+        Assertions.assertTrue(TranslationCache.isMemoized(v));
+        Assertions.assertFalse(TranslationCache.isMemoized(other));
+        TranslationCache.put(v, TRANSLATOR, null, message);
+        TranslationCache.put(other, TRANSLATOR, null, StringValue.of(other.s));
+        Assertions.assertSame(message, TranslationCache.get(v, TRANSLATOR, null));
+        Assertions.assertNull(TranslationCache.get(other, TRANSLATOR, null));
+
+        // registering twice is harmless
+        TranslationCache.register(v);
+        Assertions.assertSame(message, TranslationCache.get(v, TRANSLATOR, null));
+
+        TranslationCache.unregister(v);
+        Assertions.assertFalse(TranslationCache.isMemoized(v));
+        Assertions.assertNull(TranslationCache.get(v, TRANSLATOR, null));
+
+        // registered again, v starts out with no message
+        TranslationCache.register(v);
+        Assertions.assertNull(TranslationCache.get(v, TRANSLATOR, null));
+        TranslationCache.unregister(v);
+    }
+
+    @Test
+    public void testUnregisterMemoizedClass() {
+        Constant c = new Constant("ghi");
+        Message message = StringValue.of(c.s);
+        TranslationCache.put(c, TRANSLATOR, null, message);
+        TranslationCache.unregister(c);
+        Assertions.assertNull(TranslationCache.get(c, TRANSLATOR, null));
+        Assertions.assertTrue(TranslationCache.isMemoized(c));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDropped() {
+        Constant first = new Constant("first");
+        TranslationCache.put(first, TRANSLATOR, null, StringValue.of(first.s));
+        List<Constant> constants = new ArrayList<Constant>();
+        for (int i = 0; i < 4 * TranslationOptions.MEMOIZE_CACHE_SIZE; i++) {
+            Constant c = new Constant(Integer.toString(i));
+            constants.add(c);
+            TranslationCache.put(c, TRANSLATOR, null, StringValue.of(c.s));
+        }
+        Assertions.assertNull(TranslationCache.get(first, TRANSLATOR, null));
+        Constant last = constants.get(constants.size() - 1);
+        Assertions.assertEquals(StringValue.of(last.s), TranslationCache.get(last, TRANSLATOR, null));
+    }
+
+    @Test
+    public void testTranslatorAndType() {
+        Constant c = new Constant("mno");
+        Message message = StringValue.of(c.s);
+        Message other = StringValue.of(c.s);
+        GenericType<Constant> type = new GenericType<Constant>(Constant.class);
+        TranslationCache.put(c, TRANSLATOR, null, message);
+        Assertions.assertNull(TranslationCache.get(c, OTHER_TRANSLATOR, null));
+        Assertions.assertNull(TranslationCache.get(c, TRANSLATOR, type));
+
+        TranslationCache.put(c, TRANSLATOR, type, other);
+        Assertions.assertSame(message, TranslationCache.get(c, TRANSLATOR, null));
+        Assertions.assertSame(other, TranslationCache.get(c, TRANSLATOR, type));
+        Assertions.assertSame(other, TranslationCache.get(c, TRANSLATOR, new GenericType<Constant>(Constant.class)));
+
+        // replaces the message for TRANSLATOR and type only
+        TranslationCache.put(c, TRANSLATOR, type, message);
+        Assertions.assertSame(message, TranslationCache.get(c, TRANSLATOR, type));
+        Assertions.assertSame(message, TranslationCache.get(c, TRANSLATOR, null));
+
+        // drops every message of c
+        TranslationCache.unregister(c);
+        Assertions.assertNull(TranslationCache.get(c, TRANSLATOR, null));
+        Assertions.assertNull(TranslationCache.get(c, TRANSLATOR, type));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2025 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.CodedInputStream;
+
+import dev.resteasy.grpc.bridge.runtime.TranslationOptions;
+import dev.resteasy.grpc.bridge.runtime.ZeroCopy;
+import dev.resteasy.grpc.bridge.runtime.servlet.MockServletInputStream;
+
+/**
+ * @tpSubChapter gRPC bridge plus WildFly grpc subsystem
+ * @tpChapter grpc-tests tests
+ * @tpSince RESTEasy 1.0.0
+ */
+public class ZeroCopyTest {
+
+    private static final byte[] DATA = { 1, 2, 3, 4 };
+
+    /**
+     * A byte[] is wrapped only if zeroCopyBytes promises that it won't be modified.
+     */
+    @Test
+    public void testWrap() {
+        byte[] bytes = DATA.clone();
+        ByteString bs = ZeroCopy.wrap(bytes);
+        Assertions.assertEquals(ByteString.copyFrom(DATA), bs);
+        bytes[0] = 9;
+        Assertions.assertEquals(TranslationOptions.ZERO_COPY_BYTES ? 9 : 1, bs.byteAt(0));
+    }
+
+    /**
+     * The bytes fields of a message parsed from a MockServletInputStream's buffer are views of the buffer.
+     */
+    @Test
+    public void testInputAliasesBuffer() throws Exception {
+        byte[] buffer = serialize();
+        MockServletInputStream stream = new MockServletInputStream(buffer);
+        BytesValue value = BytesValue.parseFrom(ZeroCopy.input(stream));
+        Assertions.assertEquals(ByteString.copyFrom(DATA), value.getValue());
+        Assertions.assertEquals(-1, stream.read());
+
+        // the tag and length of field 1 come first
+        buffer[2] = 9;
+        Assertions.assertEquals(9, value.getValue().byteAt(0));
+    }
+
+    @Test
+    public void testInputCopiesStream() throws Exception {
+        byte[] buffer = serialize();
+        BytesValue value = BytesValue.parseFrom(ZeroCopy.input(new ByteArrayInputStream(buffer)));
+        buffer[2] = 9;
+        Assertions.assertEquals(ByteString.copyFrom(DATA), value.getValue());
+
+        buffer = serialize();
+        value = BytesValue.parseFrom(ZeroCopy.input(new MockServletInputStream(new ByteArrayInputStream(buffer))));
+        buffer[2] = 9;
+        Assertions.assertEquals(ByteString.copyFrom(DATA), value.getValue());
+    }
+
+    /**
+     * Once a MockServletInputStream has been read from, its buffer no longer holds the whole message.
+     */
+    @Test
+    public void testInputAfterRead() throws Exception {
+        byte[] buffer = serialize();
+        MockServletInputStream stream = new MockServletInputStream(buffer);
+        Assertions.assertEquals(buffer[0], stream.read());
+        Assertions.assertNull(stream.getBytes());
+        CodedInputStream input = ZeroCopy.input(stream);
+        Assertions.assertEquals(buffer[1], input.readRawByte());
+    }
+
+    private static byte[] serialize() {
+        return BytesValue.of(ByteString.copyFrom(DATA)).toByteArray();
+    }
+}